@@ -4,10 +4,13 @@
 set -u
 
 # The command line parameters that will be passed to the Java program.
+BATCH=""
 CLASS=""
+DAEMON=""
 DYNAMIC=""
 LINE_NO=""
 METHOD=""
+OUT_DIR=""
 SRC_FILE=""
 TGT_FILE=""
 VAR_NAME=""
@@ -32,10 +35,15 @@ readonly RESET="\033[0m"
 function help() {
   cat <<__EOF__
 usage: ${0} -c <arg> -m "<arg>" -v <arg> -l <arg> [-d <arg>] [-s <arg>] [-t <arg>] [-x]
+       ${0} -b <arg> [-o <arg>] [-t <arg>] [-x]
+       ${0} --daemon <arg>
+ -b,--batch <arg>          JSON Lines file of criteria to slice in one run, or - for stdin
  -c,--class <arg>          Path to the class file
  -d,--dynamic <arg>        Create a dynamic slice by executing the given test
+    --daemon <arg>         Serve slicing requests on a Unix domain socket or loopback port
  -l,--linenumber <arg>     Line number where to start the slice
  -m,--method "<arg>"       Method name and descriptor of the method (must be given in quotes)
+ -o,--output-dir <arg>     Directory to write one file per batch slice to
  -s,--sourcefile <arg>     Path to the class file's source code
  -t,--targetfile <arg>     Path to a target file where to write the slice code to
  -v,--variablename <arg>   Name of variable
@@ -54,10 +62,18 @@ function error() {
 function parse_args() {
   while (("$#")); do
     case "${1}" in
+    -b | --batch)
+      BATCH="${2}"
+      shift 2
+      ;;
     -c | --class)
       CLASS="${2}"
       shift 2
       ;;
+    --daemon)
+      DAEMON="${2}"
+      shift 2
+      ;;
     -d | --dynamic)
       DYNAMIC="${2}"
       shift 2
@@ -70,6 +86,10 @@ function parse_args() {
       METHOD="${2}"
       shift 2
       ;;
+    -o | --output-dir)
+      OUT_DIR="${2}"
+      shift 2
+      ;;
     -s | --sourcefile)
       SRC_FILE="${2}"
       shift 2
@@ -101,6 +121,10 @@ function parse_args() {
 
 # Validate command line arguments.
 function validate_args() {
+  if [[ -n "${BATCH}" || -n "${DAEMON}" ]]; then
+    return
+  fi
+
   for opt in "${REQUIRED[@]}"; do
     if [[ -z "${!opt}" ]]; then
       error "Missing required option ${opt}"
@@ -110,8 +134,12 @@ function validate_args() {
   done
 }
 
-# Try to build the Java program and create the JAR artefact.
+# Try to build the Java program and create the JAR artefact, unless it is newer than the sources.
 function build_jar() {
+  if [[ -f "${JAR}" && -z "$(find src pom.xml -newer "${JAR}" -print -quit)" ]]; then
+    return
+  fi
+
   if [[ ! -x "${MAVEN}" ]]; then
     error "Cannot execute Maven ${MAVEN}"
     exit 1
@@ -142,6 +170,18 @@ function run_slicer() {
   local -r escaped_method=$(escape "${METHOD}")
   local slicer_opt="-c ${CLASS} -m ${escaped_method} -v ${VAR_NAME} -l ${LINE_NO}"
 
+  if [[ -n "${BATCH}" ]]; then
+    slicer_opt="-b $(escape "${BATCH}")"
+  fi
+
+  if [[ -n "${DAEMON}" ]]; then
+    slicer_opt="--daemon $(escape "${DAEMON}")"
+  fi
+
+  if [[ -n "${OUT_DIR}" ]]; then
+    slicer_opt="${slicer_opt} -o $(escape "${OUT_DIR}")"
+  fi
+
   if [[ -n "${DYNAMIC}" ]]; then
     slicer_opt="${slicer_opt} -d ${DYNAMIC}"
     jvm_opt="-javaagent:${JAR}=${CLASS}"
@@ -0,0 +1,255 @@
+package de.uni_passau.fim.se2.sa.slicing;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.LineTable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.LocalVariable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.LocalVariableTable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+import de.uni_passau.fim.se2.sa.slicing.cfg.NodeIdAllocator;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.IincInsnNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps a slicing criterion, given as a source line and a variable name, to a node of the CFG.
+ *
+ * <p>A resolver indexes the candidate nodes of every line of a method once, such that each
+ * criterion is resolved by two hash lookups. Local variables are indexed by their slot and by the
+ * name their slot has in the local variable table, fields by their own name.
+ */
+public final class CriterionResolver {
+
+  private static final String NOT_FOUND =
+      "We were not able to determine a correct program location for the searched node.";
+
+  /** The node of every variable that may be sliced on a line, keyed by the line. */
+  private final Map<Integer, LineCandidates> candidates;
+
+  private CriterionResolver(Map<Integer, LineCandidates> pCandidates) {
+    candidates = pCandidates;
+  }
+
+  /**
+   * The nodes of the variables that may be sliced on one line.
+   *
+   * @param byName The node of every field and of every local variable named in the local variable
+   *     table, keyed by the name
+   * @param bySlot The node of every local variable, keyed by its slot
+   */
+  private record LineCandidates(Map<String, Node> byName, Map<Integer, Node> bySlot) {}
+
+  /**
+   * Indexes the criteria of all lines of a method.
+   *
+   * @param pCFG The control-flow graph of the method
+   * @param pLineTable The line table of the method
+   * @param pLocalVariableTable The local variable table of the method, or {@code null} if the
+   *     method has none, in which case only fields can be resolved
+   * @return The resolver of the method
+   */
+  public static CriterionResolver of(
+      final ProgramGraph pCFG,
+      final LineTable pLineTable,
+      final LocalVariableTable pLocalVariableTable) {
+    final Map<Integer, LineCandidates> candidates = new HashMap<>();
+    for (final Node node : pCFG.getNodes()) {
+      if (isLineStart(node, pLineTable)) {
+        candidates.put(
+            ((LineNumberNode) node.getInstruction()).line,
+            candidatesOf(pCFG, node, pLocalVariableTable));
+      }
+    }
+    return new CriterionResolver(candidates);
+  }
+
+  /**
+   * Finds the node of the CFG that represents a slicing criterion.
+   *
+   * <p>Among the nodes of the given line, a store to the local variable or a write to the field
+   * of the given name is preferred, the first one if several slots share the name. Otherwise, the
+   * instruction consuming a load of the variable, such as a return, is taken, or the load itself.
+   *
+   * @param pLineNumber The source line of the criterion
+   * @param pVariableName The name of the variable of the criterion
+   * @return The node of the criterion
+   * @throws IllegalStateException If no node of the line accesses the variable
+   */
+  public Node resolve(final int pLineNumber, final String pVariableName) {
+    final LineCandidates line = candidates.get(pLineNumber);
+    return found(line == null ? null : line.byName().get(pVariableName));
+  }
+
+  /**
+   * Finds the node of the CFG that represents a slicing criterion on a local variable slot.
+   *
+   * <p>Unlike {@link #resolve(int, String)}, this does not need a local variable table and tells
+   * apart variables that share a name in different slots.
+   *
+   * @param pLineNumber The source line of the criterion
+   * @param pSlot The slot of the local variable of the criterion
+   * @return The node of the criterion
+   * @throws IllegalStateException If no node of the line accesses the slot
+   */
+  public Node resolve(final int pLineNumber, final int pSlot) {
+    final LineCandidates line = candidates.get(pLineNumber);
+    return found(line == null ? null : line.bySlot().get(pSlot));
+  }
+
+  private static Node found(final Node pNode) {
+    if (pNode == null) {
+      throw new IllegalStateException(NOT_FOUND);
+    }
+    return pNode;
+  }
+
+  /**
+   * Finds the node of the CFG that represents a slicing criterion, indexing only the line of the
+   * criterion.
+   *
+   * <p>The node that starts the line is taken from the line table and the node ids, without
+   * scanning the nodes of the CFG.
+   *
+   * @param pCFG The control-flow graph of the method
+   * @param pNodeIds The allocator the ids of the CFG's nodes were taken from
+   * @param pLineTable The line table of the method
+   * @param pLocalVariableTable The local variable table of the method, or {@code null}
+   * @param pLineNumber The source line of the criterion
+   * @param pVariableName The name of the variable of the criterion
+   * @return The node of the criterion
+   * @throws IllegalStateException If no node of the line accesses the variable
+   * @see #resolve(int, String)
+   */
+  public static Node resolve(
+      final ProgramGraph pCFG,
+      final NodeIdAllocator pNodeIds,
+      final LineTable pLineTable,
+      final LocalVariableTable pLocalVariableTable,
+      final int pLineNumber,
+      final String pVariableName) {
+    final Node lineStart =
+        pLineTable
+            .getLineStart(pLineNumber)
+            .flatMap(instruction -> pNodeIds.nodeOf(instruction, pLineTable))
+            .filter(node -> pCFG.getNodes().contains(node))
+            .orElseThrow(() -> new IllegalStateException(NOT_FOUND));
+    return new CriterionResolver(
+            Map.of(pLineNumber, candidatesOf(pCFG, lineStart, pLocalVariableTable)))
+        .resolve(pLineNumber, pVariableName);
+  }
+
+  private static boolean isLineStart(final Node pNode, final LineTable pLineTable) {
+    return pNode.getKind() == Node.Kind.LINE
+        && pLineTable
+            .getLineStart(((LineNumberNode) pNode.getInstruction()).line)
+            .filter(lineStart -> lineStart == pNode.getInstruction())
+            .isPresent();
+  }
+
+  /**
+   * Collects the node of every variable that may be sliced on a line in one walk over the nodes
+   * that follow the line's first {@link LineNumberNode} up to the next one.
+   */
+  private static LineCandidates candidatesOf(
+      final ProgramGraph pCFG, final Node pLineStart, final LocalVariableTable pLocalVariableTable) {
+    final Map<String, Node> stores = new HashMap<>();
+    final Map<String, Node> loads = new HashMap<>();
+    final Map<Integer, Node> slotStores = new HashMap<>();
+    final Map<Integer, Node> slotLoads = new HashMap<>();
+    for (final Node successor : pCFG.getSuccessorsUntilNextLineNumber(pLineStart)) {
+      final AbstractInsnNode instruction = successor.getInstruction();
+      if ((instruction instanceof VarInsnNode || instruction instanceof IincInsnNode)
+          && isStoreOpCode(instruction.getOpcode())) {
+        // For a local variable search in the local variable table if we find a candidate
+        final int idx;
+        if (instruction instanceof VarInsnNode varInsnNode) {
+          idx = varInsnNode.var;
+        } else {
+          idx = ((IincInsnNode) instruction).var;
+        }
+        slotStores.putIfAbsent(idx, successor);
+        nameOf(pLocalVariableTable, idx).ifPresent(name -> stores.putIfAbsent(name, successor));
+      } else if (instruction instanceof FieldInsnNode fieldInsnNode
+          && isFieldOpCode(instruction.getOpcode())) {
+        // For a field access compare the name directly
+        if (fieldInsnNode.name != null) {
+          stores.putIfAbsent(fieldInsnNode.name, successor);
+        }
+      } else if (instruction instanceof VarInsnNode varInsnNode
+          && isLoadOpCode(instruction.getOpcode())) {
+        final Optional<String> name =
+            nameOf(pLocalVariableTable, varInsnNode.var).filter(n -> !loads.containsKey(n));
+        if (name.isPresent() || !slotLoads.containsKey(varInsnNode.var)) {
+          final Node consumer = consumerOf(pCFG, successor);
+          slotLoads.putIfAbsent(varInsnNode.var, consumer);
+          name.ifPresent(n -> loads.put(n, consumer));
+        }
+      }
+    }
+
+    // Without a store on the line, a variable is sliced at the consumer of its load.
+    loads.putAll(stores);
+    slotLoads.putAll(slotStores);
+    return new LineCandidates(loads, slotLoads);
+  }
+
+  /** Provides the return that consumes a loaded value, such as an IRETURN, or the load itself. */
+  private static Node consumerOf(final ProgramGraph pCFG, final Node pLoad) {
+    for (final Node successor : pCFG.getSuccessors(pLoad)) {
+      if (isReturnOpcode(successor.getInstruction().getOpcode())) {
+        return successor;
+      }
+    }
+    return pLoad;
+  }
+
+  private static Optional<String> nameOf(
+      final LocalVariableTable pLocalVariableTable, final int pIndex) {
+    return pLocalVariableTable == null
+        ? Optional.empty()
+        : pLocalVariableTable.getEntry(pIndex).map(LocalVariable::name);
+  }
+
+  private static boolean isReturnOpcode(final int pOpCode) {
+    return pOpCode == Opcodes.IRETURN
+        || pOpCode == Opcodes.ARETURN
+        || pOpCode == Opcodes.LRETURN
+        || pOpCode == Opcodes.FRETURN
+        || pOpCode == Opcodes.DRETURN;
+  }
+
+  private static boolean isStoreOpCode(final int pOpCode) {
+    return pOpCode == Opcodes.AASTORE
+        || pOpCode == Opcodes.BASTORE
+        || pOpCode == Opcodes.CASTORE
+        || pOpCode == Opcodes.DASTORE
+        || pOpCode == Opcodes.FASTORE
+        || pOpCode == Opcodes.IASTORE
+        || pOpCode == Opcodes.LASTORE
+        || pOpCode == Opcodes.SASTORE
+        || pOpCode == Opcodes.ASTORE
+        || pOpCode == Opcodes.DSTORE
+        || pOpCode == Opcodes.FSTORE
+        || pOpCode == Opcodes.ISTORE
+        || pOpCode == Opcodes.LSTORE
+        || pOpCode == Opcodes.IINC;
+  }
+
+  private static boolean isFieldOpCode(final int pOpCode) {
+    return pOpCode == Opcodes.PUTFIELD || pOpCode == Opcodes.PUTSTATIC;
+  }
+
+  private static boolean isLoadOpCode(final int pOpCode) {
+    return pOpCode == Opcodes.ILOAD
+        || pOpCode == Opcodes.LLOAD
+        || pOpCode == Opcodes.FLOAD
+        || pOpCode == Opcodes.DLOAD
+        || pOpCode == Opcodes.ALOAD;
+  }
+}
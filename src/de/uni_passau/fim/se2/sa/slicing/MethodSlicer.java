@@ -0,0 +1,94 @@
+package de.uni_passau.fim.se2.sa.slicing;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisContext;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisOptions;
+import de.uni_passau.fim.se2.sa.slicing.graph.DefUseCache;
+import de.uni_passau.fim.se2.sa.slicing.graph.ProgramDependenceGraph;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+import java.util.Set;
+
+/**
+ * Answers static slicing criteria of one method from its program-dependence graph, which is built
+ * once.
+ *
+ * <p>The criteria of all lines of the method are indexed, and all lazily built structures of the
+ * graphs are built on creation, such that a method slicer can afterwards be queried from several
+ * threads at once.
+ */
+public final class MethodSlicer {
+
+  private final ParsedClass parsedClass;
+  private final MethodNode methodNode;
+  private final ProgramDependenceGraph pdg;
+  private final CriterionResolver criterionResolver;
+
+  private MethodSlicer(
+      ParsedClass pParsedClass,
+      MethodNode pMethodNode,
+      AnalysisContext pContext,
+      ProgramDependenceGraph pPDG) {
+    parsedClass = pParsedClass;
+    methodNode = pMethodNode;
+    pdg = pPDG;
+    criterionResolver =
+        CriterionResolver.of(
+            pContext.cfg(), pContext.lineTable(), pParsedClass.localVariableTable(pMethodNode));
+  }
+
+  /**
+   * Builds the program-dependence graph of a method.
+   *
+   * @param pParsedClass The class that owns the method
+   * @param pMethodNode The method
+   * @param pDefUseCache The def/use cache shared with other analyses of the same session
+   * @param pOptions The algorithms to use for the analyses
+   * @return The slicer of the method
+   * @throws AnalyzerException In case the method cannot be analysed
+   */
+  public static MethodSlicer of(
+      ParsedClass pParsedClass,
+      MethodNode pMethodNode,
+      DefUseCache pDefUseCache,
+      AnalysisOptions pOptions)
+      throws AnalyzerException {
+    AnalysisContext context =
+        AnalysisContext.of(pParsedClass.classNode(), pMethodNode, pDefUseCache, pOptions);
+    ProgramDependenceGraph pdg = new ProgramDependenceGraph(context);
+    pdg.computeResult().freeze();
+    context.cfg().freeze();
+    return new MethodSlicer(pParsedClass, pMethodNode, context, pdg);
+  }
+
+  /**
+   * Provides the class that owns the method.
+   *
+   * @return The parsed class
+   */
+  public ParsedClass parsedClass() {
+    return parsedClass;
+  }
+
+  /**
+   * Provides the sliced method.
+   *
+   * @return The method node
+   */
+  public MethodNode methodNode() {
+    return methodNode;
+  }
+
+  /**
+   * Computes the static backward slice of a variable at a source line of the method.
+   *
+   * @param pLineNumber The source line of the criterion
+   * @param pVariableName The name of the variable of the criterion
+   * @return The nodes of the slice
+   * @throws IllegalStateException If no node of the line accesses the variable
+   */
+  public Set<Node> slice(int pLineNumber, String pVariableName) {
+    return pdg.backwardSlice(criterionResolver.resolve(pLineNumber, pVariableName));
+  }
+}
@@ -0,0 +1,146 @@
+package de.uni_passau.fim.se2.sa.slicing;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.CFGLocalVariableTableVisitor;
+import de.uni_passau.fim.se2.sa.slicing.classpath.ClassBytesProvider;
+import de.uni_passau.fim.se2.sa.slicing.cfg.LocalVariableTable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A class read for slicing: its tree representation together with the local variable tables of
+ * its methods.
+ *
+ * <p>The class file is parsed in a single pass that builds the tree and extracts the local
+ * variable tables at once. If only some methods are selected, the code of all other methods is
+ * skipped by the parser, and the tree contains the selected methods only.
+ *
+ * @param classNode The tree representation of the class
+ * @param localVariableTables The local variable tables, keyed by {@code <name>: <descriptor>} of
+ *     their methods
+ */
+public record ParsedClass(ClassNode classNode, Map<String, LocalVariableTable> localVariableTables) {
+
+  /**
+   * Reads a class with all its methods from the class path.
+   *
+   * @param pClassName The fully qualified name of the class
+   * @return The parsed class
+   * @throws IOException If the class cannot be found or read
+   */
+  public static ParsedClass read(String pClassName) throws IOException {
+    return read(ClassBytesProvider.systemClassPath(), pClassName, null);
+  }
+
+  /**
+   * Reads a class from the class path, keeping only the selected methods.
+   *
+   * @param pClassName The fully qualified name of the class
+   * @param pMethods The selected methods, each given as its name followed by its descriptor
+   * @return The parsed class
+   * @throws IOException If the class cannot be found or read
+   */
+  public static ParsedClass read(String pClassName, Set<String> pMethods) throws IOException {
+    return read(ClassBytesProvider.systemClassPath(), pClassName, pMethods);
+  }
+
+  /**
+   * Reads a class from a class-bytes provider, keeping only the selected methods.
+   *
+   * @param pProvider The provider of the class file
+   * @param pClassName The fully qualified name of the class
+   * @param pMethods The selected methods, each given as its name followed by its descriptor, or
+   *     {@code null} to keep all methods
+   * @return The parsed class
+   * @throws IOException If the provider does not know the class or cannot read it
+   */
+  public static ParsedClass read(
+      ClassBytesProvider pProvider, String pClassName, Set<String> pMethods) throws IOException {
+    byte[] classBytes =
+        pProvider
+            .classBytes(pClassName)
+            .orElseThrow(() -> new IOException("Class not found: " + pClassName));
+    return parse(classBytes, pMethods);
+  }
+
+  /**
+   * Parses a class file with all its methods.
+   *
+   * @param pClassBytes The contents of the class file
+   * @return The parsed class
+   */
+  public static ParsedClass parse(byte[] pClassBytes) {
+    return parse(pClassBytes, null);
+  }
+
+  /**
+   * Parses a class file, keeping only the selected methods.
+   *
+   * @param pClassBytes The contents of the class file
+   * @param pMethods The selected methods, each given as its name followed by its descriptor, or
+   *     {@code null} to keep all methods
+   * @return The parsed class
+   */
+  public static ParsedClass parse(byte[] pClassBytes, Set<String> pMethods) {
+    final int apiLevel = Opcodes.ASM9;
+    final ClassNode classNode = new ClassNode(apiLevel);
+    final CFGLocalVariableTableVisitor visitor =
+        new CFGLocalVariableTableVisitor(apiLevel, classNode);
+    final ClassVisitor root = pMethods == null ? visitor : new MethodSelector(visitor, pMethods);
+    new ClassReader(pClassBytes).accept(root, 0);
+    return new ParsedClass(classNode, visitor.getLocalVariableTables());
+  }
+
+  /**
+   * Looks up a method of the class.
+   *
+   * @param pName The name of the method
+   * @param pDescriptor The descriptor of the method
+   * @return The method, or an empty optional if the class declares no such method or it was not
+   *     selected when parsing
+   */
+  public Optional<MethodNode> method(String pName, String pDescriptor) {
+    return classNode.methods.stream()
+        .filter(m -> pName.equals(m.name) && pDescriptor.equals(m.desc))
+        .findAny();
+  }
+
+  /**
+   * Provides the local variable table of a method of the class.
+   *
+   * @param pMethodNode The method
+   * @return The local variable table of the method, or {@code null} if it has none
+   */
+  public LocalVariableTable localVariableTable(MethodNode pMethodNode) {
+    return localVariableTables.get(pMethodNode.name + ": " + pMethodNode.desc);
+  }
+
+  /** Drops all methods but the selected ones before the parser visits their code. */
+  private static final class MethodSelector extends ClassVisitor {
+
+    private final Set<String> methods;
+
+    MethodSelector(ClassVisitor pClassVisitor, Set<String> pMethods) {
+      super(Opcodes.ASM9, pClassVisitor);
+      methods = pMethods;
+    }
+
+    @Override
+    public MethodVisitor visitMethod(
+        int pAccess, String pName, String pDescriptor, String pSignature, String[] pExceptions) {
+      if (!methods.contains(pName + pDescriptor)) {
+        // Without a visitor, the class reader skips the code of the method entirely.
+        return null;
+      }
+      return super.visitMethod(pAccess, pName, pDescriptor, pSignature, pExceptions);
+    }
+  }
+}
@@ -2,22 +2,44 @@
 
 import com.google.common.base.Preconditions;
 import de.uni_passau.fim.se2.sa.slicing.agent.SlicerAgent;
+import de.uni_passau.fim.se2.sa.slicing.batch.BatchSlicer;
 import de.uni_passau.fim.se2.sa.slicing.cfg.*;
+import de.uni_passau.fim.se2.sa.slicing.classpath.CachingClassBytesProvider;
+import de.uni_passau.fim.se2.sa.slicing.classpath.ClassBytesProvider;
+import de.uni_passau.fim.se2.sa.slicing.classpath.CompositeClassBytesProvider;
+import de.uni_passau.fim.se2.sa.slicing.daemon.SlicingDaemon;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisContext;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisOptions;
+import de.uni_passau.fim.se2.sa.slicing.graph.ControlDependenceGraph;
+import de.uni_passau.fim.se2.sa.slicing.graph.DataDependenceGraph;
+import de.uni_passau.fim.se2.sa.slicing.graph.DefUseCache;
+import de.uni_passau.fim.se2.sa.slicing.graph.PostDominatorTree;
 import de.uni_passau.fim.se2.sa.slicing.graph.ProgramDependenceGraph;
 import de.uni_passau.fim.se2.sa.slicing.output.ByteCodeExtractor;
 import de.uni_passau.fim.se2.sa.slicing.output.Extractor;
 import de.uni_passau.fim.se2.sa.slicing.output.SourceLineExtractor;
 import de.uni_passau.fim.se2.sa.slicing.output.XMLFileExtractor;
-import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.*;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
 import picocli.CommandLine;
+import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Spec;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -25,20 +47,25 @@
 
 public final class SlicerMain implements Callable<Integer> {
 
+  /** The number of methods whose program-dependence graphs a daemon keeps warm. */
+  private static final int DAEMON_METHODS = 1024;
+
+  /** The total size of the class files kept in memory between reads. */
+  private static final long CLASS_CACHE_BYTES = 64L << 20;
+
   @Spec CommandSpec spec;
 
-  private String className;
-  private String methodName;
-  private String methodDescriptor;
-  private String variableName;
-  private int lineNumber;
-  private Path sourceFilePath;
+  @ArgGroup(exclusive = true, multiplicity = "1")
+  private Mode mode;
+
   private Path targetFilePath;
   private boolean xmlExtraction;
   private Map<String, LocalVariableTable> localVariableTables;
   private MethodNode methodNode;
-  private boolean dynamicSlicing;
-  private String testCase;
+  private AnalysisOptions analysisOptions = AnalysisOptions.defaults();
+  private boolean printStatistics;
+  private Path outputDirectory;
+  private String classPath;
 
   public static void main(String[] pArgs) {
     new CommandLine(new SlicerMain()).execute(pArgs);
@@ -53,22 +80,53 @@ public Integer call() throws Exception {
   }
 
   private void run() throws IOException {
-    if (dynamicSlicing) {
+    try (ClassBytesProvider classBytesProvider = classBytesProvider()) {
+      run(classBytesProvider);
+    }
+  }
+
+  private ClassBytesProvider classBytesProvider() throws IOException {
+    final ClassBytesProvider provider =
+        classPath == null
+            ? ClassBytesProvider.systemClassPath()
+            : new CompositeClassBytesProvider(
+                List.of(
+                    ClassBytesProvider.ofClassPath(classPath),
+                    ClassBytesProvider.systemClassPath()));
+    return new CachingClassBytesProvider(provider, CLASS_CACHE_BYTES);
+  }
+
+  private void run(ClassBytesProvider pClassBytesProvider) throws IOException {
+    if (mode.daemonAddress != null) {
+      runDaemon(pClassBytesProvider);
+      return;
+    }
+    if (mode.batchInput != null) {
+      runBatch(pClassBytesProvider);
+      return;
+    }
+
+    final Criterion criterion = mode.criterion;
+    if (criterion.dynamicSlicing) {
       if (!SlicerAgent.wasInvoked()) {
         throw new IllegalStateException(
             "The SlicerAgent must have been invoked for dynamic slicing");
       }
 
-      SlicerUtil.executeTest(className, testCase);
+      SlicerUtil.executeTest(criterion.className, criterion.testCase);
     }
 
-    final Set<Node> slice = executeSlicing();
+    final Set<Node> slice = executeSlicing(pClassBytesProvider, criterion);
 
     final Extractor extractor;
-    if (sourceFilePath != null) {
+    if (criterion.sourceFilePath != null) {
       extractor =
           new SourceLineExtractor(
-              sourceFilePath, localVariableTables, className, methodNode, slice);
+              criterion.sourceFilePath,
+              localVariableTables,
+              criterion.className,
+              methodNode,
+              slice);
     } else if (xmlExtraction) {
       extractor = new XMLFileExtractor(slice);
     } else {
@@ -82,233 +140,315 @@ private void run() throws IOException {
     }
   }
 
-  private Set<Node> executeSlicing() throws IOException {
-    final int apiLevel = Opcodes.ASM9;
-    final ClassNode classNode = new ClassNode(apiLevel);
-    final ClassReader classReader = new ClassReader(className);
-    classReader.accept(classNode, 0);
-
-    final CFGLocalVariableTableVisitor visitor = new CFGLocalVariableTableVisitor(apiLevel);
-    classReader.accept(visitor, 0);
-    localVariableTables = visitor.getLocalVariableTables();
-
-    methodNode =
-        classNode.methods.stream()
-            .filter(m -> methodName.equals(m.name) && methodDescriptor.equals(m.desc))
-            .findAny()
-            .orElse(null);
-    Preconditions.checkNotNull(methodNode, "Could not find an appropriate method!");
-
-    ProgramDependenceGraph pdg = new ProgramDependenceGraph(classNode, methodNode);
-    final Node programLocation =
-        getProgramLocation(
-            pdg.getCFG(),
-            methodNode,
-            localVariableTables.get(methodNode.name + ": " + methodNode.desc),
-            lineNumber,
-            variableName);
-
-    if (dynamicSlicing) {
-      pdg = SlicerUtil.simplify(pdg);
+  private void runBatch(ClassBytesProvider pClassBytesProvider) throws IOException {
+    if (outputDirectory != null) {
+      Files.createDirectories(outputDirectory);
     }
 
-    return pdg.backwardSlice(programLocation);
+    final BatchSlicer batchSlicer =
+        new BatchSlicer(analysisOptions, xmlExtraction, outputDirectory, pClassBytesProvider);
+    final long start = System.nanoTime();
+    final BatchSlicer.Summary summary;
+    try (BufferedReader criteria =
+            "-".equals(mode.batchInput)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(mode.batchInput));
+        Writer results =
+            targetFilePath == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(targetFilePath)) {
+      summary = batchSlicer.run(criteria, results);
+    }
+    System.err.printf(
+        "Sliced %d criteria of %d methods in %.1f ms, %d failed%n",
+        summary.criteria(), summary.methods(), (System.nanoTime() - start) / 1e6,
+        summary.failures());
   }
 
-  private Node getProgramLocation(
-      final ProgramGraph pCFG,
-      final MethodNode pMethodNode,
-      final LocalVariableTable pLocalVariableTable,
-      final int pLineNumber,
-      final String pVariableName) {
-    // Search for the instruction that is located at the given line number.
-    AbstractInsnNode targetInstruction = null;
-    for (final AbstractInsnNode insnNode : methodNode.instructions) {
-      if (insnNode instanceof LineNumberNode lineNumberNode) {
-        if (lineNumberNode.line == pLineNumber) {
-          targetInstruction = insnNode;
-          break;
-        }
-      }
+  private void runDaemon(ClassBytesProvider pClassBytesProvider) throws IOException {
+    final String daemonAddress = mode.daemonAddress;
+    final SocketAddress address =
+        daemonAddress.chars().allMatch(Character::isDigit)
+            ? new InetSocketAddress(Integer.parseInt(daemonAddress))
+            : UnixDomainSocketAddress.of(daemonAddress);
+    try (SlicingDaemon daemon =
+        SlicingDaemon.bind(address, analysisOptions, pClassBytesProvider, DAEMON_METHODS)) {
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> closeQuietly(daemon)));
+      System.err.println("Listening on " + daemon.address());
+      daemon.serve();
     }
+  }
 
-    // Search for the node that contains the instruction.
-    Node cfgNode = null;
-    if (targetInstruction != null) {
-      for (final Node node : pCFG.getNodes()) {
-        if (node.getInstruction().equals(targetInstruction)) {
-          cfgNode = node;
-          break;
-        }
-      }
+  private static void closeQuietly(SlicingDaemon pDaemon) {
+    try {
+      pDaemon.close();
+    } catch (IOException e) {
+      // The JVM is exiting anyway.
     }
+  }
 
-    for (final Node successor : pCFG.getSuccessorsUntilNextLineNumber(cfgNode)) {
-      if ((successor.getInstruction() instanceof VarInsnNode
-              || successor.getInstruction() instanceof IincInsnNode)
-          && isStoreOpCode(successor.getInstruction().getOpcode())) {
-        // For a local variable search in the local variable table if we find a candidate
-        final int idx;
-        if (successor.getInstruction() instanceof VarInsnNode varInsnNode) {
-          idx = varInsnNode.var;
-        } else {
-          idx = ((IincInsnNode) successor.getInstruction()).var;
-        }
-
-        final Optional<LocalVariable> entry = pLocalVariableTable.getEntry(idx);
-        if (entry.isPresent() && entry.get().name().equals(variableName)) {
-          return successor;
-        }
-      } else if (successor.getInstruction() instanceof FieldInsnNode fieldInsnNode
-          && isFieldOpCode(successor.getInstruction().getOpcode())) {
-        // For a field access compare the name directly
-        final String instructionVariableName = fieldInsnNode.name;
-        if (instructionVariableName != null && instructionVariableName.equals(variableName)) {
-          return successor;
-        }
-      }
-    }
+  private Set<Node> executeSlicing(ClassBytesProvider pClassBytesProvider, Criterion pCriterion)
+      throws IOException {
+    final String methodName = pCriterion.methodName;
+    final String methodDescriptor = pCriterion.methodDescriptor;
+    final ParsedClass parsedClass =
+        ParsedClass.read(
+            pClassBytesProvider, pCriterion.className, Set.of(methodName + methodDescriptor));
+    final ClassNode classNode = parsedClass.classNode();
+    localVariableTables = parsedClass.localVariableTables();
+
+    methodNode = parsedClass.method(methodName, methodDescriptor).orElse(null);
+    Preconditions.checkNotNull(methodNode, "Could not find an appropriate method!");
 
-    // If no store found, look for the actual consumer of the variable
-    // (like IRETURN that consumes the loaded value)
-    Node loadNode = null;
-    for (final Node successor : pCFG.getSuccessorsUntilNextLineNumber(cfgNode)) {
-      if (successor.getInstruction() instanceof VarInsnNode varInsnNode
-              && isLoadOpCode(successor.getInstruction().getOpcode())) {
-
-        final int idx = varInsnNode.var;
-        final Optional<LocalVariable> entry = pLocalVariableTable.getEntry(idx);
-        if (entry.isPresent() && entry.get().name().equals(variableName)) {
-          loadNode = successor;
-          break;
-        }
-      }
+    final long contextStart = System.nanoTime();
+    final AnalysisContext context;
+    try {
+      context = AnalysisContext.of(classNode, methodNode, new DefUseCache(), analysisOptions);
+    } catch (AnalyzerException e) {
+      throw new IllegalStateException("Could not build the CFG of " + methodNode.name, e);
     }
-
-    // If we found a load, find what consumes it (like IRETURN)
-    if (loadNode != null) {
-      for (final Node successor : pCFG.getSuccessors(loadNode)) {
-        if (isReturnOpcode(successor.getInstruction().getOpcode())) return successor;
-      }
-      // If no specific consumer found, return the load itself
-      return loadNode;
+    final long dependencesStart = System.nanoTime();
+    ProgramDependenceGraph pdg = new ProgramDependenceGraph(context);
+    final long dependencesEnd = System.nanoTime();
+    final Node programLocation =
+        CriterionResolver.resolve(
+            context.cfg(),
+            context.nodeIds(),
+            context.lineTable(),
+            parsedClass.localVariableTable(methodNode),
+            pCriterion.lineNumber,
+            pCriterion.variableName);
+
+    if (printStatistics) {
+      System.err.printf(
+          "Analysis times: CFG %.3f ms, dependences %.3f ms%n",
+          (dependencesStart - contextStart) / 1e6, (dependencesEnd - dependencesStart) / 1e6);
+      pdg.getDataDependenceStatistics()
+          .ifPresent(s -> System.err.println("Reaching definitions: " + s));
     }
 
-    throw new IllegalStateException(
-        "We were not able to determine a correct program location for the searched node.");
-  }
-
-  private boolean isReturnOpcode(final int pOpCode) {
-    return pOpCode == Opcodes.IRETURN
-        || pOpCode == Opcodes.ARETURN
-        || pOpCode == Opcodes.LRETURN
-        || pOpCode == Opcodes.FRETURN
-        || pOpCode == Opcodes.DRETURN;
-  }
+    if (pCriterion.dynamicSlicing) {
+      pdg = SlicerUtil.simplify(pdg);
+    }
 
-  private boolean isStoreOpCode(final int pOpCode) {
-    return pOpCode == Opcodes.AASTORE
-        || pOpCode == Opcodes.BASTORE
-        || pOpCode == Opcodes.CASTORE
-        || pOpCode == Opcodes.DASTORE
-        || pOpCode == Opcodes.FASTORE
-        || pOpCode == Opcodes.IASTORE
-        || pOpCode == Opcodes.LASTORE
-        || pOpCode == Opcodes.SASTORE
-        || pOpCode == Opcodes.ASTORE
-        || pOpCode == Opcodes.DSTORE
-        || pOpCode == Opcodes.FSTORE
-        || pOpCode == Opcodes.ISTORE
-        || pOpCode == Opcodes.LSTORE
-        || pOpCode == Opcodes.IINC;
+    return pdg.backwardSlice(programLocation);
   }
 
-  private boolean isFieldOpCode(final int pOpCode) {
-    return pOpCode == Opcodes.PUTFIELD || pOpCode == Opcodes.PUTSTATIC;
+  // @formatter:off
+  @Option(
+      names = {"-t", "--targetfile"},
+      description = "Path to a target file where to write the sliced code to")
+  // @formatter:on
+  public void setTargetFilePath(final Path pTargetFilePath) {
+    targetFilePath = pTargetFilePath;
   }
 
-  private boolean isLoadOpCode(int opcode) {
-    return opcode == Opcodes.ILOAD || opcode == Opcodes.LLOAD ||
-            opcode == Opcodes.FLOAD || opcode == Opcodes.DLOAD ||
-            opcode == Opcodes.ALOAD;
+  // @formatter:off
+  @Option(
+      names = {"-x", "--xmlfile"},
+      description = "Extracts the result as an XML file for grading")
+  // @formatter:on
+  public void setXmlExtraction(final boolean pXmlExtraction) {
+    xmlExtraction = pXmlExtraction;
   }
 
   // @formatter:off
   @Option(
-      names = {"-c", "--class"},
-      required = true,
-      description = "The class that contains the method to slice.")
+      names = {"--cfg-engine"},
+      description =
+          "The way the control-flow graph is derived. One of: ${COMPLETION-CANDIDATES}"
+              + " (default: OPCODES)")
   // @formatter:on
-  public void setClassName(final String pClassName) {
-    className = pClassName;
+  public void setControlFlowEngine(final CFGExtractor.Engine pEngine) {
+    analysisOptions = analysisOptions.withControlFlowEngine(pEngine);
   }
 
   // @formatter:off
   @Option(
-      names = {"-v", "--variablename"},
-      required = true,
-      description = "Name of the variable to slice.")
+      names = {"--ddg-engine"},
+      description =
+          "The algorithm computing the reaching definitions. One of: ${COMPLETION-CANDIDATES}"
+              + " (default: WORKLIST)")
   // @formatter:on
-  public void setVariableName(final String pVariableName) {
-    variableName = pVariableName;
+  public void setDataDependenceEngine(final DataDependenceGraph.Engine pEngine) {
+    analysisOptions = analysisOptions.withDataDependenceEngine(pEngine);
   }
 
   // @formatter:off
   @Option(
-      names = {"-m", "--method"},
-      required = true,
-      description = "The method to slice. Requires <methodname>:<descriptor> syntax.")
+      names = {"--pdt-engine"},
+      description =
+          "The algorithm computing the post-dominator tree. One of: ${COMPLETION-CANDIDATES}"
+              + " (default: AUTO)")
   // @formatter:on
-  public void setMethod(final String pMethod) {
-    final String[] method = pMethod.split(":");
-    methodName = method[0].replace("\"", "");
-    methodDescriptor = method[1].replace("\"", "");
+  public void setPostDominatorEngine(final PostDominatorTree.Engine pEngine) {
+    analysisOptions = analysisOptions.withPostDominatorEngine(pEngine);
   }
 
   // @formatter:off
   @Option(
-      names = {"-l", "--linenumber"},
-      required = true,
-      description = "The line number of the variable to slice.")
+      names = {"--cdg-engine"},
+      description =
+          "The algorithm computing the control dependences. One of: ${COMPLETION-CANDIDATES}"
+              + " (default: FRONTIERS)")
   // @formatter:on
-  public void setLineNumber(final int pLineNumber) {
-    lineNumber = pLineNumber;
+  public void setControlDependenceEngine(final ControlDependenceGraph.Engine pEngine) {
+    analysisOptions = analysisOptions.withControlDependenceEngine(pEngine);
   }
 
   // @formatter:off
   @Option(
-      names = {"-s", "--sourcefile"},
-      description = "The path to the class file's source code.")
+      names = {"--granularity"},
+      description =
+          "The nodes the dependences are computed on. One of: ${COMPLETION-CANDIDATES}"
+              + " (default: CONTRACTED)")
   // @formatter:on
-  public void setSourceFilePath(final Path pSourceFilePath) {
-    sourceFilePath = pSourceFilePath;
+  public void setGranularity(final AnalysisOptions.Granularity pGranularity) {
+    analysisOptions = analysisOptions.withGranularity(pGranularity);
   }
 
   // @formatter:off
   @Option(
-      names = {"-t", "--targetfile"},
-      description = "Path to a target file where to write the sliced code to")
+      names = {"--statistics"},
+      description = "Prints statistics of the analyses to standard error")
   // @formatter:on
-  public void setTargetFilePath(final Path pTargetFilePath) {
-    targetFilePath = pTargetFilePath;
+  public void setPrintStatistics(final boolean pPrintStatistics) {
+    printStatistics = pPrintStatistics;
   }
 
   // @formatter:off
   @Option(
-      names = {"-x", "--xmlfile"},
-      description = "Extracts the result as an XML file for grading")
+      names = {"-o", "--output-dir"},
+      description =
+          "Writes the slice of every batch criterion to a file named by its id in this directory"
+              + " instead of embedding it in the results")
   // @formatter:on
-  public void setXmlExtraction(final boolean pXmlExtraction) {
-    xmlExtraction = pXmlExtraction;
+  public void setOutputDirectory(final Path pOutputDirectory) {
+    outputDirectory = pOutputDirectory;
   }
 
   // @formatter:off
   @Option(
-      names = {"-d", "--dynamic"},
-      description = "Create a dynamic slice by executing the given test")
+      names = {"--classpath"},
+      paramLabel = "<path>",
+      description =
+          "Reads the classes to slice from these directories and JAR files, separated by the"
+              + " platform's path separator, before the slicer's own class path. The entry jrt:/"
+              + " denotes the modules of the running JDK.")
   // @formatter:on
-  public void setDynamicSlicing(final String pTestCase) {
-    dynamicSlicing = true;
-    testCase = pTestCase;
+  public void setClassPath(final String pClassPath) {
+    classPath = pClassPath;
+  }
+
+  /** The ways of running the slicer, exactly one of which has to be chosen. */
+  static final class Mode {
+
+    @ArgGroup(exclusive = false)
+    Criterion criterion;
+
+    private String batchInput;
+    private String daemonAddress;
+
+    // @formatter:off
+    @Option(
+        names = {"-b", "--batch"},
+        paramLabel = "<file>",
+        description =
+            "Slices all criteria of a JSON Lines file, or of standard input if the file is -,"
+                + " and writes one JSON Lines result per criterion to the target file or standard"
+                + " output. Each line holds the members class, method, variablename, linenumber,"
+                + " and optionally id.")
+    // @formatter:on
+    public void setBatchInput(final String pBatchInput) {
+      batchInput = pBatchInput;
+    }
+
+    // @formatter:off
+    @Option(
+        names = {"--daemon"},
+        paramLabel = "<socket|port>",
+        description =
+            "Serves JSON Lines slicing requests on a Unix domain socket, or on a loopback port if"
+                + " the value is a number, and keeps the analysed methods warm between requests."
+                + " Each request holds the members class, method, variablename, linenumber, and"
+                + " optionally xmlfile, sourcefile, and id.")
+    // @formatter:on
+    public void setDaemonAddress(final String pDaemonAddress) {
+      daemonAddress = pDaemonAddress;
+    }
+  }
+
+  /** The options of slicing a single criterion. */
+  static final class Criterion {
+
+    private String className;
+    private String methodName;
+    private String methodDescriptor;
+    private String variableName;
+    private int lineNumber;
+    private Path sourceFilePath;
+    private boolean dynamicSlicing;
+    private String testCase;
+
+    // @formatter:off
+    @Option(
+        names = {"-c", "--class"},
+        required = true,
+        description = "The class that contains the method to slice.")
+    // @formatter:on
+    public void setClassName(final String pClassName) {
+      className = pClassName;
+    }
+
+    // @formatter:off
+    @Option(
+        names = {"-v", "--variablename"},
+        required = true,
+        description = "Name of the variable to slice.")
+    // @formatter:on
+    public void setVariableName(final String pVariableName) {
+      variableName = pVariableName;
+    }
+
+    // @formatter:off
+    @Option(
+        names = {"-m", "--method"},
+        required = true,
+        description = "The method to slice. Requires <methodname>:<descriptor> syntax.")
+    // @formatter:on
+    public void setMethod(final String pMethod) {
+      final String[] method = pMethod.split(":");
+      methodName = method[0].replace("\"", "");
+      methodDescriptor = method[1].replace("\"", "");
+    }
+
+    // @formatter:off
+    @Option(
+        names = {"-l", "--linenumber"},
+        required = true,
+        description = "The line number of the variable to slice.")
+    // @formatter:on
+    public void setLineNumber(final int pLineNumber) {
+      lineNumber = pLineNumber;
+    }
+
+    // @formatter:off
+    @Option(
+        names = {"-s", "--sourcefile"},
+        description = "The path to the class file's source code.")
+    // @formatter:on
+    public void setSourceFilePath(final Path pSourceFilePath) {
+      sourceFilePath = pSourceFilePath;
+    }
+
+    // @formatter:off
+    @Option(
+        names = {"-d", "--dynamic"},
+        description = "Create a dynamic slice by executing the given test")
+    // @formatter:on
+    public void setDynamicSlicing(final String pTestCase) {
+      dynamicSlicing = true;
+      testCase = pTestCase;
+    }
   }
 }
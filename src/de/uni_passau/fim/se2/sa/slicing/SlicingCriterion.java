@@ -0,0 +1,49 @@
+package de.uni_passau.fim.se2.sa.slicing;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Describes a slicing criterion the way the command line does: a variable at a source line of a
+ * method.
+ *
+ * @param id The name under which results for the criterion are reported
+ * @param className The fully qualified name of the class that contains the method
+ * @param methodName The name of the method
+ * @param methodDescriptor The descriptor of the method
+ * @param variableName The name of the variable to slice
+ * @param lineNumber The source line of the variable
+ */
+public record SlicingCriterion(
+    String id,
+    String className,
+    String methodName,
+    String methodDescriptor,
+    String variableName,
+    int lineNumber) {
+
+  /**
+   * Creates a criterion from a method given in the {@code <methodname>:<descriptor>} syntax of the
+   * {@code --method} option.
+   *
+   * @param pId The name under which results for the criterion are reported
+   * @param pClassName The fully qualified name of the class that contains the method
+   * @param pMethod The method and its descriptor, separated by a colon
+   * @param pVariableName The name of the variable to slice
+   * @param pLineNumber The source line of the variable
+   * @return The criterion
+   * @throws IllegalArgumentException If the method lacks a descriptor
+   */
+  public static SlicingCriterion of(
+      String pId, String pClassName, String pMethod, String pVariableName, int pLineNumber) {
+    String[] method = pMethod.split(":");
+    Preconditions.checkArgument(
+        method.length == 2, "Method %s requires <methodname>:<descriptor> syntax", pMethod);
+    return new SlicingCriterion(
+        pId,
+        pClassName,
+        method[0].replace("\"", ""),
+        method[1].replace("\"", ""),
+        pVariableName,
+        pLineNumber);
+  }
+}
@@ -0,0 +1,295 @@
+package de.uni_passau.fim.se2.sa.slicing.batch;
+
+import de.uni_passau.fim.se2.sa.slicing.MethodSlicer;
+import de.uni_passau.fim.se2.sa.slicing.ParsedClass;
+import de.uni_passau.fim.se2.sa.slicing.SlicingCriterion;
+import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+import de.uni_passau.fim.se2.sa.slicing.classpath.ClassBytesProvider;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisOptions;
+import de.uni_passau.fim.se2.sa.slicing.graph.DefUseCache;
+import de.uni_passau.fim.se2.sa.slicing.graph.ProgramDependenceGraph;
+import de.uni_passau.fim.se2.sa.slicing.output.ByteCodeExtractor;
+import de.uni_passau.fim.se2.sa.slicing.output.XMLFileExtractor;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Slices many criteria within one JVM.
+ *
+ * <p>The criteria are read from JSON Lines, one object per line, whose members mirror the long
+ * options of the command line: {@code class}, {@code method} in {@code <methodname>:<descriptor>}
+ * syntax, {@code variablename}, and {@code linenumber}, plus an optional {@code id} that defaults to
+ * the line number of the criterion in the input.
+ *
+ * <p>All criteria are read first and grouped by class and method, such that every class is parsed
+ * once and the {@link ProgramDependenceGraph} of every method is built once. One JSON Lines result
+ * per criterion is written and flushed as soon as the criterion is sliced. A result holds the
+ * {@code id}, a {@code status} of {@code ok} or {@code error}, the {@code latencyMicros} of
+ * resolving and slicing the criterion, and either the {@code slice}, the {@code file} the slice was
+ * written to, or an error {@code message}. The first criterion of every method additionally reports
+ * the {@code setupMicros} spent on parsing its class and building the graph of the method.
+ */
+public final class BatchSlicer {
+
+  /**
+   * Summarises a batch run.
+   *
+   * @param criteria The number of criteria read
+   * @param failures The number of criteria that could not be sliced
+   * @param methods The number of methods whose program-dependence graph was built
+   */
+  public record Summary(int criteria, int failures, int methods) {}
+
+  private final AnalysisOptions options;
+  private final boolean xmlExtraction;
+  private final Path outputDirectory;
+  private final ClassBytesProvider classBytesProvider;
+  private final DefUseCache defUseCache = new DefUseCache();
+
+  /**
+   * Creates a batch slicer.
+   *
+   * @param pOptions The algorithms to use for the analyses
+   * @param pXmlExtraction Whether slices are rendered as XML instead of byte code
+   * @param pOutputDirectory The directory to write one file per slice to, or {@code null} to embed
+   *     the slices in the results
+   */
+  public BatchSlicer(AnalysisOptions pOptions, boolean pXmlExtraction, Path pOutputDirectory) {
+    this(pOptions, pXmlExtraction, pOutputDirectory, ClassBytesProvider.systemClassPath());
+  }
+
+  /**
+   * Creates a batch slicer that reads the classes to slice from a class-bytes provider.
+   *
+   * @param pOptions The algorithms to use for the analyses
+   * @param pXmlExtraction Whether slices are rendered as XML instead of byte code
+   * @param pOutputDirectory The directory to write one file per slice to, or {@code null} to embed
+   *     the slices in the results
+   * @param pClassBytesProvider The provider of the class files of the sliced classes
+   */
+  public BatchSlicer(
+      AnalysisOptions pOptions,
+      boolean pXmlExtraction,
+      Path pOutputDirectory,
+      ClassBytesProvider pClassBytesProvider) {
+    options = pOptions;
+    xmlExtraction = pXmlExtraction;
+    outputDirectory = pOutputDirectory;
+    classBytesProvider = pClassBytesProvider;
+  }
+
+  /**
+   * Slices all criteria of the input and writes their results.
+   *
+   * @param pCriteria The criteria in JSON Lines format; blank lines are skipped
+   * @param pResults The destination of the results in JSON Lines format
+   * @return The summary of the run
+   * @throws IOException In case reading the criteria or writing a result fails
+   */
+  public Summary run(BufferedReader pCriteria, Writer pResults) throws IOException {
+    Map<String, Map<String, List<SlicingCriterion>>> groups = new LinkedHashMap<>();
+    int criteria = 0;
+    int failures = 0;
+    int lineNumber = 0;
+    for (String line = pCriteria.readLine(); line != null; line = pCriteria.readLine()) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+      criteria++;
+      SlicingCriterion criterion;
+      try {
+        criterion = criterionOf(JsonLines.parse(line), String.valueOf(lineNumber));
+      } catch (IllegalArgumentException e) {
+        writeFailure(pResults, String.valueOf(lineNumber), e.getMessage());
+        failures++;
+        continue;
+      }
+      groups
+          .computeIfAbsent(criterion.className(), k -> new LinkedHashMap<>())
+          .computeIfAbsent(
+              criterion.methodName() + criterion.methodDescriptor(), k -> new ArrayList<>())
+          .add(criterion);
+    }
+
+    int methods = 0;
+    Set<String> fileNames = new HashSet<>();
+    for (Map.Entry<String, Map<String, List<SlicingCriterion>>> group : groups.entrySet()) {
+      long classStart = System.nanoTime();
+      ParsedClass parsedClass;
+      try {
+        parsedClass =
+            ParsedClass.read(classBytesProvider, group.getKey(), group.getValue().keySet());
+      } catch (IOException | RuntimeException e) {
+        // ASM reports corrupt or unsupported class files with runtime exceptions.
+        for (List<SlicingCriterion> methodCriteria : group.getValue().values()) {
+          failures +=
+              failAll(
+                  pResults,
+                  methodCriteria,
+                  "Could not read class " + group.getKey() + ": " + messageOf(e));
+        }
+        continue;
+      }
+      // Parsing the class is charged to the first of its methods.
+      long setupNanos = System.nanoTime() - classStart;
+
+      for (List<SlicingCriterion> methodCriteria : group.getValue().values()) {
+        long methodStart = System.nanoTime();
+        SlicingCriterion first = methodCriteria.get(0);
+        MethodNode methodNode =
+            parsedClass.method(first.methodName(), first.methodDescriptor()).orElse(null);
+        if (methodNode == null) {
+          failures +=
+              failAll(
+                  pResults,
+                  methodCriteria,
+                  "Could not find method " + first.methodName() + first.methodDescriptor());
+          continue;
+        }
+
+        MethodSlicer slicer;
+        try {
+          slicer = MethodSlicer.of(parsedClass, methodNode, defUseCache, options);
+        } catch (AnalyzerException | RuntimeException e) {
+          failures +=
+              failAll(pResults, methodCriteria, "Could not analyse method: " + messageOf(e));
+          continue;
+        }
+        methods++;
+        long setupMicros = (setupNanos + System.nanoTime() - methodStart) / 1000L;
+        setupNanos = 0L;
+
+        for (SlicingCriterion criterion : methodCriteria) {
+          long start = System.nanoTime();
+          Map<String, Object> result = new LinkedHashMap<>();
+          result.put("id", criterion.id());
+          try {
+            String slice =
+                render(slicer.slice(criterion.lineNumber(), criterion.variableName()));
+            result.put("status", "ok");
+            result.put("latencyMicros", (System.nanoTime() - start) / 1000L);
+            if (outputDirectory == null) {
+              result.put("slice", slice);
+            } else {
+              result.put("file", writeSlice(criterion.id(), slice, fileNames).toString());
+            }
+          } catch (IOException e) {
+            result.put("status", "error");
+            result.put("latencyMicros", (System.nanoTime() - start) / 1000L);
+            result.put("message", "Could not write slice: " + messageOf(e));
+            failures++;
+          } catch (RuntimeException e) {
+            // A criterion that cannot be resolved must not abort the other criteria.
+            result.put("status", "error");
+            result.put("latencyMicros", (System.nanoTime() - start) / 1000L);
+            result.put("message", messageOf(e));
+            failures++;
+          }
+          if (criterion == first) {
+            result.put("setupMicros", setupMicros);
+          }
+          writeResult(pResults, result);
+        }
+      }
+    }
+    return new Summary(criteria, failures, methods);
+  }
+
+  /**
+   * Creates a criterion from the members of a JSON object.
+   *
+   * @param pObject The members of the criterion
+   * @param pDefaultId The id to use if the object has none
+   * @return The criterion
+   * @throws IllegalArgumentException If a member is missing or has the wrong type
+   */
+  public static SlicingCriterion criterionOf(Map<String, Object> pObject, String pDefaultId) {
+    Object id = pObject.getOrDefault("id", pDefaultId);
+    return SlicingCriterion.of(
+        id == null ? pDefaultId : id.toString(),
+        member(pObject, "class", String.class),
+        member(pObject, "method", String.class),
+        member(pObject, "variablename", String.class),
+        lineNumberOf(member(pObject, "linenumber", Long.class)));
+  }
+
+  private static <T> T member(Map<String, Object> pObject, String pName, Class<T> pType) {
+    Object value = pObject.get(pName);
+    if (!pType.isInstance(value)) {
+      throw new IllegalArgumentException(
+          "Member " + pName + " must be a " + pType.getSimpleName().toLowerCase());
+    }
+    return pType.cast(value);
+  }
+
+  private static int lineNumberOf(long pLineNumber) {
+    if (pLineNumber < 0 || pLineNumber > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Member linenumber is out of range: " + pLineNumber);
+    }
+    return (int) pLineNumber;
+  }
+
+  private String render(Set<Node> pSlice) {
+    return xmlExtraction
+        ? new XMLFileExtractor(pSlice).extract()
+        : new ByteCodeExtractor(pSlice).extract();
+  }
+
+  /**
+   * Writes a slice to a file named by the id of its criterion.
+   *
+   * <p>Ids are reduced to characters that are safe in file names, so different ids may map to the
+   * same name; later ones are then suffixed with {@code -2}, {@code -3}, and so on.
+   */
+  private Path writeSlice(String pId, String pSlice, Set<String> pFileNames) throws IOException {
+    String baseName = pId.replaceAll("[^A-Za-z0-9._-]", "_");
+    String extension = xmlExtraction ? ".xml" : ".txt";
+    String fileName = baseName + extension;
+    for (int suffix = 2; !pFileNames.add(fileName); suffix++) {
+      fileName = baseName + "-" + suffix + extension;
+    }
+    return Files.writeString(outputDirectory.resolve(fileName), pSlice);
+  }
+
+  private static int failAll(Writer pResults, List<SlicingCriterion> pCriteria, String pMessage)
+      throws IOException {
+    for (SlicingCriterion criterion : pCriteria) {
+      writeFailure(pResults, criterion.id(), pMessage);
+    }
+    return pCriteria.size();
+  }
+
+  private static String messageOf(Exception pException) {
+    return pException.getMessage() != null ? pException.getMessage() : pException.toString();
+  }
+
+  private static void writeFailure(Writer pResults, String pId, String pMessage)
+      throws IOException {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("id", pId);
+    result.put("status", "error");
+    result.put("latencyMicros", 0L);
+    result.put("message", pMessage);
+    writeResult(pResults, result);
+  }
+
+  private static void writeResult(Writer pResults, Map<String, Object> pResult)
+      throws IOException {
+    pResults.write(JsonLines.write(pResult));
+    pResults.write(System.lineSeparator());
+    pResults.flush();
+  }
+}
@@ -0,0 +1,220 @@
+package de.uni_passau.fim.se2.sa.slicing.batch;
+
+import com.google.common.base.Preconditions;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes the flat JSON objects that make up one line of a JSON Lines file.
+ *
+ * <p>Only objects whose values are strings, numbers, booleans, or {@code null} are supported, which
+ * is all that slicing criteria and their results need. Numbers are read as {@link Long} if they
+ * are integral and as {@link Double} otherwise.
+ */
+public final class JsonLines {
+
+  private JsonLines() {}
+
+  /**
+   * Parses one line into an object.
+   *
+   * @param pLine The line holding exactly one JSON object
+   * @return The members of the object in the order of the line
+   * @throws IllegalArgumentException If the line is not a flat JSON object
+   */
+  public static Map<String, Object> parse(String pLine) {
+    Parser parser = new Parser(pLine);
+    parser.skipWhitespace();
+    Map<String, Object> object = parser.parseObject();
+    parser.skipWhitespace();
+    Preconditions.checkArgument(
+        parser.position == pLine.length(), "Unexpected content at column %s", parser.position + 1);
+    return object;
+  }
+
+  /**
+   * Writes an object as one line, without the line terminator.
+   *
+   * @param pObject The members of the object; values must be strings, numbers, booleans, or {@code
+   *     null}
+   * @return The JSON representation of the object
+   */
+  public static String write(Map<String, ?> pObject) {
+    StringBuilder builder = new StringBuilder("{");
+    for (Map.Entry<String, ?> member : pObject.entrySet()) {
+      if (builder.length() > 1) {
+        builder.append(',');
+      }
+      appendString(builder, member.getKey());
+      builder.append(':');
+      Object value = member.getValue();
+      if (value == null || value instanceof Number || value instanceof Boolean) {
+        builder.append(value);
+      } else {
+        appendString(builder, value.toString());
+      }
+    }
+    return builder.append('}').toString();
+  }
+
+  private static void appendString(StringBuilder pBuilder, String pValue) {
+    pBuilder.append('"');
+    for (int i = 0; i < pValue.length(); i++) {
+      char c = pValue.charAt(i);
+      switch (c) {
+        case '"' -> pBuilder.append("\\\"");
+        case '\\' -> pBuilder.append("\\\\");
+        case '\n' -> pBuilder.append("\\n");
+        case '\r' -> pBuilder.append("\\r");
+        case '\t' -> pBuilder.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            pBuilder.append(String.format("\\u%04x", (int) c));
+          } else {
+            pBuilder.append(c);
+          }
+        }
+      }
+    }
+    pBuilder.append('"');
+  }
+
+  /** A recursive-descent parser over the characters of one line. */
+  private static final class Parser {
+
+    private final String text;
+    private int position;
+
+    private Parser(String pText) {
+      text = pText;
+    }
+
+    private Map<String, Object> parseObject() {
+      Map<String, Object> object = new LinkedHashMap<>();
+      expect('{');
+      skipWhitespace();
+      if (peek() == '}') {
+        position++;
+        return object;
+      }
+      while (true) {
+        skipWhitespace();
+        String key = parseString();
+        skipWhitespace();
+        expect(':');
+        skipWhitespace();
+        object.put(key, parseValue());
+        skipWhitespace();
+        if (peek() == ',') {
+          position++;
+        } else {
+          expect('}');
+          return object;
+        }
+      }
+    }
+
+    private Object parseValue() {
+      char c = peek();
+      if (c == '"') {
+        return parseString();
+      }
+      if (text.startsWith("true", position)) {
+        position += 4;
+        return Boolean.TRUE;
+      }
+      if (text.startsWith("false", position)) {
+        position += 5;
+        return Boolean.FALSE;
+      }
+      if (text.startsWith("null", position)) {
+        position += 4;
+        return null;
+      }
+      if (c == '-' || (c >= '0' && c <= '9')) {
+        return parseNumber();
+      }
+      throw error("Unsupported value");
+    }
+
+    private Object parseNumber() {
+      int start = position;
+      boolean integral = true;
+      while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+        char c = text.charAt(position++);
+        integral &= c != '.' && c != 'e' && c != 'E';
+      }
+      String number = text.substring(start, position);
+      try {
+        return integral ? (Object) Long.parseLong(number) : (Object) Double.parseDouble(number);
+      } catch (NumberFormatException e) {
+        throw error("Malformed number " + number);
+      }
+    }
+
+    private String parseString() {
+      expect('"');
+      StringBuilder builder = new StringBuilder();
+      while (true) {
+        char c = next();
+        if (c == '"') {
+          return builder.toString();
+        }
+        if (c != '\\') {
+          builder.append(c);
+          continue;
+        }
+        char escaped = next();
+        switch (escaped) {
+          case '"', '\\', '/' -> builder.append(escaped);
+          case 'b' -> builder.append('\b');
+          case 'f' -> builder.append('\f');
+          case 'n' -> builder.append('\n');
+          case 'r' -> builder.append('\r');
+          case 't' -> builder.append('\t');
+          case 'u' -> {
+            Preconditions.checkArgument(
+                position + 4 <= text.length(), "Truncated escape at column %s", position);
+            try {
+              builder.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+            } catch (NumberFormatException e) {
+              throw error("Malformed escape");
+            }
+            position += 4;
+          }
+          default -> throw error("Unknown escape \\" + escaped);
+        }
+      }
+    }
+
+    private void skipWhitespace() {
+      while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+        position++;
+      }
+    }
+
+    private void expect(char pExpected) {
+      if (next() != pExpected) {
+        position--;
+        throw error("Expected '" + pExpected + "'");
+      }
+    }
+
+    private char peek() {
+      if (position >= text.length()) {
+        throw error("Unexpected end of line");
+      }
+      return text.charAt(position);
+    }
+
+    private char next() {
+      char c = peek();
+      position++;
+      return c;
+    }
+
+    private IllegalArgumentException error(String pMessage) {
+      return new IllegalArgumentException(pMessage + " at column " + (position + 1));
+    }
+  }
+}
@@ -0,0 +1,200 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Partitions a control-flow graph into basic blocks.
+ *
+ * <p>A node starts a block, and is called its leader, unless it has exactly one predecessor, which
+ * has exactly one successor and is not the node itself. A block then consists of its leader and
+ * the chain of single successors up to, but excluding, the next leader; its last node is the only
+ * one that may branch. Labels, line numbers, and frames therefore never start a block of their own
+ * unless they are jump targets.
+ *
+ * <p>The blocks are numbered in the order of their leaders in {@link ProgramGraph#getNodes()}. The
+ * nodes of block b are {@code member(i)} for {@code blockStart(b) <= i < blockStart(b + 1)}, in the
+ * order of execution.
+ */
+public final class BasicBlocks {
+
+  private final FrozenGraph cfg;
+  private final int[] blockOf;
+  private final int[] blockStart;
+  private final int[] members;
+  private final int blockCount;
+  private ProgramGraph graph;
+
+  private BasicBlocks(FrozenGraph pCFG) {
+    cfg = pCFG;
+    int size = pCFG.size();
+    blockOf = new int[size];
+    Arrays.fill(blockOf, -1);
+    blockStart = new int[size + 1];
+    members = new int[size];
+
+    int blocks = 0;
+    int count = 0;
+    for (int n = 0; n < size; n++) {
+      if (isLeader(n)) {
+        blockStart[blocks] = count;
+        count = appendChain(n, blocks++, count);
+      }
+    }
+    // Cycles of single successors without any leader cannot be reached from elsewhere; each of
+    // them becomes one block starting at its first node.
+    for (int n = 0; n < size; n++) {
+      if (blockOf[n] < 0) {
+        blockStart[blocks] = count;
+        count = appendChain(n, blocks++, count);
+      }
+    }
+    blockStart[blocks] = count;
+    blockCount = blocks;
+  }
+
+  /**
+   * Partitions a control-flow graph into basic blocks.
+   *
+   * @param pCFG The control-flow graph
+   * @return The basic blocks of the graph
+   */
+  public static BasicBlocks of(ProgramGraph pCFG) {
+    return new BasicBlocks(pCFG.freeze());
+  }
+
+  private boolean isLeader(int pNode) {
+    if (cfg.predecessorOffset(pNode + 1) - cfg.predecessorOffset(pNode) != 1) {
+      return true;
+    }
+    int predecessor = cfg.predecessorSource(cfg.predecessorOffset(pNode));
+    return predecessor == pNode
+        || cfg.successorOffset(predecessor + 1) - cfg.successorOffset(predecessor) != 1;
+  }
+
+  private int appendChain(int pLeader, int pBlock, int pCount) {
+    int count = pCount;
+    int node = pLeader;
+    while (true) {
+      blockOf[node] = pBlock;
+      members[count++] = node;
+      if (cfg.successorOffset(node + 1) - cfg.successorOffset(node) != 1) {
+        return count;
+      }
+      node = cfg.successorTarget(cfg.successorOffset(node));
+      if (blockOf[node] >= 0 || isLeader(node)) {
+        return count;
+      }
+    }
+  }
+
+  /**
+   * Provides the snapshot of the control-flow graph the blocks were computed from.
+   *
+   * @return The instruction-level graph
+   */
+  public FrozenGraph cfg() {
+    return cfg;
+  }
+
+  /**
+   * Provides the number of blocks.
+   *
+   * @return The number of blocks
+   */
+  public int blockCount() {
+    return blockCount;
+  }
+
+  /**
+   * Provides the block a node belongs to.
+   *
+   * @param pOrdinal The ordinal of the node in {@link #cfg()}
+   * @return The index of the block
+   */
+  public int blockOf(int pOrdinal) {
+    return blockOf[pOrdinal];
+  }
+
+  /**
+   * Provides the position of the first node of a block.
+   *
+   * @param pBlock The index of the block, may be {@link #blockCount()} for the end of the last row
+   * @return The position of the block's first node, see {@link #member(int)}
+   */
+  public int blockStart(int pBlock) {
+    return blockStart[pBlock];
+  }
+
+  /**
+   * Provides the node stored at a position of the member row.
+   *
+   * @param pIndex The position, between {@code blockStart(b)} and {@code blockStart(b + 1)}
+   * @return The ordinal of the node in {@link #cfg()}
+   */
+  public int member(int pIndex) {
+    return members[pIndex];
+  }
+
+  /**
+   * Provides the first node of a block.
+   *
+   * @param pBlock The index of the block
+   * @return The leader of the block
+   */
+  public Node leader(int pBlock) {
+    return cfg.node(members[blockStart[pBlock]]);
+  }
+
+  /**
+   * Provides the last node of a block, the only one that may have several successors.
+   *
+   * @param pBlock The index of the block
+   * @return The last node of the block
+   */
+  public Node terminator(int pBlock) {
+    return cfg.node(members[blockStart[pBlock + 1] - 1]);
+  }
+
+  /**
+   * Provides the nodes of a block in the order of execution.
+   *
+   * @param pBlock The index of the block
+   * @return The nodes of the block
+   */
+  public List<Node> nodesOf(int pBlock) {
+    Node[] nodes = new Node[blockStart[pBlock + 1] - blockStart[pBlock]];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = cfg.node(members[blockStart[pBlock] + i]);
+    }
+    return List.of(nodes);
+  }
+
+  /**
+   * Provides the graph of the blocks.
+   *
+   * <p>Every block is represented by its leader. The leaders are added in block order, such that
+   * the ordinals of the graph's {@link ProgramGraph#freeze() snapshot} are the block indices. There
+   * is an edge between two blocks if there is one from the last node of the first block to the
+   * leader of the second. The graph is built once and shared; it must not be modified.
+   *
+   * @return The block graph
+   */
+  public ProgramGraph toGraph() {
+    if (graph == null) {
+      ProgramGraph blockGraph = new ProgramGraph();
+      for (int b = 0; b < blockCount; b++) {
+        blockGraph.addNode(leader(b));
+      }
+      for (int b = 0; b < blockCount; b++) {
+        Node leader = leader(b);
+        int last = members[blockStart[b + 1] - 1];
+        for (int i = cfg.successorOffset(last); i < cfg.successorOffset(last + 1); i++) {
+          blockGraph.addEdge(leader, leader(blockOf[cfg.successorTarget(i)]));
+        }
+      }
+      graph = blockGraph;
+    }
+    return graph;
+  }
+}
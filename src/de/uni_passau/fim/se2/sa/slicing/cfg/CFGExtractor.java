@@ -1,13 +1,19 @@
 package de.uni_passau.fim.se2.sa.slicing.cfg;
 
+import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.Var;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.InsnList;
-import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
 import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
 import org.objectweb.asm.tree.analysis.Analyzer;
 import org.objectweb.asm.tree.analysis.AnalyzerException;
 import org.objectweb.asm.tree.analysis.BasicInterpreter;
@@ -17,6 +23,21 @@ public class CFGExtractor {
 
   private CFGExtractor() {}
 
+  /** The ways to derive the control-flow edges of a method. */
+  public enum Engine {
+    /**
+     * Takes the edges from the callbacks of ASM's {@link Analyzer}, which simulates the frames of
+     * every instruction with a {@link BasicInterpreter}.
+     */
+    ANALYZER,
+    /**
+     * Derives the edges directly from the opcodes, jump and switch targets, and exception
+     * handlers, without any frame simulation. Falls back to {@link #ANALYZER} for methods with
+     * subroutines ({@code JSR}/{@code RET}), whose return edges depend on the frames.
+     */
+    OPCODES
+  }
+
   /**
    * Builds the control-flow graph for a given method.
    *
@@ -27,17 +48,56 @@ private CFGExtractor() {}
    */
   public static ProgramGraph buildCFG(String pOwningClass, MethodNode pMethodNode)
       throws AnalyzerException {
-    ProgramGraph cfg = buildGraph(pOwningClass, pMethodNode);
+    return buildCFG(
+        pOwningClass,
+        pMethodNode,
+        new NodeIdAllocator(),
+        LineTable.of(pMethodNode.instructions),
+        Engine.OPCODES);
+  }
+
+  /**
+   * Builds the control-flow graph for a given method, taking the node ids from an allocator and
+   * the line numbers from a line table.
+   *
+   * <p>Passing the same allocator and line table for every CFG of a method lets the CFGs share
+   * them. Both engines yield the same nodes with the same ids and the same successors and
+   * predecessors in the same order; the {@link Engine#ANALYZER} may add parallel edges for
+   * instructions it analyses more than once.
+   *
+   * @param pOwningClass The name of the class that owns the method
+   * @param pMethodNode The ASM {@link MethodNode} representing the method
+   * @param pIds The allocator for the ids of the method's nodes
+   * @param pLines The line table of the method's instructions
+   * @param pEngine The way to derive the control-flow edges
+   * @return The control-flow graph for the given method
+   * @throws AnalyzerException In case of problems during the analysis of the method
+   */
+  public static ProgramGraph buildCFG(
+      String pOwningClass,
+      MethodNode pMethodNode,
+      NodeIdAllocator pIds,
+      LineTable pLines,
+      Engine pEngine)
+      throws AnalyzerException {
+    Preconditions.checkArgument(
+        pLines.isValidFor(pMethodNode.instructions),
+        "The line table was not built for the instructions of %s",
+        pMethodNode.name);
+    ProgramGraph cfg =
+        pEngine == Engine.OPCODES && !hasSubroutines(pMethodNode.instructions)
+            ? buildGraphFromOpcodes(pMethodNode, pIds, pLines)
+            : buildGraph(pOwningClass, pMethodNode, pIds, pLines);
 
     // Create distinguished entry and exit nodes.
-    Node entry = new Node("Entry");
-    Node exit = new Node("Exit");
+    Node entry = Node.entry();
+    Node exit = Node.exit();
     cfg.addNode(entry);
     cfg.addNode(exit);
 
     // Connect entry and exit nodes to the other nodes of the graph.
     for (Node node : cfg.getNodes()) {
-      if (node.toString().equals("\"Exit\"") || node.toString().equals("\"Entry\"")) {
+      if (node.getKind() == Node.Kind.ENTRY || node.getKind() == Node.Kind.EXIT) {
         continue; // Skip the entry or exit nodes themselves.
       }
 
@@ -55,7 +115,8 @@ public static ProgramGraph buildCFG(String pOwningClass, MethodNode pMethodNode)
     return cfg;
   }
 
-  private static ProgramGraph buildGraph(String pOwningClass, MethodNode pMethodNode)
+  private static ProgramGraph buildGraph(
+      String pOwningClass, MethodNode pMethodNode, NodeIdAllocator pIds, LineTable pLines)
       throws AnalyzerException {
     InsnList instructions = pMethodNode.instructions;
     Map<AbstractInsnNode, Node> nodes = new LinkedHashMap<>();
@@ -67,13 +128,13 @@ private static ProgramGraph buildGraph(String pOwningClass, MethodNode pMethodNo
           protected void newControlFlowEdge(int pSourceIndex, int pTargetIndex) {
             AbstractInsnNode source = instructions.get(pSourceIndex);
             AbstractInsnNode target = instructions.get(pTargetIndex);
-            int sourceLineNumber = findLineNumber(instructions, pSourceIndex);
-            int targetLineNumber = findLineNumber(instructions, pTargetIndex);
+            int sourceLineNumber = pLines.lineOf(pSourceIndex);
+            int targetLineNumber = pLines.lineOf(pTargetIndex);
 
             // Add the source node to the CFG if it does not exist yet.
             @Var Node sourceNode = nodes.get(source);
             if (sourceNode == null) {
-              sourceNode = new Node(source, sourceLineNumber);
+              sourceNode = new Node(source, sourceLineNumber, pIds.idOf(source));
               nodes.put(source, sourceNode);
               cfg.addNode(sourceNode);
             }
@@ -81,7 +142,7 @@ protected void newControlFlowEdge(int pSourceIndex, int pTargetIndex) {
             // Add the target node to the CFG if it does not exist yet.
             @Var Node targetNode = nodes.get(target);
             if (targetNode == null) {
-              targetNode = new Node(target, targetLineNumber);
+              targetNode = new Node(target, targetLineNumber, pIds.idOf(target));
               nodes.put(target, targetNode);
               cfg.addNode(targetNode);
             }
@@ -89,20 +150,6 @@ protected void newControlFlowEdge(int pSourceIndex, int pTargetIndex) {
             // Finally, establish the connection between source and target node.
             cfg.addEdge(sourceNode, targetNode);
           }
-
-          private int findLineNumber(InsnList pInstructions, int pStartPoint) {
-            // ASM also encodes meta-information about instructions in the instructions list, e.g.,
-            // via LineNumberNodes.  Starting at the instruction of interest, we traverse the list
-            // of
-            // instructions in reverse order until we find such a LineNumberNode.
-            for (int i = pStartPoint; i >= 0; --i) {
-              @Var AbstractInsnNode current = pInstructions.get(i);
-              if (current instanceof LineNumberNode lineNumberNode) {
-                return lineNumberNode.line;
-              }
-            }
-            return -1; // No line number found.
-          }
         };
 
     // The analyzer already builds the CFG internally.  We can extract it from there.
@@ -111,6 +158,156 @@ private int findLineNumber(InsnList pInstructions, int pStartPoint) {
     return cfg;
   }
 
+  private static boolean hasSubroutines(InsnList pInstructions) {
+    for (AbstractInsnNode instruction : pInstructions) {
+      if (instruction.getOpcode() == Opcodes.JSR || instruction.getOpcode() == Opcodes.RET) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Builds the graph like {@link #buildGraph} does, but without simulating frames.
+   *
+   * <p>The instructions are visited in the order in which the {@link Analyzer} visits them for
+   * the first time: it pops instructions from a stack and pushes every successor it reaches for
+   * the first time, including the handlers of the exception ranges an instruction lies in. The
+   * analyzer revisits instructions whose frames change, but that only repeats edges it has
+   * already reported. Following the same order therefore yields the same nodes with the same ids
+   * and the same order of successors and predecessors; repeated edges, e.g., from switch cases
+   * sharing a label, are added once.
+   */
+  private static ProgramGraph buildGraphFromOpcodes(
+      MethodNode pMethodNode, NodeIdAllocator pIds, LineTable pLines) throws AnalyzerException {
+    InsnList instructions = pMethodNode.instructions;
+    int size = instructions.size();
+    ProgramGraph cfg = new ProgramGraph();
+    if ((pMethodNode.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0 || size == 0) {
+      return cfg;
+    }
+
+    int[][] handlers = handlerIndices(pMethodNode);
+    Node[] nodes = new Node[size];
+    // The source of the last edge added towards every instruction, to skip repeated edges.
+    int[] lastSource = new int[size];
+    Arrays.fill(lastSource, -1);
+    boolean[] reached = new boolean[size];
+    int[] stack = new int[size];
+    @Var int top = 0;
+    stack[top++] = 0;
+    reached[0] = true;
+
+    while (top > 0) {
+      int index = stack[--top];
+      AbstractInsnNode instruction = instructions.get(index);
+      int opcode = instruction.getOpcode();
+      @Var int targetCount = 0;
+      int[] targets = new int[successorCount(instruction)];
+
+      if (instruction instanceof JumpInsnNode jump) {
+        if (opcode != Opcodes.GOTO) {
+          targets[targetCount++] = index + 1;
+        }
+        targets[targetCount++] = instructions.indexOf(jump.label);
+      } else if (instruction instanceof LookupSwitchInsnNode lookupSwitch) {
+        targets[targetCount++] = instructions.indexOf(lookupSwitch.dflt);
+        for (LabelNode label : lookupSwitch.labels) {
+          targets[targetCount++] = instructions.indexOf(label);
+        }
+      } else if (instruction instanceof TableSwitchInsnNode tableSwitch) {
+        targets[targetCount++] = instructions.indexOf(tableSwitch.dflt);
+        for (LabelNode label : tableSwitch.labels) {
+          targets[targetCount++] = instructions.indexOf(label);
+        }
+      } else if (targets.length > 0) {
+        targets[targetCount++] = index + 1;
+      }
+
+      for (int target : targets) {
+        if (target >= size) {
+          throw new AnalyzerException(instruction, "Execution can fall off the end of the code");
+        }
+        if (!reached[target]) {
+          reached[target] = true;
+          stack[top++] = target;
+        }
+        Node source = nodeOf(cfg, nodes, instructions, index, pIds, pLines);
+        Node destination = nodeOf(cfg, nodes, instructions, target, pIds, pLines);
+        if (lastSource[target] != index) {
+          lastSource[target] = index;
+          cfg.addEdge(source, destination);
+        }
+      }
+      for (int handler : handlers[index]) {
+        if (!reached[handler]) {
+          reached[handler] = true;
+          stack[top++] = handler;
+        }
+      }
+    }
+    return cfg;
+  }
+
+  /** Provides the number of normal control-flow edges leaving an instruction. */
+  private static int successorCount(AbstractInsnNode pInstruction) {
+    int opcode = pInstruction.getOpcode();
+    if (pInstruction instanceof JumpInsnNode) {
+      return opcode == Opcodes.GOTO ? 1 : 2;
+    } else if (pInstruction instanceof LookupSwitchInsnNode lookupSwitch) {
+      return 1 + lookupSwitch.labels.size();
+    } else if (pInstruction instanceof TableSwitchInsnNode tableSwitch) {
+      return 1 + tableSwitch.labels.size();
+    } else if (opcode == Opcodes.ATHROW
+        || (opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN)) {
+      return 0;
+    }
+    return 1; // Falls through, as do labels, line numbers, and frames.
+  }
+
+  private static Node nodeOf(
+      ProgramGraph pCFG,
+      Node[] pNodes,
+      InsnList pInstructions,
+      int pIndex,
+      NodeIdAllocator pIds,
+      LineTable pLines) {
+    @Var Node node = pNodes[pIndex];
+    if (node == null) {
+      AbstractInsnNode instruction = pInstructions.get(pIndex);
+      node = new Node(instruction, pLines.lineOf(pIndex), pIds.idOf(instruction));
+      pNodes[pIndex] = node;
+      pCFG.addNode(node);
+    }
+    return node;
+  }
+
+  /**
+   * Provides the indices of the exception handlers covering every instruction, in the order of
+   * the method's try-catch blocks.
+   */
+  private static int[][] handlerIndices(MethodNode pMethodNode) {
+    InsnList instructions = pMethodNode.instructions;
+    int[] counts = new int[instructions.size()];
+    for (TryCatchBlockNode block : pMethodNode.tryCatchBlocks) {
+      for (int i = instructions.indexOf(block.start); i < instructions.indexOf(block.end); i++) {
+        counts[i]++;
+      }
+    }
+    int[][] handlers = new int[instructions.size()][];
+    for (int i = 0; i < handlers.length; i++) {
+      handlers[i] = new int[counts[i]];
+      counts[i] = 0;
+    }
+    for (TryCatchBlockNode block : pMethodNode.tryCatchBlocks) {
+      int handler = instructions.indexOf(block.handler);
+      for (int i = instructions.indexOf(block.start); i < instructions.indexOf(block.end); i++) {
+        handlers[i][counts[i]++] = handler;
+      }
+    }
+    return handlers;
+  }
+
   /**
    * Computes the internal name representation of a method.
    *
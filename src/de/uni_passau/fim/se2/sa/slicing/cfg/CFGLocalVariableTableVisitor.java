@@ -17,7 +17,19 @@ public class CFGLocalVariableTableVisitor extends ClassVisitor {
   private final Map<String, LocalVariableTable> localVariableTables;
 
   public CFGLocalVariableTableVisitor(int pAPI) {
-    super(pAPI);
+    this(pAPI, null);
+  }
+
+  /**
+   * Creates a visitor that forwards all events to another class visitor, such that the local
+   * variable tables are extracted in the same pass that builds, e.g., a {@link
+   * org.objectweb.asm.tree.ClassNode}.
+   *
+   * @param pAPI The ASM API version
+   * @param pClassVisitor The class visitor to forward to, or {@code null}
+   */
+  public CFGLocalVariableTableVisitor(int pAPI, ClassVisitor pClassVisitor) {
+    super(pAPI, pClassVisitor);
     localVariableTables = new LinkedHashMap<>();
   }
 
@@ -84,6 +96,7 @@ public void visitEnd() {
       String methodName =
           CFGExtractor.computeInternalMethodName(name, descriptor, signature, exceptions);
       classVisitor.localVariableTables.put(methodName, localVariableTable);
+      super.visitEnd();
     }
   }
 }
@@ -0,0 +1,207 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * A control-flow graph from which nodes in the middle of straight-line chains have been
+ * contracted.
+ *
+ * <p>A node is removed if the given predicate accepts it, it has exactly one successor, and its
+ * only predecessor has no other successor. The edges into and out of a removed node are replaced
+ * by an edge from its predecessor to its successor. A removed node is therefore neither a branch
+ * nor a join point, and every analysis that only depends on the branching structure, such as
+ * post-dominance and control dependence, yields the same result for the remaining nodes.
+ *
+ * <p>Every removed node is mapped to its representative, the nearest remaining node before it in
+ * the chain. Both lie in the same basic block and hence have the same control dependences.
+ *
+ * <p>The contraction works on the {@link FrozenGraph} snapshot of the original graph and yields a
+ * snapshot again, whose ordinals follow the order of the remaining nodes in the original one. A
+ * {@link ProgramGraph} of the result is only built on request.
+ */
+public final class ContractedGraph {
+
+  private final FrozenGraph original;
+  private final FrozenGraph frozen;
+  /** The ordinal in {@link #frozen} of the representative of every original node. */
+  private final int[] representatives;
+  private ProgramGraph graph;
+
+  private ContractedGraph(FrozenGraph pOriginal, FrozenGraph pFrozen, int[] pRepresentatives) {
+    original = pOriginal;
+    frozen = pFrozen;
+    representatives = pRepresentatives;
+  }
+
+  /**
+   * Contracts the nodes of a control-flow graph.
+   *
+   * @param pCFG The control-flow graph, which is not modified
+   * @param pRemovable Whether a node may be removed if it lies in the middle of a chain
+   * @return The contracted graph
+   */
+  public static ContractedGraph of(ProgramGraph pCFG, Predicate<Node> pRemovable) {
+    FrozenGraph cfg = pCFG.freeze();
+    int size = cfg.size();
+    boolean[] removed = new boolean[size];
+    for (int n = 0; n < size; n++) {
+      removed[n] = isInsideChain(cfg, n) && pRemovable.test(cfg.node(n));
+    }
+
+    // A cycle of removed nodes has no representative; its first node is kept instead.
+    for (int n = 0; n < size; n++) {
+      if (removed[n]) {
+        int representative = predecessorOf(cfg, n);
+        while (removed[representative] && representative != n) {
+          representative = predecessorOf(cfg, representative);
+        }
+        if (representative == n) {
+          removed[n] = false;
+        }
+      }
+    }
+
+    // Kept nodes are numbered in their original order; removed nodes take the number of their
+    // representative.
+    int[] representatives = new int[size];
+    Node[] nodes = new Node[size];
+    int count = 0;
+    for (int n = 0; n < size; n++) {
+      if (!removed[n]) {
+        nodes[count] = cfg.node(n);
+        representatives[n] = count++;
+      }
+    }
+    for (int n = 0; n < size; n++) {
+      if (removed[n]) {
+        int representative = predecessorOf(cfg, n);
+        while (removed[representative]) {
+          representative = predecessorOf(cfg, representative);
+        }
+        representatives[n] = representatives[representative];
+      }
+    }
+
+    int[] offsets = new int[count + 1];
+    int[] targets = new int[cfg.successorOffset(size)];
+    int edges = 0;
+    for (int n = 0; n < size; n++) {
+      if (removed[n]) {
+        continue;
+      }
+      offsets[representatives[n]] = edges;
+      for (int i = cfg.successorOffset(n); i < cfg.successorOffset(n + 1); i++) {
+        int target = cfg.successorTarget(i);
+        while (removed[target]) {
+          target = cfg.successorTarget(cfg.successorOffset(target));
+        }
+        targets[edges++] = representatives[target];
+      }
+    }
+    offsets[count] = edges;
+
+    FrozenGraph contracted =
+        new FrozenGraph(Arrays.copyOf(nodes, count), offsets, Arrays.copyOf(targets, edges));
+    return new ContractedGraph(cfg, contracted, representatives);
+  }
+
+  /**
+   * Checks whether a node is a {@link Node.Kind#LABEL}, {@link Node.Kind#LINE}, or {@link
+   * Node.Kind#FRAME} node.
+   *
+   * <p>These pseudo-instructions are never executed, hence they only lengthen the chains of a CFG.
+   *
+   * @param pNode The node to check
+   * @return {@code true} if the node represents a pseudo-instruction
+   */
+  public static boolean isPseudoInstruction(Node pNode) {
+    Node.Kind kind = pNode.getKind();
+    return kind == Node.Kind.LABEL || kind == Node.Kind.LINE || kind == Node.Kind.FRAME;
+  }
+
+  private static boolean isInsideChain(FrozenGraph pCFG, int pNode) {
+    if (pCFG.predecessorOffset(pNode + 1) - pCFG.predecessorOffset(pNode) != 1
+        || pCFG.successorOffset(pNode + 1) - pCFG.successorOffset(pNode) != 1) {
+      return false;
+    }
+    int predecessor = predecessorOf(pCFG, pNode);
+    return predecessor != pNode
+        && pCFG.successorOffset(predecessor + 1) - pCFG.successorOffset(predecessor) == 1;
+  }
+
+  private static int predecessorOf(FrozenGraph pCFG, int pNode) {
+    return pCFG.predecessorSource(pCFG.predecessorOffset(pNode));
+  }
+
+  /**
+   * Provides the snapshot of the original graph.
+   *
+   * @return The graph the contraction was computed from
+   */
+  public FrozenGraph original() {
+    return original;
+  }
+
+  /**
+   * Provides the snapshot of the contracted graph.
+   *
+   * @return The graph without the removed nodes
+   */
+  public FrozenGraph frozen() {
+    return frozen;
+  }
+
+  /**
+   * Provides the contracted graph as a {@link ProgramGraph}.
+   *
+   * <p>The graph is built on the first call and shared afterwards; it must not be modified.
+   *
+   * @return The graph without the removed nodes
+   */
+  public ProgramGraph graph() {
+    if (graph == null) {
+      ProgramGraph contracted = new ProgramGraph();
+      for (Node node : frozen.nodes()) {
+        contracted.addNode(node);
+      }
+      for (int n = 0; n < frozen.size(); n++) {
+        for (int i = frozen.successorOffset(n); i < frozen.successorOffset(n + 1); i++) {
+          contracted.addEdge(frozen.node(n), frozen.node(frozen.successorTarget(i)));
+        }
+      }
+      graph = contracted;
+    }
+    return graph;
+  }
+
+  /**
+   * Provides the number of removed nodes.
+   *
+   * @return The number of nodes of the original graph that are not part of the contracted one
+   */
+  public int removedCount() {
+    return original.size() - frozen.size();
+  }
+
+  /**
+   * Provides the representative of a node of the original graph.
+   *
+   * @param pOrdinal The ordinal of the node in {@link #original()}
+   * @return The ordinal in {@link #frozen()} of the node's representative, which is the node
+   *     itself if it was kept
+   */
+  public int representativeOf(int pOrdinal) {
+    return representatives[pOrdinal];
+  }
+
+  /**
+   * Provides the node that stands in for a node of the original graph.
+   *
+   * @param pNode A node of the original graph
+   * @return The representative of a removed node, or the node itself if it was kept
+   */
+  public Node representativeOf(Node pNode) {
+    return frozen.node(representatives[original.ordinalOf(pNode)]);
+  }
+}
@@ -0,0 +1,251 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, int-indexed snapshot of a {@link ProgramGraph}.
+ *
+ * <p>The nodes get dense ordinals {@code 0..size()-1} in the iteration order of {@link
+ * ProgramGraph#getNodes()}. Both edge directions are stored in compressed sparse rows: the
+ * successors of node n are {@code successorTarget(i)} for {@code successorOffset(n) <= i <
+ * successorOffset(n + 1)}, in the order of {@link ProgramGraph#getSuccessors(Node)} and without
+ * duplicates; predecessors are stored alike. Iterating over them therefore neither allocates nor
+ * touches the edge sets of the underlying graph.
+ */
+public final class FrozenGraph {
+
+  private final Node[] nodes;
+  private final Map<Node, Integer> ordinals;
+  private final int[] successorOffsets;
+  private final int[] successorTargets;
+  private final int[] predecessorOffsets;
+  private final int[] predecessorSources;
+  private final int entry;
+  private final int exit;
+
+  FrozenGraph(Graph<Node, DefaultEdge> pGraph) {
+    nodes = pGraph.vertexSet().toArray(new Node[0]);
+    ordinals = new HashMap<>(nodes.length * 2);
+    for (int n = 0; n < nodes.length; n++) {
+      ordinals.put(nodes[n], n);
+    }
+
+    int[] stamp = new int[nodes.length];
+    Arrays.fill(stamp, -1);
+    successorOffsets = new int[nodes.length + 1];
+    int[] targets = new int[pGraph.edgeSet().size()];
+    int count = 0;
+    for (int n = 0; n < nodes.length; n++) {
+      successorOffsets[n] = count;
+      for (DefaultEdge edge : pGraph.outgoingEdgesOf(nodes[n])) {
+        int target = ordinals.get(pGraph.getEdgeTarget(edge));
+        if (stamp[target] != n) {
+          stamp[target] = n;
+          targets[count++] = target;
+        }
+      }
+    }
+    successorOffsets[nodes.length] = count;
+    successorTargets = Arrays.copyOf(targets, count);
+
+    Arrays.fill(stamp, -1);
+    predecessorOffsets = new int[nodes.length + 1];
+    int[] sources = new int[pGraph.edgeSet().size()];
+    count = 0;
+    for (int n = 0; n < nodes.length; n++) {
+      predecessorOffsets[n] = count;
+      for (DefaultEdge edge : pGraph.incomingEdgesOf(nodes[n])) {
+        int source = ordinals.get(pGraph.getEdgeSource(edge));
+        if (stamp[source] != n) {
+          stamp[source] = n;
+          sources[count++] = source;
+        }
+      }
+    }
+    predecessorOffsets[nodes.length] = count;
+    predecessorSources = Arrays.copyOf(sources, count);
+
+    entry = firstWithoutNeighbours(predecessorOffsets);
+    exit = firstWithoutNeighbours(successorOffsets);
+  }
+
+  /**
+   * Creates a snapshot from successor rows that are already numbered.
+   *
+   * <p>The predecessors of every node are stored in ascending order of their ordinals.
+   *
+   * @param pNodes The nodes, indexed by their ordinals
+   * @param pSuccessorOffsets The start of the successor row of every node, followed by the total
+   *     number of successors
+   * @param pSuccessorTargets The successor rows without duplicates
+   */
+  FrozenGraph(Node[] pNodes, int[] pSuccessorOffsets, int[] pSuccessorTargets) {
+    nodes = pNodes;
+    ordinals = new HashMap<>(nodes.length * 2);
+    for (int n = 0; n < nodes.length; n++) {
+      ordinals.put(nodes[n], n);
+    }
+    successorOffsets = pSuccessorOffsets;
+    successorTargets = pSuccessorTargets;
+
+    // Counting sort of the edges by target; visiting the sources in ascending order keeps every
+    // predecessor row sorted.
+    predecessorOffsets = new int[nodes.length + 1];
+    for (int i = 0; i < successorOffsets[nodes.length]; i++) {
+      predecessorOffsets[successorTargets[i] + 1]++;
+    }
+    for (int n = 0; n < nodes.length; n++) {
+      predecessorOffsets[n + 1] += predecessorOffsets[n];
+    }
+    predecessorSources = new int[successorOffsets[nodes.length]];
+    int[] fill = Arrays.copyOf(predecessorOffsets, nodes.length);
+    for (int n = 0; n < nodes.length; n++) {
+      for (int i = successorOffsets[n]; i < successorOffsets[n + 1]; i++) {
+        predecessorSources[fill[successorTargets[i]]++] = n;
+      }
+    }
+
+    entry = firstWithoutNeighbours(predecessorOffsets);
+    exit = firstWithoutNeighbours(successorOffsets);
+  }
+
+  /**
+   * Provides the number of nodes.
+   *
+   * @return The number of nodes
+   */
+  public int size() {
+    return nodes.length;
+  }
+
+  /**
+   * Provides the node with the given ordinal.
+   *
+   * @param pOrdinal The ordinal of the node
+   * @return The node
+   */
+  public Node node(int pOrdinal) {
+    return nodes[pOrdinal];
+  }
+
+  /**
+   * Provides all nodes, indexed by their ordinals.
+   *
+   * @return An unmodifiable list of the nodes
+   */
+  public List<Node> nodes() {
+    return Collections.unmodifiableList(Arrays.asList(nodes));
+  }
+
+  /**
+   * Provides the ordinal of a node.
+   *
+   * @param pNode The node
+   * @return The ordinal of the node, or {@code -1} if it is not part of the graph
+   */
+  public int ordinalOf(Node pNode) {
+    return ordinals.getOrDefault(pNode, -1);
+  }
+
+  /**
+   * Provides the ordinal of the entry node, the first node without predecessors.
+   *
+   * @return The ordinal of the entry node, or {@code -1} if every node has a predecessor
+   */
+  public int entry() {
+    return entry;
+  }
+
+  /**
+   * Provides the ordinal of the exit node, the first node without successors.
+   *
+   * @return The ordinal of the exit node, or {@code -1} if every node has a successor
+   */
+  public int exit() {
+    return exit;
+  }
+
+  /**
+   * Provides the position of the first successor of a node in the successor row.
+   *
+   * @param pOrdinal The ordinal of the node, may be {@link #size()} for the end of the last row
+   * @return The offset of the node's successors
+   */
+  public int successorOffset(int pOrdinal) {
+    return successorOffsets[pOrdinal];
+  }
+
+  /**
+   * Provides the successor stored at a position of the successor row.
+   *
+   * @param pIndex The position, between {@code successorOffset(n)} and {@code successorOffset(n +
+   *     1)}
+   * @return The ordinal of the successor
+   */
+  public int successorTarget(int pIndex) {
+    return successorTargets[pIndex];
+  }
+
+  /**
+   * Provides the position of the first predecessor of a node in the predecessor row.
+   *
+   * @param pOrdinal The ordinal of the node, may be {@link #size()} for the end of the last row
+   * @return The offset of the node's predecessors
+   */
+  public int predecessorOffset(int pOrdinal) {
+    return predecessorOffsets[pOrdinal];
+  }
+
+  /**
+   * Provides the predecessor stored at a position of the predecessor row.
+   *
+   * @param pIndex The position, between {@code predecessorOffset(n)} and {@code
+   *     predecessorOffset(n + 1)}
+   * @return The ordinal of the predecessor
+   */
+  public int predecessorSource(int pIndex) {
+    return predecessorSources[pIndex];
+  }
+
+  /**
+   * Copies the successors of every node into separate arrays.
+   *
+   * @return The successor ordinals indexed by node ordinal
+   */
+  public int[][] successorArrays() {
+    return toArrays(successorOffsets, successorTargets);
+  }
+
+  /**
+   * Copies the predecessors of every node into separate arrays.
+   *
+   * @return The predecessor ordinals indexed by node ordinal
+   */
+  public int[][] predecessorArrays() {
+    return toArrays(predecessorOffsets, predecessorSources);
+  }
+
+  private static int[][] toArrays(int[] pOffsets, int[] pValues) {
+    int[][] arrays = new int[pOffsets.length - 1][];
+    for (int n = 0; n < arrays.length; n++) {
+      arrays[n] = Arrays.copyOfRange(pValues, pOffsets[n], pOffsets[n + 1]);
+    }
+    return arrays;
+  }
+
+  private static int firstWithoutNeighbours(int[] pOffsets) {
+    for (int n = 0; n + 1 < pOffsets.length; n++) {
+      if (pOffsets[n] == pOffsets[n + 1]) {
+        return n;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,93 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.LineNumberNode;
+
+/**
+ * Maps the instructions of a method to their source lines.
+ *
+ * <p>ASM encodes line numbers as {@link LineNumberNode}s in the instruction list; an instruction
+ * belongs to the line of the closest such node before it, or of the node itself. The table is
+ * built in one forward pass over the instructions and answers every lookup in constant time.
+ */
+public final class LineTable {
+
+  private final InsnList instructions;
+  private final int[] lineOf;
+  /** The index of the first {@link LineNumberNode} of every line. */
+  private final Map<Integer, Integer> firstMarkers;
+
+  private LineTable(InsnList pInstructions, int[] pLineOf, Map<Integer, Integer> pFirstMarkers) {
+    instructions = pInstructions;
+    lineOf = pLineOf;
+    firstMarkers = pFirstMarkers;
+  }
+
+  /**
+   * Builds the line table of an instruction list.
+   *
+   * @param pInstructions The instructions of a method
+   * @return The line table
+   */
+  public static LineTable of(InsnList pInstructions) {
+    int[] lineOf = new int[pInstructions.size()];
+    Map<Integer, Integer> firstMarkers = new HashMap<>();
+    int line = -1;
+    int index = 0;
+    for (AbstractInsnNode instruction : pInstructions) {
+      if (instruction instanceof LineNumberNode lineNumberNode) {
+        line = lineNumberNode.line;
+        firstMarkers.putIfAbsent(line, index);
+      }
+      lineOf[index++] = line;
+    }
+    return new LineTable(pInstructions, lineOf, firstMarkers);
+  }
+
+  /**
+   * Provides the line of the instruction at an index of the instruction list.
+   *
+   * @param pIndex The index of the instruction
+   * @return The line number, or {@code -1} if no line number precedes the instruction
+   */
+  public int lineOf(int pIndex) {
+    return lineOf[pIndex];
+  }
+
+  /**
+   * Provides the line of an instruction.
+   *
+   * @param pInstruction An instruction of the method
+   * @return The line number, or {@code -1} if no line number precedes the instruction
+   */
+  public int lineOf(AbstractInsnNode pInstruction) {
+    return lineOf[instructions.indexOf(pInstruction)];
+  }
+
+  /**
+   * Provides the first {@link LineNumberNode} of a line.
+   *
+   * @param pLine The line number
+   * @return The node that starts the line, or an empty optional if the method has no code on it
+   */
+  public Optional<LineNumberNode> getLineStart(int pLine) {
+    Integer index = firstMarkers.get(pLine);
+    return index == null
+        ? Optional.empty()
+        : Optional.of((LineNumberNode) instructions.get(index));
+  }
+
+  /**
+   * Checks whether the table was built for the given instruction list in its current state.
+   *
+   * @param pInstructions The instruction list
+   * @return {@code true} if the table describes the instruction list
+   */
+  public boolean isValidFor(InsnList pInstructions) {
+    return instructions == pInstructions && lineOf.length == pInstructions.size();
+  }
+}
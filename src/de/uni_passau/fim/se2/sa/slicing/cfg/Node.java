@@ -2,8 +2,6 @@
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.FrameNode;
@@ -14,32 +12,149 @@
 import org.objectweb.asm.util.Textifier;
 import org.objectweb.asm.util.TraceMethodVisitor;
 
-/** Represents a node in the {@link ProgramGraph}. */
+/**
+ * Represents a node in the {@link ProgramGraph}.
+ *
+ * <p>Nodes of instructions are identified by their kind and their id within the method; named
+ * nodes, which have no instruction, by their kind and name. Equality and the hash code thus never
+ * build strings.
+ */
 public class Node {
 
+  /** The kinds of nodes. */
+  public enum Kind {
+    /** The distinguished entry node of a CFG. */
+    ENTRY,
+    /** The distinguished exit node of a CFG. */
+    EXIT,
+    /** An executable instruction. */
+    INSN,
+    /** A {@link LabelNode}. */
+    LABEL,
+    /** A {@link LineNumberNode}. */
+    LINE,
+    /** A {@link FrameNode}. */
+    FRAME,
+    /** Any other node without an instruction, identified by its name. */
+    NAMED
+  }
+
+  private static final String ENTRY_NAME = "Entry";
+  private static final String EXIT_NAME = "Exit";
+
   private AbstractInsnNode instruction = null;
   private final int lineNumber;
 
-  private static Map<Object, String> sIds = null;
-  static int sNextId = 1;
-
-  private final String id;
+  private final Kind kind;
+  private final int id;
+  private final String name;
+  private final int hash;
 
   /**
    * Creates a new node object.
    *
    * @param pInstructionNode The instruction node this node is based on
    * @param pLineNumber The line number in the source file
+   * @param pId The id of the instruction within its method, see {@link NodeIdAllocator}
    */
-  Node(AbstractInsnNode pInstructionNode, int pLineNumber) {
+  Node(AbstractInsnNode pInstructionNode, int pLineNumber, int pId) {
     instruction = pInstructionNode;
     lineNumber = pLineNumber;
-    id = getID(pInstructionNode);
+    kind = kindOf(pInstructionNode);
+    id = pId;
+    name = null;
+    hash = 31 + decimalHash(pId);
   }
 
+  /**
+   * Creates a node without an instruction.
+   *
+   * <p>The names {@code Entry} and {@code Exit} create the {@link Kind#ENTRY} and {@link
+   * Kind#EXIT} nodes, any other name a {@link Kind#NAMED} node.
+   *
+   * @param pID The name of the node
+   */
   public Node(String pID) {
-    id = "\"" + pID + "\"";
     lineNumber = -1;
+    kind =
+        switch (pID) {
+          case ENTRY_NAME -> Kind.ENTRY;
+          case EXIT_NAME -> Kind.EXIT;
+          default -> Kind.NAMED;
+        };
+    id = 0;
+    name = pID;
+    hash = 31 + quotedHash(pID);
+  }
+
+  /**
+   * Creates the entry node of a CFG.
+   *
+   * @return A new entry node
+   */
+  public static Node entry() {
+    return new Node(ENTRY_NAME);
+  }
+
+  /**
+   * Creates the exit node of a CFG.
+   *
+   * @return A new exit node
+   */
+  public static Node exit() {
+    return new Node(EXIT_NAME);
+  }
+
+  // The hash codes equal those of the former string ids, the decimal number or the quoted name, so
+  // that hash-based collections of nodes, and with them the outputs, keep their iteration order.
+
+  private static int decimalHash(int pId) {
+    int divisor = 1;
+    while (pId / divisor >= 10) {
+      divisor *= 10;
+    }
+    int hash = 0;
+    for (; divisor > 0; divisor /= 10) {
+      hash = 31 * hash + '0' + pId / divisor % 10;
+    }
+    return hash;
+  }
+
+  private static int quotedHash(String pName) {
+    int hash = '"';
+    for (int i = 0; i < pName.length(); i++) {
+      hash = 31 * hash + pName.charAt(i);
+    }
+    return 31 * hash + '"';
+  }
+
+  private static Kind kindOf(AbstractInsnNode pInstruction) {
+    if (pInstruction instanceof LabelNode) {
+      return Kind.LABEL;
+    } else if (pInstruction instanceof LineNumberNode) {
+      return Kind.LINE;
+    } else if (pInstruction instanceof FrameNode) {
+      return Kind.FRAME;
+    }
+    return Kind.INSN;
+  }
+
+  /**
+   * Provides the kind of the node.
+   *
+   * @return The kind of the node
+   */
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * Provides the id of the node's instruction within its method.
+   *
+   * @return The id, or {@code 0} for nodes without an instruction
+   */
+  public int getNumericId() {
+    return id;
   }
 
   public int getLineNumber() {
@@ -66,16 +181,14 @@ public String prettyPrint() {
     return writer.toString();
   }
 
-  private static String getID(Object pObject) {
-    if (sIds == null) {
-      sIds = new LinkedHashMap<>();
-    }
-
-    return sIds.computeIfAbsent(pObject, k -> Integer.toString(sNextId++));
-  }
-
+  /**
+   * Provides the id for display: the numeric id of an instruction node or the quoted name of a
+   * node without an instruction.
+   *
+   * @return The id as a string
+   */
   public String getID() {
-    return id;
+    return name == null ? Integer.toString(id) : "\"" + name + "\"";
   }
 
   /**
@@ -90,14 +203,14 @@ public AbstractInsnNode getInstruction() {
   @Override
   public String toString() {
     if (instruction == null) {
-      return id;
+      return getID();
     }
     StringBuilder builder = new StringBuilder();
-    if (instruction instanceof LabelNode) {
+    if (kind == Kind.LABEL) {
       builder.append("LABEL");
-    } else if (instruction instanceof LineNumberNode lineNumberNode) {
-      builder.append("LINENUMBER ").append(lineNumberNode.line);
-    } else if (instruction instanceof FrameNode) {
+    } else if (kind == Kind.LINE) {
+      builder.append("LINENUMBER ").append(((LineNumberNode) instruction).line);
+    } else if (kind == Kind.FRAME) {
       builder.append("FRAME");
     } else {
       int opcode = instruction.getOpcode();
@@ -109,14 +222,14 @@ public String toString() {
         }
       }
     }
-    builder.append(getID(instruction));
+    builder.append(id);
     builder.append("  ").append("line number: ").append(lineNumber);
     return "\"" + builder + "\"";
   }
 
   @Override
   public int hashCode() {
-    return 31 + ((id == null) ? 0 : id.hashCode());
+    return hash;
   }
 
   @Override
@@ -129,10 +242,9 @@ public boolean equals(Object pOther) {
     }
 
     Node other = (Node) pOther;
-    if (id == null) {
-      return other.id == null;
-    } else {
-      return id.equals(other.id);
-    }
+    return kind == other.kind
+        && id == other.id
+        && hash == other.hash
+        && (name == null ? other.name == null : name.equals(other.name));
   }
 }
@@ -0,0 +1,62 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.objectweb.asm.tree.AbstractInsnNode;
+
+/**
+ * Assigns the ids of the {@link Node}s of one method.
+ *
+ * <p>Ids are consecutive integers starting at one, handed out in the order in which the
+ * instructions are first requested. Since the CFG extraction visits the instructions of a method
+ * in a fixed order, every CFG built for the same method gets the same ids, no matter which other
+ * methods were analysed before. The allocator only references the instructions of its own method
+ * and is reclaimed together with the analysis that owns it.
+ */
+public final class NodeIdAllocator {
+
+  private final Map<AbstractInsnNode, Integer> ids = new IdentityHashMap<>();
+  private int nextId = 1;
+
+  /**
+   * Provides the id of an instruction, allocating a new one on the first request.
+   *
+   * @param pInstruction The instruction
+   * @return The id of the instruction
+   */
+  public int idOf(AbstractInsnNode pInstruction) {
+    Integer id = ids.get(pInstruction);
+    if (id == null) {
+      id = nextId++;
+      ids.put(pInstruction, id);
+    }
+    return id;
+  }
+
+  /**
+   * Provides the node of an instruction whose id has already been allocated, without allocating.
+   *
+   * <p>The node equals the one that a CFG built with this allocator holds for the instruction,
+   * such that the graph's node can be looked up without scanning its nodes.
+   *
+   * @param pInstruction The instruction
+   * @param pLines The line table of the method
+   * @return The node of the instruction, or an empty optional if no id was allocated for it
+   */
+  public Optional<Node> nodeOf(AbstractInsnNode pInstruction, LineTable pLines) {
+    Integer id = ids.get(pInstruction);
+    return id == null
+        ? Optional.empty()
+        : Optional.of(new Node(pInstruction, pLines.lineOf(pInstruction), id));
+  }
+
+  /**
+   * Provides the number of ids allocated so far.
+   *
+   * @return The number of allocated ids
+   */
+  public int size() {
+    return ids.size();
+  }
+}
@@ -7,15 +7,19 @@
 import org.objectweb.asm.tree.LineNumberNode;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /** Represents a graph structure. */
 public class ProgramGraph {
 
   // A facade class to store graphs as DirectedMultiGraphs using the JGraphT framework.
   private final Graph<Node, DefaultEdge> graph;
+  // Built on demand and dropped on every modification.
+  private Optional<TreeIndex> treeIndex;
+  private FrozenGraph frozen;
+  private Reachability reachability;
 
   public ProgramGraph() {
-    Node.sNextId = 1;
     graph =
         GraphTypeBuilder.<Node, DefaultEdge>directed()
             .allowingSelfLoops(true)
@@ -43,6 +47,9 @@ public Optional<Node> getEntry() {
    */
   public void addNode(Node pNode) {
     graph.addVertex(pNode);
+    treeIndex = null;
+    frozen = null;
+    reachability = null;
   }
 
   /**
@@ -53,6 +60,9 @@ public void addNode(Node pNode) {
    */
   public void addEdge(Node pStartNode, Node pEndNode) {
     graph.addEdge(pStartNode, pEndNode);
+    treeIndex = null;
+    frozen = null;
+    reachability = null;
   }
 
   /**
@@ -86,6 +96,53 @@ public Collection<Node> getSuccessors(Node pNode) {
     return Collections.unmodifiableCollection(successors);
   }
 
+  /**
+   * Performs an action for every immediate successor of a node.
+   *
+   * <p>Visits the same nodes in the same order as {@link #getSuccessors(Node)}, but iterates over
+   * the edges of the graph directly instead of collecting the successors first. Parallel edges are
+   * reported once, via the first edge between the two nodes.
+   *
+   * @param pNode The node whose successors we are visiting
+   * @param pAction The action to perform for each successor
+   */
+  public void forEachSuccessor(Node pNode, Consumer<? super Node> pAction) {
+    if (!graph.containsVertex(pNode)) {
+      return;
+    }
+    Set<DefaultEdge> edges = graph.outgoingEdgesOf(pNode);
+    // A single edge cannot have a parallel one; skip the lookup of the first edge in that case.
+    boolean mayHaveParallelEdges = edges.size() > 1;
+    for (DefaultEdge edge : edges) {
+      Node successor = graph.getEdgeTarget(edge);
+      if (!mayHaveParallelEdges || graph.getEdge(pNode, successor) == edge) {
+        pAction.accept(successor);
+      }
+    }
+  }
+
+  /**
+   * Performs an action for every immediate predecessor of a node.
+   *
+   * <p>Visits the same nodes in the same order as {@link #getPredecessors(Node)}, but iterates
+   * over the edges of the graph directly instead of collecting the predecessors first. Parallel
+   * edges are reported once, via the first edge between the two nodes.
+   *
+   * @param pNode The node whose predecessors we are visiting
+   * @param pAction The action to perform for each predecessor
+   */
+  public void forEachPredecessor(Node pNode, Consumer<? super Node> pAction) {
+    Set<DefaultEdge> edges = graph.incomingEdgesOf(pNode);
+    // A single edge cannot have a parallel one; skip the lookup of the first edge in that case.
+    boolean mayHaveParallelEdges = edges.size() > 1;
+    for (DefaultEdge edge : edges) {
+      Node predecessor = graph.getEdgeSource(edge);
+      if (!mayHaveParallelEdges || graph.getEdge(predecessor, pNode) == edge) {
+        pAction.accept(predecessor);
+      }
+    }
+  }
+
   /**
    * Returns all the nodes in the graph.
    *
@@ -103,7 +160,57 @@ public boolean postDominates(DefaultEdge edge, ProgramGraph pPDT) {
     Node source = graph.getEdgeSource(edge);
     Node target = graph.getEdgeTarget(edge);
 
-    return pPDT.getTransitiveSuccessors(target).contains(source);
+    Optional<TreeIndex> index = pPDT.getTreeIndex();
+    if (index.isPresent()) {
+      return index.get().isProperAncestor(target, source);
+    }
+    return pPDT.isTransitiveSuccessor(target, source);
+  }
+
+  /**
+   * Provides an immutable, int-indexed snapshot of the graph for analyses.
+   *
+   * <p>The snapshot is built on the first request and shared until the graph is modified; later
+   * modifications do not affect snapshots handed out before.
+   *
+   * @return The frozen snapshot of the graph
+   */
+  public FrozenGraph freeze() {
+    if (frozen == null) {
+      frozen = new FrozenGraph(graph);
+    }
+    return frozen;
+  }
+
+  /**
+   * Provides the reachability engine of the graph.
+   *
+   * <p>The engine works on the {@link #freeze() frozen snapshot} and is shared until the graph is
+   * modified.
+   *
+   * @return The reachability engine
+   */
+  public Reachability getReachability() {
+    if (reachability == null) {
+      reachability = new Reachability(freeze());
+    }
+    return reachability;
+  }
+
+  /**
+   * Provides an index for constant-time ancestor and least-common-ancestor queries.
+   *
+   * <p>The index is only available if the graph is a tree or a forest, i.e., every node has at
+   * most one predecessor and every node is reachable from a node without predecessors. It is built
+   * on the first request and reused until the graph is modified.
+   *
+   * @return The tree index, or an empty optional if the graph is not a forest
+   */
+  public Optional<TreeIndex> getTreeIndex() {
+    if (treeIndex == null) {
+      treeIndex = TreeIndex.of(this);
+    }
+    return treeIndex;
   }
 
   public Node getEdgeSource(DefaultEdge edge) {
@@ -137,9 +244,10 @@ public String toString() {
     StringBuilder sb = new StringBuilder();
     sb.append("digraph ProgramGraph {\n");
     for (Node node : getNodes()) {
-      for (Node successor : getSuccessors(node)) {
-        sb.append(node.toString()).append("->").append(successor.toString()).append("\n");
-      }
+      forEachSuccessor(
+          node,
+          successor ->
+              sb.append(node.toString()).append("->").append(successor.toString()).append("\n"));
     }
     sb.append("}");
     return sb.toString();
@@ -178,29 +286,31 @@ public static ProgramGraph fromString(String input) {
     return graph;
   }
 
+  /**
+   * Provides the transitive predecessors of a node, stopping at an ancestor.
+   *
+   * <p>See {@link Reachability#transitivePredecessors(int, int)} for how the ancestor bounds the
+   * search.
+   *
+   * @param pNode The {@link Node} whose transitive predecessors we are searching for
+   * @param pAncestor The ancestor at which the search stops
+   * @return The transitive predecessors in the order of a depth-first search
+   */
   public Collection<Node> getTransitivePredecessorsUntilAncestor(Node pNode, Node pAncestor) {
-    return transitivePredecessorsUntilAncestor(pNode, pAncestor, new LinkedHashSet<>());
+    Reachability engine = getReachability();
+    engine.transitivePredecessors(ordinalOf(pNode), engine.graph().ordinalOf(pAncestor));
+    return engine.toNodes();
   }
 
+  /**
+   * Provides the transitive predecessors of a node, stopping at the entry node.
+   *
+   * @param pNode The {@link Node} whose transitive predecessors we are searching for
+   * @return The transitive predecessors in the order of a depth-first search
+   */
   public Collection<Node> getTransitivePredecessors(Node pNode) {
     Node entry = getEntry().orElseThrow();
-    return transitivePredecessorsUntilAncestor(pNode, entry, new LinkedHashSet<>());
-  }
-
-  private Collection<Node> transitivePredecessorsUntilAncestor(Node pNode, Node pAncestor, Set<Node> pDoneSet) {
-    Collection<Node> predecessors = new LinkedHashSet<>();
-    for (Node node : getPredecessors(pNode)) {
-      if (!pDoneSet.contains(node)) {
-        predecessors.add(node);
-        pDoneSet.add(node);
-
-        if (node.equals(pAncestor)) {
-          return predecessors;
-        }
-        predecessors.addAll(transitivePredecessorsUntilAncestor(node, pAncestor, pDoneSet));
-      }
-    }
-    return predecessors;
+    return getTransitivePredecessorsUntilAncestor(pNode, entry);
   }
 
   /**
@@ -213,19 +323,28 @@ private Collection<Node> transitivePredecessorsUntilAncestor(Node pNode, Node pA
    * @return A collection of {@link Node}s that are transitive successors of the given node
    */
   public Collection<Node> getTransitiveSuccessors(Node pNode) {
-    return transitiveSuccessors(pNode, new LinkedHashSet<>());
+    Reachability engine = getReachability();
+    int node = engine.graph().ordinalOf(pNode);
+    if (node < 0) {
+      return new LinkedHashSet<>();
+    }
+    engine.transitiveSuccessors(node);
+    return engine.toNodes();
   }
 
-  private Collection<Node> transitiveSuccessors(Node pNode, Set<Node> pDoneSet) {
-    Collection<Node> successors = new LinkedHashSet<>();
-    for (Node node : getSuccessors(pNode)) {
-      if (!pDoneSet.contains(node)) {
-        successors.add(node);
-        pDoneSet.add(node);
-        successors.addAll(transitiveSuccessors(node, pDoneSet));
-      }
+  private boolean isTransitiveSuccessor(Node pNode, Node pSuccessor) {
+    Reachability engine = getReachability();
+    int node = engine.graph().ordinalOf(pNode);
+    int successor = engine.graph().ordinalOf(pSuccessor);
+    return node >= 0 && successor >= 0 && engine.transitiveSuccessors(node).get(successor);
+  }
+
+  private int ordinalOf(Node pNode) {
+    int node = freeze().ordinalOf(pNode);
+    if (node < 0) {
+      throw new IllegalArgumentException("no such vertex in graph: " + pNode);
     }
-    return successors;
+    return node;
   }
 
   /**
@@ -243,13 +362,14 @@ public Collection<Node> getSuccessorsUntilNextLineNumber(Node pNode) {
 
     while (!waitList.isEmpty()) {
       Node current = waitList.poll();
-      for (Node successor : getSuccessors(current)) {
-        if (successor.getInstruction() instanceof LineNumberNode) {
-          continue;
-        }
-        successors.add(successor);
-        waitList.offer(successor);
-      }
+      forEachSuccessor(
+          current,
+          successor -> {
+            // Nodes already found have been queued before; queueing them again adds nothing new.
+            if (successor.getKind() != Node.Kind.LINE && successors.add(successor)) {
+              waitList.offer(successor);
+            }
+          });
     }
 
     return successors;
@@ -260,12 +380,19 @@ public Collection<Node> getSuccessorsUntilNextLineNumber(Node pNode) {
    * both nodes.
    *
    * <p><em>Important:</em> This method assumes that the graph is a directed acyclic graph (DAG).
+   * If the graph is a tree, the answer is taken from its {@link TreeIndex} in constant time.
    *
    * @param pFirstNode A {@link Node}
    * @param pSecondNode A {@link Node}
    * @return The node that is the least common ancestor of the two parameter nodes
    */
   public Node getLeastCommonAncestor(Node pFirstNode, Node pSecondNode) {
+    Optional<Node> indexed =
+        getTreeIndex().flatMap(index -> index.getLeastCommonAncestor(pFirstNode, pSecondNode));
+    if (indexed.isPresent()) {
+      return indexed.get();
+    }
+
     @Var Node current = pFirstNode;
     while (!containsTransitiveSuccessors(current, pFirstNode, pSecondNode)) {
       current = getPredecessors(current).iterator().next();
@@ -274,8 +401,17 @@ public Node getLeastCommonAncestor(Node pFirstNode, Node pSecondNode) {
   }
 
   private boolean containsTransitiveSuccessors(Node pStartNode, Node pFirstNode, Node pSecondNode) {
-    Collection<Node> transitiveSuccessors = getTransitiveSuccessors(pStartNode);
-    transitiveSuccessors.add(pStartNode);
-    return transitiveSuccessors.contains(pFirstNode) && transitiveSuccessors.contains(pSecondNode);
+    FrozenGraph frozenGraph = freeze();
+    int start = frozenGraph.ordinalOf(pStartNode);
+    if (start < 0) {
+      return pStartNode.equals(pFirstNode) && pStartNode.equals(pSecondNode);
+    }
+    BitSet reached = getReachability().transitiveSuccessors(start);
+    int first = frozenGraph.ordinalOf(pFirstNode);
+    int second = frozenGraph.ordinalOf(pSecondNode);
+    return first >= 0
+        && second >= 0
+        && (first == start || reached.get(first))
+        && (second == start || reached.get(second));
   }
 }
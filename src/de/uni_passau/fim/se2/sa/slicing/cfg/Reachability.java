@@ -0,0 +1,135 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Computes transitive successors and predecessors on a {@link FrozenGraph} without recursion.
+ *
+ * <p>The depth-first search keeps its frames on an explicit stack and marks the visited nodes in a
+ * bit set over the node ordinals. Stack, bit set, and the list of visited nodes are allocated once
+ * per graph and reused by every query, hence a query never copies intermediate sets and its depth
+ * is not bounded by the thread's stack size. The results of a query are valid until the next query
+ * on the same instance.
+ */
+public final class Reachability {
+
+  private final FrozenGraph graph;
+  private final BitSet visited;
+  /** The visited nodes in the order of their discovery. */
+  private final int[] order;
+  private int count;
+  private final int[] stackNodes;
+  /** The position in the neighbour row of the frame's node from which the search continues. */
+  private final int[] stackPositions;
+
+  /**
+   * Creates the engine for a graph.
+   *
+   * @param pGraph The graph to search in
+   */
+  public Reachability(FrozenGraph pGraph) {
+    graph = pGraph;
+    visited = new BitSet(pGraph.size());
+    order = new int[pGraph.size()];
+    stackNodes = new int[pGraph.size() + 1];
+    stackPositions = new int[pGraph.size() + 1];
+  }
+
+  /**
+   * Provides the graph this engine searches in.
+   *
+   * @return The graph
+   */
+  public FrozenGraph graph() {
+    return graph;
+  }
+
+  /**
+   * Marks all nodes that can be reached from a node by following at least one edge.
+   *
+   * <p>The node itself is only marked if it lies on a cycle.
+   *
+   * @param pNode The ordinal of the start node
+   * @return The marked ordinals; the set is shared and overwritten by the next query
+   */
+  public BitSet transitiveSuccessors(int pNode) {
+    search(pNode, -1, true);
+    return visited;
+  }
+
+  /**
+   * Marks all nodes from which a node can be reached, stopping at an ancestor.
+   *
+   * <p>The search walks the predecessors depth-first. Once it meets the ancestor, the ancestor is
+   * marked and the remaining predecessors of the node the ancestor was found from are skipped;
+   * other branches of the search continue. Without an ancestor, all transitive predecessors are
+   * marked.
+   *
+   * @param pNode The ordinal of the start node
+   * @param pAncestor The ordinal of the ancestor, or {@code -1} for none
+   * @return The marked ordinals; the set is shared and overwritten by the next query
+   */
+  public BitSet transitivePredecessors(int pNode, int pAncestor) {
+    search(pNode, pAncestor, false);
+    return visited;
+  }
+
+  /**
+   * Provides the number of nodes marked by the last query.
+   *
+   * @return The number of marked nodes
+   */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Provides the nodes marked by the last query in the order of their discovery.
+   *
+   * @return A new set of the marked nodes
+   */
+  public Set<Node> toNodes() {
+    Set<Node> nodes = new LinkedHashSet<>();
+    for (int i = 0; i < count; i++) {
+      nodes.add(graph.node(order[i]));
+    }
+    return nodes;
+  }
+
+  private void search(int pNode, int pStop, boolean pForward) {
+    visited.clear();
+    count = 0;
+    int top = 0;
+    stackNodes[top] = pNode;
+    stackPositions[top] = pForward ? graph.successorOffset(pNode) : graph.predecessorOffset(pNode);
+    top++;
+
+    while (top > 0) {
+      int node = stackNodes[top - 1];
+      int end = pForward ? graph.successorOffset(node + 1) : graph.predecessorOffset(node + 1);
+      int position = stackPositions[top - 1];
+      if (position == end) {
+        top--;
+        continue;
+      }
+      stackPositions[top - 1] = position + 1;
+
+      int next = pForward ? graph.successorTarget(position) : graph.predecessorSource(position);
+      if (visited.get(next)) {
+        continue;
+      }
+      visited.set(next);
+      order[count++] = next;
+      if (next == pStop) {
+        top--; // Skip the remaining neighbours of the node the stop node was found from.
+      } else {
+        stackNodes[top] = next;
+        stackPositions[top] =
+            pForward ? graph.successorOffset(next) : graph.predecessorOffset(next);
+        top++;
+      }
+    }
+  }
+}
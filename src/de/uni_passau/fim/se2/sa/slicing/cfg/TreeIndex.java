@@ -0,0 +1,219 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers ancestor and least-common-ancestor queries on a {@link ProgramGraph} that is a tree or
+ * a forest, such as a post-dominator tree.
+ *
+ * <p>The index numbers the nodes in preorder and postorder of a depth-first search from every
+ * root: a node a is an ancestor of a node d if and only if {@code pre[a] <= pre[d]} and {@code
+ * post[d] <= post[a]}. For the least common ancestor, a sparse table over the preorder holds the
+ * shallowest node of every range of length {@code 2^k}. For two nodes u and v with {@code pre[u] <
+ * pre[v]} that are not ancestors of each other, the shallowest node in the preorder range {@code
+ * (pre[u], pre[v]]} is a child of their least common ancestor. Both queries therefore take
+ * constant time after O(n log n) preprocessing.
+ */
+public final class TreeIndex {
+
+  private final Map<Node, Integer> ordinals;
+  private final Node[] nodes;
+  private final int[] parent;
+  private final int[] depth;
+  private final int[] pre;
+  private final int[] post;
+  /** The ordinal of the node at every preorder position. */
+  private final int[] byPreorder;
+  /** {@code sparse[k][i]} is the shallowest node of the preorder positions {@code [i, i + 2^k)}. */
+  private final int[][] sparse;
+
+  private TreeIndex(Map<Node, Integer> pOrdinals, Node[] pNodes, int[] pParent) {
+    ordinals = pOrdinals;
+    nodes = pNodes;
+    parent = pParent;
+    int size = pNodes.length;
+    depth = new int[size];
+    pre = new int[size];
+    post = new int[size];
+    byPreorder = new int[size];
+    number();
+    sparse = buildSparseTable();
+  }
+
+  /**
+   * Builds the index for a graph, provided that the graph is a forest.
+   *
+   * @param pGraph The graph
+   * @return The index, or an empty optional if a node has more than one predecessor or lies on a
+   *     cycle
+   */
+  static Optional<TreeIndex> of(ProgramGraph pGraph) {
+    Node[] nodes = pGraph.getNodes().toArray(new Node[0]);
+    Map<Node, Integer> ordinals = new HashMap<>();
+    for (int n = 0; n < nodes.length; n++) {
+      ordinals.put(nodes[n], n);
+    }
+    int[] parent = new int[nodes.length];
+    for (int n = 0; n < nodes.length; n++) {
+      var predecessors = pGraph.getPredecessors(nodes[n]);
+      if (predecessors.size() > 1) {
+        return Optional.empty();
+      }
+      parent[n] = predecessors.isEmpty() ? -1 : ordinals.get(predecessors.iterator().next());
+    }
+
+    TreeIndex index = new TreeIndex(ordinals, nodes, parent);
+    for (int n = 0; n < nodes.length; n++) {
+      if (index.pre[n] < 0) {
+        return Optional.empty(); // The node lies on a cycle without a root.
+      }
+    }
+    return Optional.of(index);
+  }
+
+  /**
+   * Checks whether a node is an ancestor of another node or the node itself.
+   *
+   * @param pAncestor The potential ancestor
+   * @param pDescendant The potential descendant
+   * @return {@code true} if both nodes are in the tree and the first is an ancestor of the second
+   */
+  public boolean isAncestor(Node pAncestor, Node pDescendant) {
+    Integer ancestor = ordinals.get(pAncestor);
+    Integer descendant = ordinals.get(pDescendant);
+    return ancestor != null && descendant != null && isAncestor(ancestor, descendant);
+  }
+
+  /**
+   * Checks whether a node is an ancestor of another, different node.
+   *
+   * @param pAncestor The potential ancestor
+   * @param pDescendant The potential descendant
+   * @return {@code true} if both nodes are in the tree and the first is a proper ancestor of the
+   *     second
+   */
+  public boolean isProperAncestor(Node pAncestor, Node pDescendant) {
+    return !pAncestor.equals(pDescendant) && isAncestor(pAncestor, pDescendant);
+  }
+
+  /**
+   * Provides the least common ancestor of two nodes.
+   *
+   * <p>A node is its own ancestor, hence the least common ancestor of a node and one of its
+   * descendants is the node itself.
+   *
+   * @param pFirstNode A {@link Node}
+   * @param pSecondNode A {@link Node}
+   * @return The least common ancestor, or an empty optional if a node is not in the tree or the
+   *     nodes are in different trees of the forest
+   */
+  public Optional<Node> getLeastCommonAncestor(Node pFirstNode, Node pSecondNode) {
+    Integer first = ordinals.get(pFirstNode);
+    Integer second = ordinals.get(pSecondNode);
+    if (first == null || second == null) {
+      return Optional.empty();
+    }
+    if (isAncestor(first, second)) {
+      return Optional.of(nodes[first]);
+    }
+    if (isAncestor(second, first)) {
+      return Optional.of(nodes[second]);
+    }
+
+    int from = Math.min(pre[first], pre[second]) + 1;
+    int to = Math.max(pre[first], pre[second]);
+    int k = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+    int candidate = shallower(sparse[k][from], sparse[k][to - (1 << k) + 1]);
+    int ancestor = parent[candidate];
+    return ancestor < 0 ? Optional.empty() : Optional.of(nodes[ancestor]);
+  }
+
+  /**
+   * Provides the depth of a node, the roots having depth zero.
+   *
+   * @param pNode The node
+   * @return The depth, or {@code -1} if the node is not in the tree
+   */
+  public int getDepth(Node pNode) {
+    Integer node = ordinals.get(pNode);
+    return node == null ? -1 : depth[node];
+  }
+
+  private boolean isAncestor(int pAncestor, int pDescendant) {
+    return pre[pAncestor] <= pre[pDescendant] && post[pDescendant] <= post[pAncestor];
+  }
+
+  private int shallower(int pFirst, int pSecond) {
+    return depth[pFirst] <= depth[pSecond] ? pFirst : pSecond;
+  }
+
+  /** Numbers the nodes in preorder and postorder with an iterative depth-first search. */
+  private void number() {
+    int size = nodes.length;
+    int[] childCounts = new int[size + 1];
+    for (int n = 0; n < size; n++) {
+      if (parent[n] >= 0) {
+        childCounts[parent[n] + 1]++;
+      }
+    }
+    int[] childStart = new int[size + 1];
+    for (int n = 0; n < size; n++) {
+      childStart[n + 1] = childStart[n] + childCounts[n + 1];
+    }
+    int[] children = new int[childStart[size]];
+    int[] nextChild = new int[size];
+    System.arraycopy(childStart, 0, nextChild, 0, size);
+    for (int n = 0; n < size; n++) {
+      if (parent[n] >= 0) {
+        children[nextChild[parent[n]]++] = n;
+      }
+    }
+    System.arraycopy(childStart, 0, nextChild, 0, size);
+
+    Arrays.fill(pre, -1);
+    int preCounter = 0;
+    int postCounter = 0;
+    int[] stack = new int[size];
+    for (int root = 0; root < size; root++) {
+      if (parent[root] >= 0) {
+        continue;
+      }
+      int top = 0;
+      stack[top++] = root;
+      byPreorder[preCounter] = root;
+      pre[root] = preCounter++;
+      while (top > 0) {
+        int n = stack[top - 1];
+        if (nextChild[n] < childStart[n + 1]) {
+          int child = children[nextChild[n]++];
+          depth[child] = depth[n] + 1;
+          byPreorder[preCounter] = child;
+          pre[child] = preCounter++;
+          stack[top++] = child;
+        } else {
+          post[n] = postCounter++;
+          top--;
+        }
+      }
+    }
+  }
+
+  private int[][] buildSparseTable() {
+    int size = nodes.length;
+    int levels = 32 - Integer.numberOfLeadingZeros(Math.max(size, 1));
+    int[][] table = new int[levels][];
+    table[0] = byPreorder.clone();
+    for (int k = 1; k < levels; k++) {
+      int half = 1 << (k - 1);
+      int length = Math.max(0, size - (1 << k) + 1);
+      table[k] = new int[length];
+      for (int i = 0; i < length; i++) {
+        table[k][i] = shallower(table[k - 1][i], table[k - 1][i + half]);
+      }
+    }
+    return table;
+  }
+}
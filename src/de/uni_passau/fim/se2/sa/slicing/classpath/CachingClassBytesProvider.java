@@ -0,0 +1,79 @@
+package de.uni_passau.fim.se2.sa.slicing.classpath;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Keeps the class files of another provider in memory, such that a class that is sliced again is
+ * not read from its directory or archive again.
+ *
+ * <p>The cache is bounded by the total size of the cached class files and evicts the least
+ * recently used ones first. Classes the delegate does not know are not cached.
+ */
+public final class CachingClassBytesProvider implements ClassBytesProvider {
+
+  private final ClassBytesProvider delegate;
+  private final Cache<String, byte[]> cache;
+
+  /**
+   * Creates a caching provider.
+   *
+   * @param pDelegate The provider to read uncached classes from
+   * @param pMaximumBytes The maximum total size of the cached class files
+   */
+  public CachingClassBytesProvider(ClassBytesProvider pDelegate, long pMaximumBytes) {
+    Preconditions.checkArgument(pMaximumBytes > 0, "The cache must hold at least one byte");
+    delegate = pDelegate;
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(pMaximumBytes)
+            .<String, byte[]>weigher((className, classBytes) -> classBytes.length)
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  public Optional<byte[]> classBytes(String pClassName) throws IOException {
+    byte[] cached = cache.getIfPresent(pClassName);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<byte[]> classBytes = delegate.classBytes(pClassName);
+    classBytes.ifPresent(bytes -> cache.put(pClassName, bytes));
+    return classBytes;
+  }
+
+  /**
+   * Provides the hit and miss counts of the cache.
+   *
+   * @return The statistics of the cache
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  /**
+   * Provides the total size of the cached class files.
+   *
+   * @return The number of cached bytes
+   */
+  public long cachedBytes() {
+    return cache.asMap().values().stream().mapToLong(classBytes -> classBytes.length).sum();
+  }
+
+  @Override
+  public void close() throws IOException {
+    cache.invalidateAll();
+    delegate.close();
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+}
@@ -0,0 +1,102 @@
+package de.uni_passau.fim.se2.sa.slicing.classpath;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Provides the raw bytes of class files by the fully qualified names of their classes.
+ *
+ * <p>Providers are safe for use by several threads at once. The returned arrays may be shared
+ * between callers and must not be modified.
+ */
+public interface ClassBytesProvider extends Closeable {
+
+  /**
+   * Looks up the class file of a class.
+   *
+   * @param pClassName The fully qualified name of the class, e.g., {@code java.lang.String}
+   * @return The contents of the class file, or an empty optional if the provider does not know
+   *     the class
+   * @throws IOException In case the class file exists but cannot be read
+   */
+  Optional<byte[]> classBytes(String pClassName) throws IOException;
+
+  /**
+   * Releases the resources held by the provider, such as open archives.
+   *
+   * @throws IOException In case releasing a resource fails
+   */
+  @Override
+  default void close() throws IOException {}
+
+  /**
+   * Provides the class files visible to the system class loader, which is where {@link
+   * org.objectweb.asm.ClassReader#ClassReader(String)} looks them up.
+   *
+   * @return The provider of the slicer's own class path
+   */
+  static ClassBytesProvider systemClassPath() {
+    return SystemClassPathProvider.INSTANCE;
+  }
+
+  /**
+   * Creates a provider for a class path given as entries separated by {@link
+   * File#pathSeparator}. An entry is a directory of class files, a JAR file, or {@code jrt:/} for
+   * the modules of the running JDK. Earlier entries take precedence.
+   *
+   * @param pClassPath The class path
+   * @return The provider of the class path
+   * @throws IOException In case an entry does not exist or cannot be opened
+   */
+  static ClassBytesProvider ofClassPath(String pClassPath) throws IOException {
+    List<ClassBytesProvider> providers = new ArrayList<>();
+    try {
+      String[] entries = pClassPath.split(File.pathSeparator);
+      for (int i = 0; i < entries.length; i++) {
+        String entry = entries[i];
+        if (entry.isEmpty()) {
+          continue;
+        }
+        // On Unix, the path separator splits jrt:/ into two entries.
+        if ((entry + File.pathSeparator + (i + 1 < entries.length ? entries[i + 1] : ""))
+            .equals(JrtClassBytesProvider.ENTRY)) {
+          i++;
+          entry = JrtClassBytesProvider.ENTRY;
+        }
+        if (JrtClassBytesProvider.ENTRY.equals(entry)) {
+          providers.add(new JrtClassBytesProvider());
+          continue;
+        }
+        Path path = Path.of(entry);
+        if (Files.isDirectory(path)) {
+          providers.add(new DirectoryClassBytesProvider(path));
+        } else if (Files.isRegularFile(path)) {
+          providers.add(new JarClassBytesProvider(path));
+        } else {
+          throw new IOException("Class path entry does not exist: " + entry);
+        }
+      }
+    } catch (IOException e) {
+      new CompositeClassBytesProvider(providers).close();
+      throw e;
+    }
+    return new CompositeClassBytesProvider(providers);
+  }
+
+  /**
+   * Converts a fully qualified class name into the path of its class file relative to a class
+   * path entry.
+   *
+   * @param pClassName The fully qualified name of the class
+   * @return The relative path of the class file, separated by slashes
+   */
+  static String classFileOf(String pClassName) {
+    return pClassName.replace('.', '/') + ".class";
+  }
+}
@@ -0,0 +1,56 @@
+package de.uni_passau.fim.se2.sa.slicing.classpath;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/** Looks classes up in several providers in turn; the first provider that knows a class wins. */
+public final class CompositeClassBytesProvider implements ClassBytesProvider {
+
+  private final List<ClassBytesProvider> providers;
+
+  /**
+   * Creates a provider that delegates to other providers.
+   *
+   * @param pProviders The providers in the order of their precedence
+   */
+  public CompositeClassBytesProvider(List<? extends ClassBytesProvider> pProviders) {
+    providers = List.copyOf(pProviders);
+  }
+
+  @Override
+  public Optional<byte[]> classBytes(String pClassName) throws IOException {
+    for (ClassBytesProvider provider : providers) {
+      Optional<byte[]> classBytes = provider.classBytes(pClassName);
+      if (classBytes.isPresent()) {
+        return classBytes;
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** Closes all providers, even if closing one of them fails. */
+  @Override
+  public void close() throws IOException {
+    IOException failure = null;
+    for (ClassBytesProvider provider : providers) {
+      try {
+        provider.close();
+      } catch (IOException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return providers.toString();
+  }
+}
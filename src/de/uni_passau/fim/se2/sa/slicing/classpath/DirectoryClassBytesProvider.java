@@ -0,0 +1,41 @@
+package de.uni_passau.fim.se2.sa.slicing.classpath;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/** Provides the class files below a directory, laid out by package as a compiler writes them. */
+public final class DirectoryClassBytesProvider implements ClassBytesProvider {
+
+  private final Path directory;
+
+  /**
+   * Creates a provider for a directory of class files.
+   *
+   * @param pDirectory The root directory, e.g., {@code target/classes}
+   */
+  public DirectoryClassBytesProvider(Path pDirectory) {
+    Preconditions.checkArgument(
+        Files.isDirectory(pDirectory), "%s is not a directory", pDirectory);
+    directory = pDirectory;
+  }
+
+  @Override
+  public Optional<byte[]> classBytes(String pClassName) throws IOException {
+    try {
+      return Optional.of(
+          Files.readAllBytes(directory.resolve(ClassBytesProvider.classFileOf(pClassName))));
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return directory.toString();
+  }
+}
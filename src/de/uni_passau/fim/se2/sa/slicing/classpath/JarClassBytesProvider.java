@@ -0,0 +1,52 @@
+package de.uni_passau.fim.se2.sa.slicing.classpath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Provides the class files of a JAR file.
+ *
+ * <p>The archive is opened once. Its central directory is read on opening, and every class file is
+ * read by random access to its entry, so looking up a class does not scan the archive.
+ */
+public final class JarClassBytesProvider implements ClassBytesProvider {
+
+  private final Path jarFile;
+  private final ZipFile zipFile;
+
+  /**
+   * Opens a JAR file.
+   *
+   * @param pJarFile The path of the JAR file
+   * @throws IOException In case the file is no readable archive
+   */
+  public JarClassBytesProvider(Path pJarFile) throws IOException {
+    jarFile = pJarFile;
+    zipFile = new ZipFile(pJarFile.toFile());
+  }
+
+  @Override
+  public Optional<byte[]> classBytes(String pClassName) throws IOException {
+    ZipEntry entry = zipFile.getEntry(ClassBytesProvider.classFileOf(pClassName));
+    if (entry == null) {
+      return Optional.empty();
+    }
+    try (InputStream stream = zipFile.getInputStream(entry)) {
+      return Optional.of(stream.readAllBytes());
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    zipFile.close();
+  }
+
+  @Override
+  public String toString() {
+    return jarFile.toString();
+  }
+}
@@ -0,0 +1,59 @@
+package de.uni_passau.fim.se2.sa.slicing.classpath;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Provides the class files of the modules of the running JDK through the {@code jrt:/} file
+ * system.
+ *
+ * <p>The file system lists the modules that contain a package under {@code /packages/<package>},
+ * so a class is found without searching all modules.
+ */
+public final class JrtClassBytesProvider implements ClassBytesProvider {
+
+  /** The class path entry that denotes the modules of the running JDK. */
+  static final String ENTRY = "jrt:/";
+
+  private final FileSystem fileSystem;
+
+  /** Creates a provider for the modules of the running JDK. */
+  public JrtClassBytesProvider() {
+    fileSystem = FileSystems.getFileSystem(URI.create(ENTRY));
+  }
+
+  @Override
+  public Optional<byte[]> classBytes(String pClassName) throws IOException {
+    int separator = pClassName.lastIndexOf('.');
+    if (separator < 0) {
+      return Optional.empty();
+    }
+    String classFile = ClassBytesProvider.classFileOf(pClassName);
+    try (DirectoryStream<Path> modules =
+        Files.newDirectoryStream(
+            fileSystem.getPath("/packages", pClassName.substring(0, separator)))) {
+      for (Path module : modules) {
+        Path path = fileSystem.getPath("/modules", module.getFileName().toString(), classFile);
+        if (Files.isRegularFile(path)) {
+          return Optional.of(Files.readAllBytes(path));
+        }
+      }
+    } catch (NoSuchFileException | NotDirectoryException e) {
+      // No module of the JDK contains the package.
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public String toString() {
+    return ENTRY;
+  }
+}
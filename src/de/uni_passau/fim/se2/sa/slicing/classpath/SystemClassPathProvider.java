@@ -0,0 +1,26 @@
+package de.uni_passau.fim.se2.sa.slicing.classpath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/** Provides the class files visible to the system class loader. */
+final class SystemClassPathProvider implements ClassBytesProvider {
+
+  static final SystemClassPathProvider INSTANCE = new SystemClassPathProvider();
+
+  private SystemClassPathProvider() {}
+
+  @Override
+  public Optional<byte[]> classBytes(String pClassName) throws IOException {
+    try (InputStream stream =
+        ClassLoader.getSystemResourceAsStream(ClassBytesProvider.classFileOf(pClassName))) {
+      return stream == null ? Optional.empty() : Optional.of(stream.readAllBytes());
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "system class path";
+  }
+}
@@ -0,0 +1,297 @@
+package de.uni_passau.fim.se2.sa.slicing.daemon;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import de.uni_passau.fim.se2.sa.slicing.MethodSlicer;
+import de.uni_passau.fim.se2.sa.slicing.ParsedClass;
+import de.uni_passau.fim.se2.sa.slicing.SlicingCriterion;
+import de.uni_passau.fim.se2.sa.slicing.batch.BatchSlicer;
+import de.uni_passau.fim.se2.sa.slicing.batch.JsonLines;
+import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+import de.uni_passau.fim.se2.sa.slicing.classpath.ClassBytesProvider;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisOptions;
+import de.uni_passau.fim.se2.sa.slicing.graph.DefUseCache;
+import de.uni_passau.fim.se2.sa.slicing.output.ByteCodeExtractor;
+import de.uni_passau.fim.se2.sa.slicing.output.SourceLineExtractor;
+import de.uni_passau.fim.se2.sa.slicing.output.XMLFileExtractor;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves slicing requests from a local socket and keeps the parsed methods and their
+ * program-dependence graphs warm between requests.
+ *
+ * <p>The daemon listens on a Unix domain socket or on a port of the loopback interface and handles
+ * every connection on its own virtual thread. A connection carries any number of requests, one
+ * JSON object per line, whose members mirror the long options of the command line: {@code class},
+ * {@code method} in {@code <methodname>:<descriptor>} syntax, {@code variablename}, {@code
+ * linenumber}, and optionally {@code xmlfile}, {@code sourcefile}, and {@code id}. Every request is
+ * answered by one line holding the {@code id}, a {@code status} of {@code ok} or {@code error},
+ * the {@code latencyMicros} of answering the request, whether the graph of the method was already
+ * {@code warm}, and either the {@code slice} or an error {@code message}. The request {@code
+ * {"command":"shutdown"}} stops the daemon.
+ */
+public final class SlicingDaemon implements Closeable {
+
+  private final ServerSocketChannel serverChannel;
+  private final SocketAddress address;
+  private final AnalysisOptions options;
+  private final ClassBytesProvider classBytesProvider;
+  private final DefUseCache defUseCache = new DefUseCache();
+  private final Cache<String, MethodSlicer> methods;
+
+  private SlicingDaemon(
+      ServerSocketChannel pServerChannel,
+      AnalysisOptions pOptions,
+      ClassBytesProvider pClassBytesProvider,
+      int pMaximumMethods)
+      throws IOException {
+    serverChannel = pServerChannel;
+    address = pServerChannel.getLocalAddress();
+    options = pOptions;
+    classBytesProvider = pClassBytesProvider;
+    methods = CacheBuilder.newBuilder().maximumSize(pMaximumMethods).build();
+  }
+
+  /**
+   * Binds a daemon to a local address.
+   *
+   * @param pAddress A {@link UnixDomainSocketAddress}, or an {@link InetSocketAddress} whose port
+   *     is bound on the loopback interface; port 0 picks a free port
+   * @param pOptions The algorithms to use for the analyses
+   * @param pMaximumMethods The number of methods whose graphs are kept warm
+   * @return The bound daemon, which does not accept connections before {@link #serve()}
+   * @throws IOException In case the address cannot be bound
+   */
+  public static SlicingDaemon bind(
+      SocketAddress pAddress, AnalysisOptions pOptions, int pMaximumMethods) throws IOException {
+    return bind(pAddress, pOptions, ClassBytesProvider.systemClassPath(), pMaximumMethods);
+  }
+
+  /**
+   * Binds a daemon that reads the classes to slice from a class-bytes provider.
+   *
+   * <p>Every method is parsed on its first request. A {@link
+   * de.uni_passau.fim.se2.sa.slicing.classpath.CachingClassBytesProvider} therefore saves reading
+   * a class file again for the other methods of its class.
+   *
+   * @param pAddress A {@link UnixDomainSocketAddress}, or an {@link InetSocketAddress} whose port
+   *     is bound on the loopback interface; port 0 picks a free port
+   * @param pOptions The algorithms to use for the analyses
+   * @param pClassBytesProvider The provider of the class files of the sliced classes
+   * @param pMaximumMethods The number of methods whose graphs are kept warm
+   * @return The bound daemon, which does not accept connections before {@link #serve()}
+   * @throws IOException In case the address cannot be bound
+   */
+  public static SlicingDaemon bind(
+      SocketAddress pAddress,
+      AnalysisOptions pOptions,
+      ClassBytesProvider pClassBytesProvider,
+      int pMaximumMethods)
+      throws IOException {
+    Preconditions.checkArgument(pMaximumMethods > 0, "At least one method must be kept warm");
+    ServerSocketChannel channel;
+    if (pAddress instanceof UnixDomainSocketAddress unixAddress) {
+      channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+      channel.bind(unixAddress);
+    } else if (pAddress instanceof InetSocketAddress inetAddress) {
+      channel = ServerSocketChannel.open();
+      channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), inetAddress.getPort()));
+    } else {
+      throw new IllegalArgumentException("Unsupported address " + pAddress);
+    }
+    return new SlicingDaemon(channel, pOptions, pClassBytesProvider, pMaximumMethods);
+  }
+
+  /**
+   * Provides the address the daemon is bound to.
+   *
+   * @return The bound address, which carries the actual port if port 0 was requested
+   */
+  public SocketAddress address() {
+    return address;
+  }
+
+  /**
+   * Accepts connections until the daemon is closed or receives a shutdown request, and then waits
+   * for the open connections to end.
+   *
+   * @throws IOException In case accepting a connection fails for another reason than closing
+   */
+  public void serve() throws IOException {
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      while (true) {
+        SocketChannel connection;
+        try {
+          connection = serverChannel.accept();
+        } catch (ClosedChannelException e) {
+          return;
+        }
+        executor.execute(() -> handle(connection));
+      }
+    }
+  }
+
+  /** Stops accepting connections and removes the socket file of a Unix domain socket. */
+  @Override
+  public void close() throws IOException {
+    serverChannel.close();
+    if (address instanceof UnixDomainSocketAddress unixAddress) {
+      Files.deleteIfExists(unixAddress.getPath());
+    }
+  }
+
+  private void handle(SocketChannel pConnection) {
+    try (SocketChannel connection = pConnection;
+        BufferedReader requests =
+            new BufferedReader(Channels.newReader(connection, StandardCharsets.UTF_8));
+        Writer responses = Channels.newWriter(connection, StandardCharsets.UTF_8)) {
+      int lineNumber = 0;
+      for (String line = requests.readLine(); line != null; line = requests.readLine()) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        Map<String, Object> request;
+        try {
+          request = JsonLines.parse(line);
+        } catch (IllegalArgumentException e) {
+          respond(responses, failure(String.valueOf(lineNumber), 0L, e.getMessage()));
+          continue;
+        }
+        if ("shutdown".equals(request.get("command"))) {
+          respond(responses, Map.of("status", "ok"));
+          close();
+          return;
+        }
+        respond(responses, answer(request, String.valueOf(lineNumber)));
+      }
+    } catch (IOException e) {
+      // The client has gone away; its requests can no longer be answered.
+    }
+  }
+
+  /**
+   * Answers one slicing request.
+   *
+   * @param pRequest The members of the request
+   * @param pDefaultId The id to report if the request has none
+   * @return The members of the response
+   */
+  Map<String, Object> answer(Map<String, Object> pRequest, String pDefaultId) {
+    long start = System.nanoTime();
+    String id = pDefaultId;
+    try {
+      SlicingCriterion criterion = BatchSlicer.criterionOf(pRequest, pDefaultId);
+      id = criterion.id();
+      String methodKey =
+          criterion.className() + '.' + criterion.methodName() + criterion.methodDescriptor();
+      MethodSlicer slicer = methods.getIfPresent(methodKey);
+      boolean warm = slicer != null;
+      if (!warm) {
+        slicer = methods.get(methodKey, () -> slicerOf(criterion));
+      }
+      Set<Node> slice = slicer.slice(criterion.lineNumber(), criterion.variableName());
+      String rendered = render(pRequest, slicer, slice);
+
+      Map<String, Object> response = new LinkedHashMap<>();
+      response.put("id", id);
+      response.put("status", "ok");
+      response.put("latencyMicros", (System.nanoTime() - start) / 1000L);
+      response.put("warm", warm);
+      response.put("slice", rendered);
+      return response;
+    } catch (ExecutionException | RuntimeException e) {
+      return failure(id, (System.nanoTime() - start) / 1000L, messageOf(e));
+    }
+  }
+
+  private MethodSlicer slicerOf(SlicingCriterion pCriterion) throws Exception {
+    ParsedClass parsedClass =
+        ParsedClass.read(
+            classBytesProvider,
+            pCriterion.className(),
+            Set.of(pCriterion.methodName() + pCriterion.methodDescriptor()));
+    MethodNode methodNode =
+        parsedClass
+            .method(pCriterion.methodName(), pCriterion.methodDescriptor())
+            .orElseThrow(
+                () ->
+                    new IllegalArgumentException(
+                        "Could not find method "
+                            + pCriterion.methodName()
+                            + pCriterion.methodDescriptor()));
+    return MethodSlicer.of(parsedClass, methodNode, defUseCache, options);
+  }
+
+  private static String render(
+      Map<String, Object> pRequest, MethodSlicer pSlicer, Set<Node> pSlice) {
+    Object sourceFile = pRequest.get("sourcefile");
+    if (sourceFile instanceof String path) {
+      try {
+        return new SourceLineExtractor(
+                Path.of(path),
+                pSlicer.parsedClass().localVariableTables(),
+                pSlicer.parsedClass().classNode().name.replace('/', '.'),
+                pSlicer.methodNode(),
+                pSlice)
+            .extract();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not read source file " + path, e);
+      }
+    }
+    if (Boolean.TRUE.equals(pRequest.get("xmlfile"))) {
+      return new XMLFileExtractor(pSlice).extract();
+    }
+    return new ByteCodeExtractor(pSlice).extract();
+  }
+
+  private static Map<String, Object> failure(String pId, long pLatencyMicros, String pMessage) {
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("id", pId);
+    response.put("status", "error");
+    response.put("latencyMicros", pLatencyMicros);
+    response.put("message", pMessage);
+    return response;
+  }
+
+  private static String messageOf(Throwable pThrowable) {
+    Throwable cause = pThrowable;
+    if ((cause instanceof ExecutionException || cause instanceof UncheckedExecutionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+  }
+
+  private static void respond(Writer pResponses, Map<String, ?> pResponse) throws IOException {
+    pResponses.write(JsonLines.write(pResponse));
+    pResponses.write('\n');
+    pResponses.flush();
+  }
+}
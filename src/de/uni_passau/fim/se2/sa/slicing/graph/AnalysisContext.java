@@ -0,0 +1,147 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.CFGExtractor;
+import de.uni_passau.fim.se2.sa.slicing.cfg.LineTable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.NodeIdAllocator;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+/**
+ * Holds what the analyses of one method share: its control-flow graph, its line table, and its
+ * def/use summary.
+ *
+ * <p>The CFG and the line table are built once when the context is created and handed to every
+ * {@link Graph} constructed from the context, such that the {@link ControlDependenceGraph}, the
+ * {@link DataDependenceGraph}, and the {@link ProgramDependenceGraph} of a method all work on the
+ * same nodes. The def/use summary is taken from the {@link DefUseCache} on the first request.
+ *
+ * <p>A context must not be modified after creation and is not meant to be shared across threads.
+ */
+public final class AnalysisContext {
+
+  private final ClassNode classNode;
+  private final MethodNode methodNode;
+  private final AnalysisOptions options;
+  private final DefUseCache defUseCache;
+  private final LineTable lineTable;
+  private final NodeIdAllocator nodeIds;
+  private final ProgramGraph cfg;
+  private DefUseSummary defUse;
+
+  private AnalysisContext(
+      ClassNode pClassNode,
+      MethodNode pMethodNode,
+      AnalysisOptions pOptions,
+      DefUseCache pDefUseCache,
+      LineTable pLineTable,
+      NodeIdAllocator pNodeIds,
+      ProgramGraph pCFG) {
+    classNode = pClassNode;
+    methodNode = pMethodNode;
+    options = pOptions;
+    defUseCache = pDefUseCache;
+    lineTable = pLineTable;
+    nodeIds = pNodeIds;
+    cfg = pCFG;
+  }
+
+  /**
+   * Creates the context of a method and builds its control-flow graph.
+   *
+   * @param pClassNode The class that owns the method
+   * @param pMethodNode The method
+   * @param pDefUseCache The def/use cache shared with other analyses of the same session
+   * @param pOptions The algorithms to use for the analyses of the method
+   * @return The context of the method
+   * @throws AnalyzerException In case the control-flow graph cannot be built
+   */
+  public static AnalysisContext of(
+      ClassNode pClassNode,
+      MethodNode pMethodNode,
+      DefUseCache pDefUseCache,
+      AnalysisOptions pOptions)
+      throws AnalyzerException {
+    LineTable lineTable = LineTable.of(pMethodNode.instructions);
+    NodeIdAllocator nodeIds = new NodeIdAllocator();
+    ProgramGraph cfg =
+        CFGExtractor.buildCFG(
+            pClassNode.name, pMethodNode, nodeIds, lineTable, pOptions.controlFlowEngine());
+    return new AnalysisContext(
+        pClassNode, pMethodNode, pOptions, pDefUseCache, lineTable, nodeIds, cfg);
+  }
+
+  /**
+   * Provides the class that owns the method.
+   *
+   * @return The class node
+   */
+  public ClassNode classNode() {
+    return classNode;
+  }
+
+  /**
+   * Provides the analysed method.
+   *
+   * @return The method node
+   */
+  public MethodNode methodNode() {
+    return methodNode;
+  }
+
+  /**
+   * Provides the algorithms the analyses of the method use.
+   *
+   * @return The analysis options
+   */
+  public AnalysisOptions options() {
+    return options;
+  }
+
+  /**
+   * Provides the line table the CFG was built with.
+   *
+   * @return The line table of the method
+   */
+  public LineTable lineTable() {
+    return lineTable;
+  }
+
+  /**
+   * Provides the allocator the ids of the CFG's nodes were taken from.
+   *
+   * <p>It serves to look up the node of an instruction, see {@link
+   * NodeIdAllocator#nodeOf(org.objectweb.asm.tree.AbstractInsnNode, LineTable)}, and must not
+   * allocate further ids.
+   *
+   * @return The node id allocator of the method
+   */
+  public NodeIdAllocator nodeIds() {
+    return nodeIds;
+  }
+
+  /**
+   * Provides the control-flow graph of the method.
+   *
+   * <p>The graph is shared by all analyses of the context and must not be modified.
+   *
+   * @return The control-flow graph
+   */
+  public ProgramGraph cfg() {
+    return cfg;
+  }
+
+  /**
+   * Provides the def/use summary of the method, analysing the method on the first request.
+   *
+   * @return The def/use summary
+   * @throws AnalyzerException In case an error occurs during the analysis
+   */
+  DefUseSummary defUse() throws AnalyzerException {
+    if (defUse == null) {
+      defUse = defUseCache.summaryOf(classNode.name, methodNode);
+    }
+    return defUse;
+  }
+}
@@ -0,0 +1,115 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.BasicBlocks;
+import de.uni_passau.fim.se2.sa.slicing.cfg.CFGExtractor;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ContractedGraph;
+
+/**
+ * Selects the algorithms used by the analyses that make up a {@link ProgramDependenceGraph}.
+ *
+ * @param controlFlowEngine The way the control-flow graph is derived from the bytecode
+ * @param dataDependenceEngine The algorithm computing the reaching definitions
+ * @param postDominatorEngine The algorithm computing the post-dominator tree
+ * @param controlDependenceEngine The algorithm deriving control dependences from the tree
+ * @param granularity The nodes the control and data dependences are computed on
+ */
+public record AnalysisOptions(
+    CFGExtractor.Engine controlFlowEngine,
+    DataDependenceGraph.Engine dataDependenceEngine,
+    PostDominatorTree.Engine postDominatorEngine,
+    ControlDependenceGraph.Engine controlDependenceEngine,
+    Granularity granularity) {
+
+  /** The nodes the dependence analyses work on. */
+  public enum Granularity {
+    /** Every instruction, label, line number, and frame of the CFG is analysed on its own. */
+    INSTRUCTIONS,
+    /**
+     * Labels, line numbers, and frames in the middle of straight-line code are contracted out of
+     * the CFG before the analyses, see {@link ContractedGraph}, and attached to their
+     * representatives afterwards, such that the graphs equal those of {@link #INSTRUCTIONS}.
+     */
+    CONTRACTED,
+    /**
+     * The post-dominator tree and the control dependences are computed on the {@link BasicBlocks}
+     * of the CFG, and the reaching definitions are solved on block summaries; the {@link
+     * DataDependenceGraph.Engine#SETS} and {@link DataDependenceGraph.Engine#SSA} engines still
+     * work on instructions. All dependences are expanded back to instruction nodes, such that the
+     * graphs equal those of {@link #INSTRUCTIONS}.
+     */
+    BASIC_BLOCKS
+  }
+
+  /**
+   * Provides the options used when nothing else is specified.
+   *
+   * @return The default options
+   */
+  public static AnalysisOptions defaults() {
+    return new AnalysisOptions(
+        CFGExtractor.Engine.OPCODES,
+        DataDependenceGraph.Engine.WORKLIST,
+        PostDominatorTree.Engine.AUTO,
+        ControlDependenceGraph.Engine.FRONTIERS,
+        Granularity.CONTRACTED);
+  }
+
+  /**
+   * Provides a copy of these options with a different control-flow engine.
+   *
+   * @param pEngine The way the control-flow graph is derived from the bytecode
+   * @return The new options
+   */
+  public AnalysisOptions withControlFlowEngine(CFGExtractor.Engine pEngine) {
+    return new AnalysisOptions(
+        pEngine, dataDependenceEngine, postDominatorEngine, controlDependenceEngine, granularity);
+  }
+
+  /**
+   * Provides a copy of these options with a different data-dependence engine.
+   *
+   * @param pEngine The algorithm computing the reaching definitions
+   * @return The new options
+   */
+  public AnalysisOptions withDataDependenceEngine(DataDependenceGraph.Engine pEngine) {
+    return new AnalysisOptions(
+        controlFlowEngine, pEngine, postDominatorEngine, controlDependenceEngine, granularity);
+  }
+
+  /**
+   * Provides a copy of these options with a different post-dominator engine.
+   *
+   * @param pEngine The algorithm computing the post-dominator tree
+   * @return The new options
+   */
+  public AnalysisOptions withPostDominatorEngine(PostDominatorTree.Engine pEngine) {
+    return new AnalysisOptions(
+        controlFlowEngine, dataDependenceEngine, pEngine, controlDependenceEngine, granularity);
+  }
+
+  /**
+   * Provides a copy of these options with a different control-dependence engine.
+   *
+   * @param pEngine The algorithm deriving control dependences from the post-dominator tree
+   * @return The new options
+   */
+  public AnalysisOptions withControlDependenceEngine(ControlDependenceGraph.Engine pEngine) {
+    return new AnalysisOptions(
+        controlFlowEngine, dataDependenceEngine, postDominatorEngine, pEngine, granularity);
+  }
+
+  /**
+   * Provides a copy of these options with a different granularity.
+   *
+   * @param pGranularity The nodes the control and data dependences are computed on
+   * @return The new options
+   */
+  public AnalysisOptions withGranularity(Granularity pGranularity) {
+    return new AnalysisOptions(
+        controlFlowEngine,
+        dataDependenceEngine,
+        postDominatorEngine,
+        controlDependenceEngine,
+        pGranularity);
+  }
+}
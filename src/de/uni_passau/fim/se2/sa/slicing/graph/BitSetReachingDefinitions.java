@@ -0,0 +1,262 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import br.usp.each.saeg.asm.defuse.Variable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.FrozenGraph;
+import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Computes reaching definitions on dense bit vectors and derives the data-dependence graph from
+ * them.
+ *
+ * <p>The CFG is traversed through its {@link FrozenGraph} snapshot, whose node ordinals serve as
+ * row indices, and every {@link Definition} gets a dense id from a {@link DefinitionIndex}. The IN
+ * and OUT sets are stored as rows of {@code long} words, one row per node, in flat arrays. GEN and
+ * KILL are not materialised: GEN[n] is the id range of the definitions of n and KILL[n] are the
+ * definitions of the same variables, both taken from the index. The fixed-point iteration
+ * therefore only combines words and detects changes by OR-ing the XOR of the old and new words; it
+ * does not allocate any sets.
+ *
+ * <p>The fixed point is either computed by sweeping over all nodes until nothing changes, or by a
+ * worklist that visits the nodes in reverse postorder of the CFG and only re-enqueues the
+ * successors of nodes whose OUT set changed.
+ */
+final class BitSetReachingDefinitions {
+
+  private final FrozenGraph cfg;
+  private final DefUseSummary defUse;
+  private final boolean useWorklist;
+
+  private List<Node> nodes;
+  private DefinitionIndex definitions;
+  private int words;
+  private long[] scratch;
+  private long[] in;
+  private long[] out;
+  private SolverStatistics statistics;
+
+  /**
+   * Creates the analysis for a control-flow graph.
+   *
+   * @param pCFG The snapshot of the control-flow graph of the method
+   * @param pDefUse The def/use summary of the method
+   * @param pUseWorklist Whether to use the reverse-postorder worklist instead of full sweeps
+   */
+  BitSetReachingDefinitions(FrozenGraph pCFG, DefUseSummary pDefUse, boolean pUseWorklist) {
+    cfg = pCFG;
+    defUse = pDefUse;
+    useWorklist = pUseWorklist;
+  }
+
+  /**
+   * Computes the reaching definitions and builds the data-dependence graph from the def-use pairs.
+   *
+   * @return The data-dependence graph
+   */
+  ProgramGraph computeDataDependences() {
+    numberNodesAndDefinitions();
+    if (useWorklist) {
+      solveWithWorklist();
+    } else {
+      solve();
+    }
+    return buildGraph();
+  }
+
+  /**
+   * Provides the amount of work the last call of {@link #computeDataDependences()} needed.
+   *
+   * @return The statistics of the fixed-point solver
+   */
+  SolverStatistics getStatistics() {
+    return statistics;
+  }
+
+  private void numberNodesAndDefinitions() {
+    nodes = cfg.nodes();
+    definitions = new DefinitionIndex(nodes, defUse);
+    words = (definitions.size() + Long.SIZE - 1) / Long.SIZE;
+    scratch = new long[words];
+  }
+
+  /** Initialises IN to the empty set and OUT to GEN for all nodes. */
+  private void initialise() {
+    in = new long[nodes.size() * words];
+    out = new long[nodes.size() * words];
+    for (int d = 0; d < definitions.size(); d++) {
+      out[definitions.ownerOf(d) * words + (d >>> 6)] |= 1L << d;
+    }
+  }
+
+  private void solve() {
+    initialise();
+
+    int iterations = 0;
+    boolean changed;
+    do {
+      changed = false;
+      iterations++;
+      for (int n = 0; n < nodes.size(); n++) {
+        if (transfer(n)) {
+          changed = true;
+        }
+      }
+    } while (changed);
+
+    statistics = new SolverStatistics(iterations, iterations * nodes.size());
+  }
+
+  private void solveWithWorklist() {
+    initialise();
+
+    // The worklist holds positions in reverse postorder.  A pass visits all pending positions in
+    // ascending order, hence successors along forward edges are handled within the same pass and
+    // only back edges cause another pass.
+    int[] order = reversePostorder(cfg);
+    int[] position = new int[nodes.size()];
+    for (int i = 0; i < order.length; i++) {
+      position[order[i]] = i;
+    }
+    BitSet pending = new BitSet(order.length);
+    pending.set(0, order.length);
+
+    int iterations = 0;
+    int nodeVisits = 0;
+    while (!pending.isEmpty()) {
+      iterations++;
+      for (int i = pending.nextSetBit(0); i >= 0; i = pending.nextSetBit(i + 1)) {
+        pending.clear(i);
+        nodeVisits++;
+        int n = order[i];
+        if (transfer(n)) {
+          for (int s = cfg.successorOffset(n); s < cfg.successorOffset(n + 1); s++) {
+            pending.set(position[cfg.successorTarget(s)]);
+          }
+        }
+      }
+    }
+
+    statistics = new SolverStatistics(iterations, nodeVisits);
+  }
+
+  /**
+   * Recomputes IN[n] and OUT[n] from the OUT sets of the predecessors of n.
+   *
+   * @param pNode The ordinal of the node
+   * @return {@code true} if OUT[n] changed
+   */
+  private boolean transfer(int pNode) {
+    int row = pNode * words;
+    int firstPredecessor = cfg.predecessorOffset(pNode);
+    int lastPredecessor = cfg.predecessorOffset(pNode + 1);
+    // IN[n] = U OUT[p] for all predecessors p of n
+    for (int w = 0; w < words; w++) {
+      long newIn = 0L;
+      for (int i = firstPredecessor; i < lastPredecessor; i++) {
+        newIn |= out[cfg.predecessorSource(i) * words + w];
+      }
+      in[row + w] = newIn;
+      scratch[w] = newIn;
+    }
+
+    // OUT[n] = GEN[n] ∪ (IN[n] − KILL[n]), where KILL[n] is all definitions of the variables
+    // defined at n; the definitions of n itself are added back as GEN[n] afterwards.
+    int first = definitions.firstDefinitionAt(pNode);
+    int last = definitions.firstDefinitionAt(pNode + 1);
+    for (int d = first; d < last; d++) {
+      for (int killed : definitions.definitionsOf(definitions.variableOf(d))) {
+        scratch[killed >>> 6] &= ~(1L << killed);
+      }
+    }
+    for (int d = first; d < last; d++) {
+      scratch[d >>> 6] |= 1L << d;
+    }
+
+    long difference = 0L;
+    for (int w = 0; w < words; w++) {
+      difference |= out[row + w] ^ scratch[w];
+      out[row + w] = scratch[w];
+    }
+    return difference != 0L;
+  }
+
+  /**
+   * Orders the nodes in reverse postorder of a depth-first search from the entry node.
+   *
+   * <p>Nodes that cannot be reached from the entry node are appended afterwards, such that the
+   * order contains every node exactly once.
+   *
+   * @param pGraph The graph to order
+   * @return The node ordinals in reverse postorder
+   */
+  static int[] reversePostorder(FrozenGraph pGraph) {
+    int size = pGraph.size();
+    if (size == 0) {
+      return new int[0];
+    }
+
+    int[] postorder = new int[size];
+    int count = 0;
+    boolean[] visited = new boolean[size];
+    int[] nextSuccessor = new int[size];
+    for (int n = 0; n < size; n++) {
+      nextSuccessor[n] = pGraph.successorOffset(n);
+    }
+    int[] stack = new int[size];
+    int top = 0;
+
+    int entry = Math.max(pGraph.entry(), 0);
+    for (int root = -1; root < size; root++) {
+      int start = root < 0 ? entry : root;
+      if (visited[start]) {
+        continue;
+      }
+      visited[start] = true;
+      stack[top++] = start;
+      while (top > 0) {
+        int n = stack[top - 1];
+        if (nextSuccessor[n] < pGraph.successorOffset(n + 1)) {
+          int s = pGraph.successorTarget(nextSuccessor[n]++);
+          if (!visited[s]) {
+            visited[s] = true;
+            stack[top++] = s;
+          }
+        } else {
+          postorder[count++] = n;
+          top--;
+        }
+      }
+    }
+
+    int[] order = new int[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = postorder[count - 1 - i];
+    }
+    return order;
+  }
+
+  private ProgramGraph buildGraph() {
+    ProgramGraph ddg = new ProgramGraph();
+    for (int n = 0; n < nodes.size(); n++) {
+      Node use = nodes.get(n);
+      for (Variable variable : defUse.usedBy(use.getInstruction())) {
+        int variableId = definitions.variableId(variable);
+        if (variableId < 0) {
+          continue; // The variable is never defined within the method.
+        }
+        for (int d : definitions.definitionsOf(variableId)) {
+          if ((in[n * words + (d >>> 6)] & (1L << d)) != 0L) {
+            Node definition = definitions.definition(d).node();
+            ddg.addNode(definition);
+            ddg.addNode(use);
+            ddg.addEdge(definition, use);
+          }
+        }
+      }
+    }
+    return ddg;
+  }
+}
@@ -0,0 +1,227 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import br.usp.each.saeg.asm.defuse.Variable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.BasicBlocks;
+import de.uni_passau.fim.se2.sa.slicing.cfg.FrozenGraph;
+import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Computes reaching definitions on the {@link BasicBlocks} of a CFG and derives the
+ * data-dependence graph of its instructions from them.
+ *
+ * <p>Every block is summarised by a GEN row, the last definition of every variable the block
+ * defines, and a KILL row, all definitions of these variables. The fixed point is then solved on
+ * the block graph with the same bit-vector rows as {@link BitSetReachingDefinitions}, either by
+ * sweeps or by a reverse-postorder worklist, but with one row per block instead of one per node.
+ *
+ * <p>The def-use pairs are refined inside the blocks afterwards: walking a block in execution
+ * order, a use of a variable the block has already defined depends on that definition only; any
+ * other use depends on the definitions of the variable in IN of the block. The IN rows of the
+ * single nodes are never materialised.
+ */
+final class BlockReachingDefinitions {
+
+  private final BasicBlocks blocks;
+  private final DefUseSummary defUse;
+  private final boolean useWorklist;
+
+  private FrozenGraph graph;
+  private DefinitionIndex definitions;
+  private int words;
+  private long[] gen;
+  private long[] kill;
+  private long[] in;
+  private long[] out;
+  private SolverStatistics statistics;
+
+  /**
+   * Creates the analysis for the blocks of a control-flow graph.
+   *
+   * @param pBlocks The basic blocks of the control-flow graph
+   * @param pDefUse The def/use summary of the method
+   * @param pUseWorklist Whether to use the reverse-postorder worklist instead of full sweeps
+   */
+  BlockReachingDefinitions(BasicBlocks pBlocks, DefUseSummary pDefUse, boolean pUseWorklist) {
+    blocks = pBlocks;
+    defUse = pDefUse;
+    useWorklist = pUseWorklist;
+  }
+
+  /**
+   * Computes the reaching definitions and builds the data-dependence graph from the def-use pairs.
+   *
+   * @return The data-dependence graph on the nodes of the control-flow graph
+   */
+  ProgramGraph computeDataDependences() {
+    graph = blocks.toGraph().freeze();
+    definitions = new DefinitionIndex(blocks.cfg().nodes(), defUse);
+    words = (definitions.size() + Long.SIZE - 1) / Long.SIZE;
+    summariseBlocks();
+    if (useWorklist) {
+      solveWithWorklist();
+    } else {
+      solve();
+    }
+    return buildGraph();
+  }
+
+  /**
+   * Provides the amount of work the last call of {@link #computeDataDependences()} needed.
+   *
+   * @return The statistics of the fixed-point solver, counting blocks instead of nodes
+   */
+  SolverStatistics getStatistics() {
+    return statistics;
+  }
+
+  /** Computes GEN and KILL of all blocks and initialises IN to the empty set and OUT to GEN. */
+  private void summariseBlocks() {
+    int blockCount = blocks.blockCount();
+    gen = new long[blockCount * words];
+    kill = new long[blockCount * words];
+    for (int b = 0; b < blockCount; b++) {
+      int row = b * words;
+      for (int m = blocks.blockStart(b); m < blocks.blockStart(b + 1); m++) {
+        int node = blocks.member(m);
+        int first = definitions.firstDefinitionAt(node);
+        int last = definitions.firstDefinitionAt(node + 1);
+        for (int d = first; d < last; d++) {
+          for (int killed : definitions.definitionsOf(definitions.variableOf(d))) {
+            gen[row + (killed >>> 6)] &= ~(1L << killed);
+            kill[row + (killed >>> 6)] |= 1L << killed;
+          }
+        }
+        for (int d = first; d < last; d++) {
+          gen[row + (d >>> 6)] |= 1L << d;
+        }
+      }
+    }
+    in = new long[blockCount * words];
+    out = Arrays.copyOf(gen, gen.length);
+  }
+
+  private void solve() {
+    int iterations = 0;
+    boolean changed;
+    do {
+      changed = false;
+      iterations++;
+      for (int b = 0; b < graph.size(); b++) {
+        if (transfer(b)) {
+          changed = true;
+        }
+      }
+    } while (changed);
+
+    statistics = new SolverStatistics(iterations, iterations * graph.size());
+  }
+
+  private void solveWithWorklist() {
+    int[] order = BitSetReachingDefinitions.reversePostorder(graph);
+    int[] position = new int[graph.size()];
+    for (int i = 0; i < order.length; i++) {
+      position[order[i]] = i;
+    }
+    BitSet pending = new BitSet(order.length);
+    pending.set(0, order.length);
+
+    int iterations = 0;
+    int blockVisits = 0;
+    while (!pending.isEmpty()) {
+      iterations++;
+      for (int i = pending.nextSetBit(0); i >= 0; i = pending.nextSetBit(i + 1)) {
+        pending.clear(i);
+        blockVisits++;
+        int b = order[i];
+        if (transfer(b)) {
+          for (int s = graph.successorOffset(b); s < graph.successorOffset(b + 1); s++) {
+            pending.set(position[graph.successorTarget(s)]);
+          }
+        }
+      }
+    }
+
+    statistics = new SolverStatistics(iterations, blockVisits);
+  }
+
+  /**
+   * Recomputes IN[b] and OUT[b] from the OUT sets of the predecessors of b.
+   *
+   * @param pBlock The index of the block
+   * @return {@code true} if OUT[b] changed
+   */
+  private boolean transfer(int pBlock) {
+    int row = pBlock * words;
+    int firstPredecessor = graph.predecessorOffset(pBlock);
+    int lastPredecessor = graph.predecessorOffset(pBlock + 1);
+    long difference = 0L;
+    for (int w = 0; w < words; w++) {
+      // IN[b] = U OUT[p] for all predecessors p of b
+      long newIn = 0L;
+      for (int i = firstPredecessor; i < lastPredecessor; i++) {
+        newIn |= out[graph.predecessorSource(i) * words + w];
+      }
+      in[row + w] = newIn;
+
+      // OUT[b] = GEN[b] ∪ (IN[b] − KILL[b])
+      long newOut = gen[row + w] | (newIn & ~kill[row + w]);
+      difference |= out[row + w] ^ newOut;
+      out[row + w] = newOut;
+    }
+    return difference != 0L;
+  }
+
+  private ProgramGraph buildGraph() {
+    FrozenGraph cfg = blocks.cfg();
+    ProgramGraph ddg = new ProgramGraph();
+    // The node that defined each variable last within the current block, valid if stamped with it.
+    int[] localDefiner = new int[definitions.variableCount()];
+    int[] stamp = new int[definitions.variableCount()];
+    Arrays.fill(stamp, -1);
+
+    for (int b = 0; b < blocks.blockCount(); b++) {
+      for (int m = blocks.blockStart(b); m < blocks.blockStart(b + 1); m++) {
+        int n = blocks.member(m);
+        Node use = cfg.node(n);
+        for (Variable variable : defUse.usedBy(use.getInstruction())) {
+          int variableId = definitions.variableId(variable);
+          if (variableId < 0) {
+            continue; // The variable is never defined within the method.
+          }
+          if (stamp[variableId] == b) {
+            int definer = localDefiner[variableId];
+            for (int d = definitions.firstDefinitionAt(definer);
+                d < definitions.firstDefinitionAt(definer + 1);
+                d++) {
+              if (definitions.variableOf(d) == variableId) {
+                addEdge(ddg, definitions.definition(d).node(), use);
+              }
+            }
+            continue;
+          }
+          for (int d : definitions.definitionsOf(variableId)) {
+            if ((in[b * words + (d >>> 6)] & (1L << d)) != 0L) {
+              addEdge(ddg, definitions.definition(d).node(), use);
+            }
+          }
+        }
+        int last = definitions.firstDefinitionAt(n + 1);
+        for (int d = definitions.firstDefinitionAt(n); d < last; d++) {
+          stamp[definitions.variableOf(d)] = b;
+          localDefiner[definitions.variableOf(d)] = n;
+        }
+      }
+    }
+    return ddg;
+  }
+
+  private static void addEdge(ProgramGraph pDDG, Node pDefinition, Node pUse) {
+    pDDG.addNode(pDefinition);
+    pDDG.addNode(pUse);
+    pDDG.addEdge(pDefinition, pUse);
+  }
+}
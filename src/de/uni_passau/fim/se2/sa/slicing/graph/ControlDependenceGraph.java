@@ -1,23 +1,63 @@
 package de.uni_passau.fim.se2.sa.slicing.graph;
 
+import de.uni_passau.fim.se2.sa.slicing.cfg.BasicBlocks;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ContractedGraph;
+import de.uni_passau.fim.se2.sa.slicing.cfg.FrozenGraph;
 import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
 import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
 import org.jgrapht.graph.DefaultEdge;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
 public class ControlDependenceGraph extends Graph {
 
+  /** The algorithms available to derive control dependences from the post-dominator tree. */
+  public enum Engine {
+    /**
+     * Walks the post-dominator tree from the target of every CFG edge up to the least common
+     * ancestor of its source and target.
+     */
+    LCA_WALK,
+    /**
+     * Computes the post-dominance frontiers of all nodes in one bottom-up pass over the
+     * post-dominator tree; every node is control dependent on the nodes in its frontier.
+     */
+    FRONTIERS
+  }
+
+  private final AnalysisOptions options;
+
   ControlDependenceGraph(ClassNode pClassNode, MethodNode pMethodNode) {
-    super(pClassNode, pMethodNode);
+    this(pClassNode, pMethodNode, AnalysisOptions.defaults());
+  }
+
+  ControlDependenceGraph(ClassNode pClassNode, MethodNode pMethodNode, AnalysisOptions pOptions) {
+    super(pClassNode, pMethodNode, pOptions.controlFlowEngine());
+    options = pOptions;
+  }
+
+  /**
+   * Creates the control-dependence analysis on the shared CFG of a method.
+   *
+   * @param pContext The context of the method, which also provides the analysis options
+   */
+  ControlDependenceGraph(AnalysisContext pContext) {
+    super(pContext);
+    options = pContext.options();
   }
 
   ControlDependenceGraph(ProgramGraph pCFG) {
+    this(pCFG, AnalysisOptions.defaults());
+  }
+
+  ControlDependenceGraph(ProgramGraph pCFG, AnalysisOptions pOptions) {
     super(pCFG);
+    options = pOptions;
   }
 
   /**
@@ -26,12 +66,30 @@ public class ControlDependenceGraph extends Graph {
    * <p>You may wish target use the {@link PostDominatorTree} you implemented target support
    * computing the control-dependence graph.
    *
+   * <p>Both {@link Engine}s yield the same graph. A node with a self loop controls itself and all
+   * of its post-dominators.
+   *
+   * <p>With {@link AnalysisOptions.Granularity#CONTRACTED} and {@link
+   * AnalysisOptions.Granularity#BASIC_BLOCKS}, the dependences are computed on a smaller graph and
+   * expanded afterwards, see {@link #computeOnContractedGraph()} and {@link #computeOnBlocks()}.
+   *
    * @return The control-dependence graph.
    */
   @Override
   public ProgramGraph computeResult() {
-    PostDominatorTree pdt = new PostDominatorTree(cfg);
+    if (options.granularity() == AnalysisOptions.Granularity.CONTRACTED) {
+      return computeOnContractedGraph();
+    }
+    if (options.granularity() == AnalysisOptions.Granularity.BASIC_BLOCKS) {
+      return computeOnBlocks();
+    }
+
+    PostDominatorTree pdt = new PostDominatorTree(cfg, options.postDominatorEngine());
     ProgramGraph pPDT = pdt.computeResult();
+    if (options.controlDependenceEngine() == Engine.FRONTIERS) {
+      return computeFromFrontiers(pdt);
+    }
+
     ProgramGraph pCDG = new ProgramGraph();
     Set<DefaultEdge> allEdges = cfg.getEdges();
     Set<DefaultEdge> cfgEdgesNotInPdt = new HashSet<>();
@@ -62,4 +120,210 @@ public ProgramGraph computeResult() {
 
     return pCDG;
   }
+
+  /**
+   * Computes the control dependences on the CFG without the pseudo-instructions inside chains.
+   *
+   * <p>A contracted node shares the basic block, and with it the control dependences, of its
+   * representative. It is therefore made dependent on the controllers of its representative. The
+   * array-based engines run on the snapshot of the contracted graph directly; the iterative
+   * post-dominator engine and {@link Engine#LCA_WALK} need it as a {@link ProgramGraph}.
+   */
+  private ProgramGraph computeOnContractedGraph() {
+    ContractedGraph contracted = ContractedGraph.of(cfg, ContractedGraph::isPseudoInstruction);
+    FrozenGraph original = contracted.original();
+    ProgramGraph pCDG = new ProgramGraph();
+    for (Node n : original.nodes()) {
+      pCDG.addNode(n);
+    }
+
+    if (options.controlDependenceEngine() == Engine.FRONTIERS
+        && options.postDominatorEngine() != PostDominatorTree.Engine.ITERATIVE_SETS) {
+      FrozenGraph graph = contracted.frozen();
+      int[][] frontiers =
+          postDominanceFrontiers(
+              graph,
+              PostDominatorTree.immediatePostDominators(graph, options.postDominatorEngine()));
+      for (int n = 0; n < original.size(); n++) {
+        int[] frontier = frontiers[contracted.representativeOf(n)];
+        if (frontier == null) {
+          continue;
+        }
+        Node dependent = original.node(n);
+        for (int y : frontier) {
+          pCDG.addEdge(graph.node(y), dependent);
+        }
+      }
+      return pCDG;
+    }
+
+    ProgramGraph contractedCDG =
+        new ControlDependenceGraph(
+                contracted.graph(),
+                options.withGranularity(AnalysisOptions.Granularity.INSTRUCTIONS))
+            .computeResult();
+    for (Node n : original.nodes()) {
+      Node representative = contracted.representativeOf(n);
+      for (Node controller : contractedCDG.getPredecessors(representative)) {
+        pCDG.addEdge(controller, n);
+      }
+    }
+    return pCDG;
+  }
+
+  /**
+   * Computes the control dependences on the basic blocks of the CFG.
+   *
+   * <p>Only the last node of a block can branch, and the targets of a branch are leaders of
+   * blocks, hence all nodes of a block post-dominate the same branch targets and are control
+   * dependent on the same branches. A block edge from A to B is therefore expanded to edges from
+   * the last node of A to every node of B.
+   */
+  private ProgramGraph computeOnBlocks() {
+    BasicBlocks blocks = BasicBlocks.of(cfg);
+    ProgramGraph blockCDG =
+        new ControlDependenceGraph(
+                blocks.toGraph(),
+                options.withGranularity(AnalysisOptions.Granularity.INSTRUCTIONS))
+            .computeResult();
+
+    ProgramGraph pCDG = new ProgramGraph();
+    for (Node n : cfg.getNodes()) {
+      pCDG.addNode(n);
+    }
+    // The block CDG contains the leaders of all blocks, which are nodes of the CFG as well.
+    FrozenGraph graph = blocks.cfg();
+    for (Node leader : blockCDG.getNodes()) {
+      Node branch = blocks.terminator(blocks.blockOf(graph.ordinalOf(leader)));
+      for (Node dependentLeader : blockCDG.getSuccessors(leader)) {
+        int dependent = blocks.blockOf(graph.ordinalOf(dependentLeader));
+        for (int m = blocks.blockStart(dependent); m < blocks.blockStart(dependent + 1); m++) {
+          pCDG.addEdge(branch, graph.node(blocks.member(m)));
+        }
+      }
+    }
+    return pCDG;
+  }
+
+  /**
+   * Computes the control dependences from the post-dominance frontiers.
+   *
+   * <p>Follows Cytron et al. on the reversed CFG: visiting the post-dominator tree bottom-up, the
+   * frontier of a node X consists of its CFG predecessors that X does not immediately
+   * post-dominate, plus the nodes in the frontiers of its children that X does not immediately
+   * post-dominate. A child with a self loop is added to the frontier of its parent, from where it
+   * propagates up to the root, as {@link Engine#LCA_WALK} makes all post-dominators of such a node
+   * depend on it. Every node is then control dependent on the nodes in its frontier.
+   */
+  private ProgramGraph computeFromFrontiers(PostDominatorTree pPDT) {
+    ProgramGraph pCDG = new ProgramGraph();
+    for (Node n : cfg.getNodes()) {
+      pCDG.addNode(n);
+    }
+
+    // The tree is numbered by the same snapshot of the CFG.
+    FrozenGraph graph = cfg.freeze();
+    int[][] frontiers = postDominanceFrontiers(graph, pPDT.getImmediatePostDominators());
+    for (int x = 0; x < frontiers.length; x++) {
+      if (frontiers[x] == null) {
+        continue;
+      }
+      Node dependent = graph.node(x);
+      for (int y : frontiers[x]) {
+        pCDG.addEdge(graph.node(y), dependent);
+      }
+    }
+    return pCDG;
+  }
+
+  /**
+   * Computes the post-dominance frontiers of all nodes of a CFG snapshot.
+   *
+   * @param pGraph The snapshot of the CFG
+   * @param pImmediatePostDominators The immediate post-dominators indexed by node ordinal, see
+   *     {@link PostDominatorTree#getImmediatePostDominators()}
+   * @return The ordinals in the frontier of every node, or {@code null} for nodes that are not in
+   *     the post-dominator tree
+   */
+  private static int[][] postDominanceFrontiers(
+      FrozenGraph pGraph, int[] pImmediatePostDominators) {
+    int[] ipdom = pImmediatePostDominators;
+    int size = ipdom.length;
+    int[][] frontiers = new int[size][];
+    int root = -1;
+    int[] childCounts = new int[size + 1];
+    for (int n = 0; n < size; n++) {
+      if (ipdom[n] == n) {
+        root = n;
+      } else if (ipdom[n] >= 0) {
+        childCounts[ipdom[n] + 1]++;
+      }
+    }
+    if (root < 0) {
+      return frontiers;
+    }
+    // The children of node x are children[childStart[x] .. childStart[x + 1]).
+    int[] childStart = new int[size + 1];
+    for (int n = 0; n < size; n++) {
+      childStart[n + 1] = childStart[n] + childCounts[n + 1];
+    }
+    int[] children = new int[childStart[size]];
+    int[] fill = Arrays.copyOf(childStart, size);
+    for (int n = 0; n < size; n++) {
+      if (ipdom[n] >= 0 && ipdom[n] != n) {
+        children[fill[ipdom[n]]++] = n;
+      }
+    }
+
+    // Visit the tree in postorder, such that the frontiers of all children are complete.
+    int[] stamp = new int[size];
+    Arrays.fill(stamp, -1);
+    int[] buffer = new int[size];
+    int[] stack = new int[size];
+    int[] nextChild = Arrays.copyOf(childStart, size);
+    int top = 0;
+    stack[top++] = root;
+    while (top > 0) {
+      int x = stack[top - 1];
+      if (nextChild[x] < childStart[x + 1]) {
+        stack[top++] = children[nextChild[x]++];
+        continue;
+      }
+      top--;
+
+      int count = 0;
+      for (int i = pGraph.predecessorOffset(x); i < pGraph.predecessorOffset(x + 1); i++) {
+        int y = pGraph.predecessorSource(i);
+        if (ipdom[y] != x && stamp[y] != x) {
+          stamp[y] = x;
+          buffer[count++] = y;
+        }
+      }
+      for (int c = childStart[x]; c < childStart[x + 1]; c++) {
+        // Like the LCA walk, a node with a self loop controls all of its post-dominators.
+        int child = children[c];
+        if (hasSelfLoop(pGraph, child) && stamp[child] != x) {
+          stamp[child] = x;
+          buffer[count++] = child;
+        }
+        for (int y : frontiers[child]) {
+          if (ipdom[y] != x && stamp[y] != x) {
+            stamp[y] = x;
+            buffer[count++] = y;
+          }
+        }
+      }
+      frontiers[x] = Arrays.copyOf(buffer, count);
+    }
+    return frontiers;
+  }
+
+  private static boolean hasSelfLoop(FrozenGraph pGraph, int pNode) {
+    for (int i = pGraph.successorOffset(pNode); i < pGraph.successorOffset(pNode + 1); i++) {
+      if (pGraph.successorTarget(i) == pNode) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
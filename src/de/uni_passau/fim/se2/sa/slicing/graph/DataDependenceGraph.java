@@ -1,6 +1,9 @@
 package de.uni_passau.fim.se2.sa.slicing.graph;
 
 import br.usp.each.saeg.asm.defuse.Variable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.BasicBlocks;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ContractedGraph;
+import de.uni_passau.fim.se2.sa.slicing.cfg.FrozenGraph;
 import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
 import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
 import org.objectweb.asm.tree.AbstractInsnNode;
@@ -12,8 +15,67 @@
 
 public class DataDependenceGraph extends Graph {
 
+  /** The algorithms available to compute the reaching definitions of a method. */
+  public enum Engine {
+    /** Iterates over hash sets of {@link Definition}s until a fixed point is reached. */
+    SETS,
+    /** Iterates over dense bit vectors of definition ids until a fixed point is reached. */
+    BIT_VECTORS,
+    /**
+     * Uses dense bit vectors, but visits the nodes in reverse postorder and only revisits the
+     * successors of nodes whose OUT set changed.
+     */
+    WORKLIST,
+    /**
+     * Builds an SSA form from dominance frontiers and takes the def-use pairs from its use lists,
+     * without any fixed-point iteration.
+     */
+    SSA
+  }
+
+  private final DefUseCache defUseCache;
+  private final AnalysisContext context;
+  private final Engine engine;
+  private final AnalysisOptions.Granularity granularity;
+  private SolverStatistics statistics;
+
   DataDependenceGraph(ClassNode pClassNode, MethodNode pMethodNode) {
-    super(pClassNode, pMethodNode);
+    this(pClassNode, pMethodNode, new DefUseCache(), Engine.WORKLIST);
+  }
+
+  DataDependenceGraph(
+      ClassNode pClassNode, MethodNode pMethodNode, DefUseCache pDefUseCache, Engine pEngine) {
+    this(
+        pClassNode,
+        pMethodNode,
+        pDefUseCache,
+        AnalysisOptions.defaults().withDataDependenceEngine(pEngine));
+  }
+
+  DataDependenceGraph(
+      ClassNode pClassNode,
+      MethodNode pMethodNode,
+      DefUseCache pDefUseCache,
+      AnalysisOptions pOptions) {
+    super(pClassNode, pMethodNode, pOptions.controlFlowEngine());
+    defUseCache = pDefUseCache;
+    context = null;
+    engine = pOptions.dataDependenceEngine();
+    granularity = pOptions.granularity();
+  }
+
+  /**
+   * Creates the data-dependence analysis on the shared CFG of a method.
+   *
+   * @param pContext The context of the method, which also provides the def/use summary and the
+   *     analysis options
+   */
+  DataDependenceGraph(AnalysisContext pContext) {
+    super(pContext);
+    defUseCache = null;
+    context = pContext;
+    engine = pContext.options().dataDependenceEngine();
+    granularity = pContext.options().granularity();
   }
 
   /**
@@ -33,45 +95,105 @@ public class DataDependenceGraph extends Graph {
    * <p>Finally, you can compute all def-use pairs and construct the data-dependence graph from
    * these pairs.
    *
+   * <p>The def/use information of the method is taken from the {@link DefUseCache} of this
+   * analysis, such that the method is analysed only once. The reaching definitions are computed by
+   * the selected {@link Engine}; all engines yield the same graph. With {@link
+   * AnalysisOptions.Granularity#CONTRACTED}, they are computed on the CFG without the
+   * pseudo-instructions that neither define nor use a variable; with {@link
+   * AnalysisOptions.Granularity#BASIC_BLOCKS}, the bit-vector engines solve them on block
+   * summaries, see {@link BlockReachingDefinitions}.
+   *
    * @return The data-dependence graph for a control-flow graph
    */
   @Override
   public ProgramGraph computeResult() {
+    DefUseSummary defUse;
+    try {
+      defUse =
+          context != null
+              ? context.defUse()
+              : defUseCache.summaryOf(this.classNode.name, this.methodNode);
+    } catch (AnalyzerException e) {
+      throw new RuntimeException("Error analyzing method: " + this.methodNode.name, e);
+    }
+
+    ContractedGraph contracted = null;
+    if (granularity == AnalysisOptions.Granularity.CONTRACTED) {
+      // Contracting a node that neither defines nor uses a variable does not change any def-use
+      // pair of the remaining nodes.
+      contracted =
+          ContractedGraph.of(
+              cfg,
+              node ->
+                  ContractedGraph.isPseudoInstruction(node)
+                      && defUse.definedBy(node.getInstruction()).isEmpty()
+                      && defUse.usedBy(node.getInstruction()).isEmpty());
+    }
+
+    if (engine == Engine.SETS) {
+      return computeWithSets(contracted == null ? cfg : contracted.graph(), defUse);
+    }
+    FrozenGraph graph = contracted == null ? cfg.freeze() : contracted.frozen();
+    if (engine == Engine.SSA) {
+      statistics = null;
+      return new SsaDefUseChains(graph, defUse).computeDataDependences();
+    }
+
+    boolean useWorklist = engine == Engine.WORKLIST;
+    if (granularity == AnalysisOptions.Granularity.BASIC_BLOCKS) {
+      BlockReachingDefinitions reachingDefinitions =
+          new BlockReachingDefinitions(BasicBlocks.of(cfg), defUse, useWorklist);
+      ProgramGraph pDDG = reachingDefinitions.computeDataDependences();
+      statistics = reachingDefinitions.getStatistics();
+      return pDDG;
+    }
+
+    BitSetReachingDefinitions reachingDefinitions =
+        new BitSetReachingDefinitions(graph, defUse, useWorklist);
+    ProgramGraph pDDG = reachingDefinitions.computeDataDependences();
+    statistics = reachingDefinitions.getStatistics();
+    return pDDG;
+  }
+
+  /**
+   * Provides how much work the reaching-definitions solver needed during the last call of {@link
+   * #computeResult()}.
+   *
+   * @return The solver statistics, or an empty optional if the result was not yet computed or the
+   *     engine does not iterate to a fixed point
+   */
+  public Optional<SolverStatistics> getSolverStatistics() {
+    return Optional.ofNullable(statistics);
+  }
+
+  private ProgramGraph computeWithSets(ProgramGraph pGraph, DefUseSummary defUse) {
     // Step 1: Compute GEN and KILL sets
     Map<Node, Set<Definition>> GEN = new HashMap<>();
     Map<Node, Set<Definition>> KILL = new HashMap<>();
 
-    Collection<Node> allNodes = cfg.getNodes();
-    for (Node node : allNodes) {
-      AbstractInsnNode insn = node.getInstruction();
-      try {
-        Set<Variable> defs = new HashSet<>(DataFlowAnalysis.definedBy(this.classNode.name, this.methodNode, insn));
-        if (!defs.isEmpty()) {
-          Set<Definition> temp = new HashSet<>();
-          defs.forEach(def -> temp.add(new Definition(node, def)));
-          GEN.put(node, temp);
-        }
+    List<Node> allNodes = new ArrayList<>(pGraph.getNodes());
+    DefinitionIndex index = new DefinitionIndex(allNodes, defUse);
+    for (int n = 0; n < allNodes.size(); n++) {
+      int first = index.firstDefinitionAt(n);
+      int last = index.firstDefinitionAt(n + 1);
+      if (first == last) {
+        continue;
+      }
 
-        // KILL[n] is all other definitions of the same variable in the entire method
-        Set<Definition> killed = new HashSet<>();
-        if (GEN.get(node) == null || GEN.get(node).isEmpty()) {
-          continue;
-        }
-        for (Node otherNode : allNodes) {
-          AbstractInsnNode otherInsn = otherNode.getInstruction();
-          if (otherNode == node || otherInsn == null) continue;
-          Collection<Variable> otherDefs = DataFlowAnalysis.definedBy(this.classNode.name, this.methodNode, otherInsn);
-          for (Variable var : otherDefs) {
-            if (defs.contains(var)) {
-              killed.add(new Definition(otherNode, var));
-            }
+      // KILL[n] is all other definitions of the same variables, taken from the variable index
+      Set<Definition> generated = new HashSet<>();
+      Set<Definition> killed = new HashSet<>();
+      for (int d = first; d < last; d++) {
+        generated.add(index.definition(d));
+        for (int other : index.definitionsOf(index.variableOf(d))) {
+          if (index.ownerOf(other) != n) {
+            killed.add(index.definition(other));
           }
         }
-        if (!killed.isEmpty()) {
-          KILL.put(node, killed);
-        }
-      } catch (AnalyzerException e) {
-        throw new RuntimeException("Error analyzing instruction: " + insn, e);
+      }
+      GEN.put(allNodes.get(n), generated);
+      if (!killed.isEmpty()) {
+        KILL.put(allNodes.get(n), killed);
       }
     }
 
@@ -84,9 +206,11 @@ public ProgramGraph computeResult() {
       IN.put(n, new HashSet<>());
     }
 
+    int iterations = 0;
     boolean changed;
     do {
       changed = false;
+      iterations++;
 
       for (Node n : allNodes) {
         Set<Definition> oldIn = IN.get(n);
@@ -94,7 +218,7 @@ public ProgramGraph computeResult() {
 
         // IN[n] = U OUT[p] for all predecessors p of n
         List<Node> predecessors = new ArrayList<>(
-                cfg.getPredecessors(n)
+                pGraph.getPredecessors(n)
         );
         Set<Definition> newIn = new HashSet<>();
         for (Node pred : predecessors) {
@@ -115,24 +239,20 @@ public ProgramGraph computeResult() {
       }
 
     } while (changed);
+    statistics = new SolverStatistics(iterations, iterations * allNodes.size());
 
     // Step 3: Add edges for def-use pairs to build DDG
     ProgramGraph pDDG = new ProgramGraph();
     for (Node n : allNodes) {
-      AbstractInsnNode insn = n.getInstruction();
-      try {
-        Collection<Variable> usedVars = DataFlowAnalysis.usedBy(this.classNode.name, this.methodNode, insn);
-        for (Variable v : usedVars) {
-          for (Definition def : IN.getOrDefault(n, Set.of())) {
-            if (def.variable().equals(v)) {
-              pDDG.addNode(def.node());
-              pDDG.addNode(n);
-              pDDG.addEdge(def.node(), n);
-            }
+      Collection<Variable> usedVars = defUse.usedBy(n.getInstruction());
+      for (Variable v : usedVars) {
+        for (Definition def : IN.getOrDefault(n, Set.of())) {
+          if (def.variable().equals(v)) {
+            pDDG.addNode(def.node());
+            pDDG.addNode(n);
+            pDDG.addEdge(def.node(), n);
           }
         }
-      } catch (AnalyzerException e) {
-        throw new RuntimeException("Error analyzing used variables at: " + insn, e);
       }
     }
 
@@ -54,6 +54,24 @@ static Collection<Variable> definedBy(
     return new HashSet<>(frame.getDefinitions());
   }
 
+  /**
+   * Analyses the whole method once and provides the variables defined and used by each of its
+   * instructions.
+   *
+   * <p>Prefer a {@link DefUseCache} over calling this method repeatedly for the same method.
+   *
+   * @param pOwningClass The class that owns the method
+   * @param pMethodNode The method to analyse
+   * @return The def/use summary of the method
+   * @throws AnalyzerException In case an error occurs during the analysis
+   */
+  static DefUseSummary summarize(String pOwningClass, MethodNode pMethodNode)
+      throws AnalyzerException {
+    DefUseAnalyzer analyzer = new DefUseAnalyzer();
+    DefUseFrame[] frames = analyzer.analyze(pOwningClass, pMethodNode);
+    return new DefUseSummary(pMethodNode.instructions, frames, analyzer.getVariables());
+  }
+
   private static DefUseFrame getCorrespondingDefUseFrame(String pOwningClass, MethodNode pMethodNode, AbstractInsnNode pInstruction) throws AnalyzerException {
     if (pInstruction == null) {
       return null;
@@ -0,0 +1,63 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Caches the {@link DefUseSummary} of methods, such that each method is analysed only once.
+ *
+ * <p>A cache is meant to be shared by all analyses of a slicing session. Entries are keyed by the
+ * identity of the {@link MethodNode} and are dropped as soon as the method node is no longer
+ * reachable. Callers that modify the instructions of a method must call {@link
+ * #invalidate(MethodNode)} afterwards; replacing the instruction list is detected automatically.
+ */
+public final class DefUseCache {
+
+  private final Map<MethodNode, DefUseSummary> summaries = new WeakHashMap<>();
+
+  /**
+   * Provides the def/use summary of a method, analysing the method if necessary.
+   *
+   * @param pOwningClass The class that owns the method
+   * @param pMethodNode The method
+   * @return The def/use summary of the method
+   * @throws AnalyzerException In case an error occurs during the analysis
+   */
+  synchronized DefUseSummary summaryOf(String pOwningClass, MethodNode pMethodNode)
+      throws AnalyzerException {
+    DefUseSummary summary = summaries.get(pMethodNode);
+    if (summary != null && summary.isValidFor(pMethodNode.instructions)) {
+      return summary;
+    }
+
+    DefUseSummary fresh = DataFlowAnalysis.summarize(pOwningClass, pMethodNode);
+    summaries.put(pMethodNode, fresh);
+    return fresh;
+  }
+
+  /**
+   * Drops the cached summary of a method.
+   *
+   * @param pMethodNode The method whose summary shall be recomputed on the next request
+   */
+  public synchronized void invalidate(MethodNode pMethodNode) {
+    summaries.remove(pMethodNode);
+  }
+
+  /** Drops all cached summaries. */
+  public synchronized void clear() {
+    summaries.clear();
+  }
+
+  /**
+   * Provides the number of methods that currently have a cached summary.
+   *
+   * @return The number of cached summaries
+   */
+  public synchronized int size() {
+    return summaries.size();
+  }
+}
@@ -0,0 +1,89 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import br.usp.each.saeg.asm.defuse.DefUseFrame;
+import br.usp.each.saeg.asm.defuse.Variable;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * The variables defined and used by every instruction of a single method.
+ *
+ * <p>The summary is computed by one run of the def/use analysis over the whole method; all
+ * per-instruction queries are afterwards answered from the stored frames.
+ *
+ * @see DataFlowAnalysis#summarize(String, org.objectweb.asm.tree.MethodNode)
+ * @see DefUseCache
+ */
+final class DefUseSummary {
+
+  private final InsnList instructions;
+  private final DefUseFrame[] frames;
+  private final Variable[] variables;
+
+  DefUseSummary(InsnList pInstructions, DefUseFrame[] pFrames, Variable[] pVariables) {
+    instructions = pInstructions;
+    frames = pFrames;
+    variables = pVariables;
+  }
+
+  /**
+   * Provides the collection of {@link Variable}s that are used by the given instruction.
+   *
+   * @param pInstruction The instruction
+   * @return An unmodifiable collection of the {@link Variable}s used by the instruction
+   */
+  Collection<Variable> usedBy(AbstractInsnNode pInstruction) {
+    DefUseFrame frame = frameOf(pInstruction);
+    if (frame == null) {
+      return Collections.emptySet();
+    }
+    return Collections.unmodifiableSet(frame.getUses());
+  }
+
+  /**
+   * Provides the collection of {@link Variable}s that are defined by the given instruction.
+   *
+   * @param pInstruction The instruction
+   * @return An unmodifiable collection of the {@link Variable}s defined by the instruction
+   */
+  Collection<Variable> definedBy(AbstractInsnNode pInstruction) {
+    DefUseFrame frame = frameOf(pInstruction);
+    if (frame == null) {
+      return Collections.emptySet();
+    }
+    return Collections.unmodifiableSet(frame.getDefinitions());
+  }
+
+  /**
+   * Provides all variables the analysis has discovered in the method.
+   *
+   * @return The variables of the method
+   */
+  Variable[] getVariables() {
+    return variables.clone();
+  }
+
+  /**
+   * Checks whether the summary still matches the instructions of its method.
+   *
+   * @param pInstructions The current instruction list of the method
+   * @return {@code true} if the summary was computed for exactly this instruction list
+   */
+  boolean isValidFor(InsnList pInstructions) {
+    return instructions == pInstructions && frames.length == pInstructions.size();
+  }
+
+  private DefUseFrame frameOf(AbstractInsnNode pInstruction) {
+    if (pInstruction == null) {
+      return null;
+    }
+    int index = instructions.indexOf(pInstruction);
+    if (index < 0 || index >= frames.length) {
+      return null;
+    }
+    return frames[index];
+  }
+}
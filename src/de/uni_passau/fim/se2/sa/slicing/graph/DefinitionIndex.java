@@ -0,0 +1,154 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import br.usp.each.saeg.asm.defuse.Variable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes all {@link Definition}s of a method by node and by variable.
+ *
+ * <p>The index is built in a single pass over the nodes. Definitions get dense ids in node order,
+ * hence the definitions of a node form the contiguous id range {@code [firstDefinitionAt(n),
+ * firstDefinitionAt(n + 1))}. The definitions of each variable are stored as an id array. KILL[n]
+ * is therefore available implicitly as "all definitions of the variables defined at n, except the
+ * ones of n itself", and the memory of the index grows with the number of definitions only.
+ */
+final class DefinitionIndex {
+
+  private final Definition[] definitions;
+  private final int[] ownerOf;
+  private final int[] variableOf;
+  private final int[] firstDefinitionAt;
+  private final Map<Variable, Integer> variableIds;
+  private final int[][] definitionsOf;
+
+  /**
+   * Builds the index for the given nodes.
+   *
+   * @param pNodes The nodes of the method; their positions in the list serve as node ordinals
+   * @param pDefUse The def/use summary of the method
+   */
+  DefinitionIndex(List<Node> pNodes, DefUseSummary pDefUse) {
+    List<Definition> allDefinitions = new ArrayList<>();
+    List<Integer> owners = new ArrayList<>();
+    List<Integer> variables = new ArrayList<>();
+    variableIds = new HashMap<>();
+    firstDefinitionAt = new int[pNodes.size() + 1];
+
+    for (int n = 0; n < pNodes.size(); n++) {
+      Node node = pNodes.get(n);
+      firstDefinitionAt[n] = allDefinitions.size();
+      for (Variable variable : pDefUse.definedBy(node.getInstruction())) {
+        allDefinitions.add(new Definition(node, variable));
+        owners.add(n);
+        variables.add(variableIds.computeIfAbsent(variable, v -> variableIds.size()));
+      }
+    }
+    firstDefinitionAt[pNodes.size()] = allDefinitions.size();
+
+    definitions = allDefinitions.toArray(new Definition[0]);
+    ownerOf = owners.stream().mapToInt(Integer::intValue).toArray();
+    variableOf = variables.stream().mapToInt(Integer::intValue).toArray();
+
+    int[] counts = new int[variableIds.size()];
+    for (int variable : variableOf) {
+      counts[variable]++;
+    }
+    definitionsOf = new int[variableIds.size()][];
+    for (int v = 0; v < counts.length; v++) {
+      definitionsOf[v] = new int[counts[v]];
+      counts[v] = 0;
+    }
+    for (int d = 0; d < definitions.length; d++) {
+      int variable = variableOf[d];
+      definitionsOf[variable][counts[variable]++] = d;
+    }
+  }
+
+  /**
+   * Provides the number of definitions in the method.
+   *
+   * @return The number of definitions
+   */
+  int size() {
+    return definitions.length;
+  }
+
+  /**
+   * Provides the number of distinct variables the method defines.
+   *
+   * @return The number of variable ids
+   */
+  int variableCount() {
+    return definitionsOf.length;
+  }
+
+  /**
+   * Provides the definition with the given id.
+   *
+   * @param pDefinition The id of the definition
+   * @return The definition
+   */
+  Definition definition(int pDefinition) {
+    return definitions[pDefinition];
+  }
+
+  /**
+   * Provides the ordinal of the node a definition belongs to.
+   *
+   * @param pDefinition The id of the definition
+   * @return The ordinal of the defining node
+   */
+  int ownerOf(int pDefinition) {
+    return ownerOf[pDefinition];
+  }
+
+  /**
+   * Provides the id of the variable a definition defines.
+   *
+   * @param pDefinition The id of the definition
+   * @return The id of the defined variable
+   */
+  int variableOf(int pDefinition) {
+    return variableOf[pDefinition];
+  }
+
+  /**
+   * Provides the id of the first definition of a node.
+   *
+   * <p>The definitions of node n are {@code firstDefinitionAt(n)} up to, but excluding, {@code
+   * firstDefinitionAt(n + 1)}.
+   *
+   * @param pNode The ordinal of the node, may be the number of nodes
+   * @return The id of the first definition of the node
+   */
+  int firstDefinitionAt(int pNode) {
+    return firstDefinitionAt[pNode];
+  }
+
+  /**
+   * Provides the id of a variable.
+   *
+   * @param pVariable The variable
+   * @return The id of the variable, or {@code -1} if the method never defines it
+   */
+  int variableId(Variable pVariable) {
+    return variableIds.getOrDefault(pVariable, -1);
+  }
+
+  /**
+   * Provides the ids of all definitions of a variable in ascending order.
+   *
+   * <p>The returned array is shared and must not be modified.
+   *
+   * @param pVariable The id of the variable
+   * @return The ids of the definitions of the variable
+   */
+  int[] definitionsOf(int pVariable) {
+    return definitionsOf[pVariable];
+  }
+}
@@ -0,0 +1,315 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes immediate dominators on a graph whose nodes are numbered {@code 0..n-1}.
+ *
+ * <p>The graph is given as successor and predecessor arrays. Post-dominators are obtained by
+ * passing the arrays of the reversed graph. Nodes that are not reachable from the root have no
+ * immediate dominator; they are marked with {@code -1}.
+ *
+ * <p>The immediate dominators are computed either with the iterative algorithm of Cooper, Harvey,
+ * and Kennedy ("A Simple, Fast Dominance Algorithm"), which only stores one {@code idom} entry per
+ * node and intersects dominator paths by walking up along reverse-postorder numbers, or with the
+ * semi-NCA variant of the Lengauer–Tarjan algorithm. The former is fast on the small, mostly
+ * reducible graphs of ordinary methods; the latter needs a single pass and stays near-linear on
+ * very large graphs, where the iterative algorithm needs many passes.
+ */
+final class Dominators {
+
+  private final int root;
+  private final int[][] successors;
+  private final int[][] predecessors;
+  private final int[] reversePostorder;
+  private final int[] orderOf;
+  private final int[] preorder;
+  private final int[] dfsParent;
+  private final int[] idom;
+  private int iterations;
+
+  private Dominators(int pRoot, int[][] pSuccessors, int[][] pPredecessors) {
+    root = pRoot;
+    successors = pSuccessors;
+    predecessors = pPredecessors;
+    orderOf = new int[pSuccessors.length];
+    Arrays.fill(orderOf, -1);
+    dfsParent = new int[pSuccessors.length];
+    Arrays.fill(dfsParent, -1);
+    preorder = new int[pSuccessors.length];
+    reversePostorder = computeReversePostorder();
+    idom = new int[pSuccessors.length];
+    Arrays.fill(idom, -1);
+  }
+
+  /**
+   * Computes the immediate dominators with the algorithm of Cooper, Harvey, and Kennedy.
+   *
+   * @param pRoot The root node, which dominates all reachable nodes
+   * @param pSuccessors The successors of each node
+   * @param pPredecessors The predecessors of each node
+   * @return The dominator information of the graph
+   */
+  static Dominators cooperHarveyKennedy(int pRoot, int[][] pSuccessors, int[][] pPredecessors) {
+    Dominators dominators = new Dominators(pRoot, pSuccessors, pPredecessors);
+    dominators.iterate();
+    return dominators;
+  }
+
+  /**
+   * Computes the immediate dominators with the semi-NCA variant of the Lengauer–Tarjan algorithm.
+   *
+   * <p>Semidominators are computed in reverse preorder of a depth-first spanning tree with a
+   * path-compressed forest; the immediate dominator of each node is then the nearest common
+   * ancestor of its spanning-tree parent and its semidominator in the dominator tree built so far
+   * (Georgiadis, Tarjan, and Werneck, "Finding Dominators in Practice").
+   *
+   * @param pRoot The root node, which dominates all reachable nodes
+   * @param pSuccessors The successors of each node
+   * @param pPredecessors The predecessors of each node
+   * @return The dominator information of the graph
+   */
+  static Dominators lengauerTarjan(int pRoot, int[][] pSuccessors, int[][] pPredecessors) {
+    Dominators dominators = new Dominators(pRoot, pSuccessors, pPredecessors);
+    dominators.semiNca();
+    return dominators;
+  }
+
+  /**
+   * Provides the immediate dominator of every node.
+   *
+   * <p>The root is its own immediate dominator; unreachable nodes have {@code -1}. The returned
+   * array is shared and must not be modified.
+   *
+   * @return The immediate dominators indexed by node
+   */
+  int[] immediateDominators() {
+    return idom;
+  }
+
+  /**
+   * Provides the nodes reachable from the root in reverse postorder.
+   *
+   * <p>The returned array is shared and must not be modified.
+   *
+   * @return The reachable nodes in reverse postorder
+   */
+  int[] reversePostorder() {
+    return reversePostorder;
+  }
+
+  /**
+   * Provides the number of passes the algorithm needed to converge.
+   *
+   * <p>The Lengauer–Tarjan algorithm always needs a single pass.
+   *
+   * @return The number of passes
+   */
+  int iterations() {
+    return iterations;
+  }
+
+  /**
+   * Computes the dominance frontier of every node.
+   *
+   * <p>Uses the runner formulation of Cooper, Harvey, and Kennedy: for every join node b, walk up
+   * the dominator tree from each predecessor of b until reaching the immediate dominator of b;
+   * every node passed on the way has b in its frontier.
+   *
+   * @return The dominance frontier indexed by node, each without duplicates
+   */
+  int[][] frontiers() {
+    List<List<Integer>> frontiers = new ArrayList<>(successors.length);
+    for (int n = 0; n < successors.length; n++) {
+      frontiers.add(new ArrayList<>());
+    }
+
+    for (int b = 0; b < successors.length; b++) {
+      if (idom[b] < 0 || predecessors[b].length < 2) {
+        continue;
+      }
+      for (int p : predecessors[b]) {
+        int runner = p;
+        while (idom[runner] >= 0 && runner != idom[b]) {
+          List<Integer> frontier = frontiers.get(runner);
+          if (!frontier.isEmpty() && frontier.get(frontier.size() - 1) == b) {
+            break; // Everything above was already handled for b.
+          }
+          frontier.add(b);
+          runner = idom[runner];
+        }
+      }
+    }
+
+    int[][] result = new int[successors.length][];
+    for (int n = 0; n < successors.length; n++) {
+      result[n] = frontiers.get(n).stream().mapToInt(Integer::intValue).toArray();
+    }
+    return result;
+  }
+
+  /**
+   * Computes the children of every node in the dominator tree.
+   *
+   * @return The children indexed by node, in ascending node order
+   */
+  int[][] children() {
+    int[] counts = new int[idom.length];
+    for (int n = 0; n < idom.length; n++) {
+      if (n != root && idom[n] >= 0) {
+        counts[idom[n]]++;
+      }
+    }
+    int[][] children = new int[idom.length][];
+    for (int n = 0; n < idom.length; n++) {
+      children[n] = new int[counts[n]];
+      counts[n] = 0;
+    }
+    for (int n = 0; n < idom.length; n++) {
+      if (n != root && idom[n] >= 0) {
+        children[idom[n]][counts[idom[n]]++] = n;
+      }
+    }
+    return children;
+  }
+
+  private void iterate() {
+    idom[root] = root;
+    boolean changed;
+    do {
+      changed = false;
+      iterations++;
+      for (int i = 1; i < reversePostorder.length; i++) {
+        int b = reversePostorder[i];
+        int newIdom = -1;
+        for (int p : predecessors[b]) {
+          if (idom[p] < 0) {
+            continue; // Not processed yet or unreachable.
+          }
+          newIdom = newIdom < 0 ? p : intersect(p, newIdom);
+        }
+        if (idom[b] != newIdom) {
+          idom[b] = newIdom;
+          changed = true;
+        }
+      }
+    } while (changed);
+  }
+
+  private void semiNca() {
+    iterations = 1;
+    int count = reversePostorder.length;
+    // All arrays below are indexed by preorder number, not by node.
+    int[] number = new int[successors.length];
+    Arrays.fill(number, -1);
+    for (int i = 0; i < count; i++) {
+      number[preorder[i]] = i;
+    }
+    int[] parent = new int[count];
+    int[] semi = new int[count];
+    int[] label = new int[count];
+    int[] ancestor = new int[count];
+    int[] dom = new int[count];
+    int[] path = new int[count];
+    for (int i = 0; i < count; i++) {
+      parent[i] = i == 0 ? 0 : number[dfsParent[preorder[i]]];
+      semi[i] = i;
+      label[i] = i;
+      ancestor[i] = -1;
+    }
+
+    for (int w = count - 1; w > 0; w--) {
+      for (int p : predecessors[preorder[w]]) {
+        int v = number[p];
+        if (v < 0) {
+          continue; // Unreachable predecessor.
+        }
+        if (ancestor[v] >= 0) {
+          // Compress the path from v to the root of its forest tree, such that label[v] holds the
+          // vertex with the smallest semidominator on it.
+          int top = 0;
+          int x = v;
+          while (ancestor[ancestor[x]] >= 0) {
+            path[top++] = x;
+            x = ancestor[x];
+          }
+          while (top > 0) {
+            x = path[--top];
+            int a = ancestor[x];
+            if (semi[label[a]] < semi[label[x]]) {
+              label[x] = label[a];
+            }
+            ancestor[x] = ancestor[a];
+          }
+        }
+        int u = ancestor[v] >= 0 ? label[v] : v;
+        semi[w] = Math.min(semi[w], semi[u]);
+      }
+      ancestor[w] = parent[w];
+    }
+
+    dom[0] = 0;
+    for (int w = 1; w < count; w++) {
+      int d = parent[w];
+      while (d > semi[w]) {
+        d = dom[d];
+      }
+      dom[w] = d;
+    }
+    for (int w = 0; w < count; w++) {
+      idom[preorder[w]] = preorder[dom[w]];
+    }
+  }
+
+  private int intersect(int pFirst, int pSecond) {
+    int finger1 = pFirst;
+    int finger2 = pSecond;
+    while (finger1 != finger2) {
+      while (orderOf[finger1] > orderOf[finger2]) {
+        finger1 = idom[finger1];
+      }
+      while (orderOf[finger2] > orderOf[finger1]) {
+        finger2 = idom[finger2];
+      }
+    }
+    return finger1;
+  }
+
+  private int[] computeReversePostorder() {
+    int[] postorder = new int[successors.length];
+    int count = 0;
+    boolean[] visited = new boolean[successors.length];
+    int[] nextSuccessor = new int[successors.length];
+    int[] stack = new int[successors.length];
+    int top = 0;
+
+    int discovered = 0;
+    visited[root] = true;
+    preorder[discovered++] = root;
+    stack[top++] = root;
+    while (top > 0) {
+      int n = stack[top - 1];
+      if (nextSuccessor[n] < successors[n].length) {
+        int s = successors[n][nextSuccessor[n]++];
+        if (!visited[s]) {
+          visited[s] = true;
+          preorder[discovered++] = s;
+          dfsParent[s] = n;
+          stack[top++] = s;
+        }
+      } else {
+        postorder[count++] = n;
+        top--;
+      }
+    }
+
+    int[] order = new int[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = postorder[count - 1 - i];
+      orderOf[order[i]] = i;
+    }
+    return order;
+  }
+}
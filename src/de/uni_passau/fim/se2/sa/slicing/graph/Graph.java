@@ -2,7 +2,9 @@
 
 import com.google.errorprone.annotations.Var;
 import de.uni_passau.fim.se2.sa.slicing.cfg.CFGExtractor;
+import de.uni_passau.fim.se2.sa.slicing.cfg.LineTable;
 import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+import de.uni_passau.fim.se2.sa.slicing.cfg.NodeIdAllocator;
 import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
@@ -16,6 +18,10 @@ public abstract class Graph {
   protected final ClassNode classNode;
 
   protected Graph(ClassNode pClassNode, MethodNode pMethodNode) {
+    this(pClassNode, pMethodNode, AnalysisOptions.defaults().controlFlowEngine());
+  }
+
+  protected Graph(ClassNode pClassNode, MethodNode pMethodNode, CFGExtractor.Engine pEngine) {
     @Var ProgramGraph graph = null;
     if (pClassNode == null) {
       // This should only happen under testing conditions.
@@ -26,7 +32,13 @@ protected Graph(ClassNode pClassNode, MethodNode pMethodNode) {
     }
 
     try {
-      graph = CFGExtractor.buildCFG(pClassNode.name, pMethodNode);
+      graph =
+          CFGExtractor.buildCFG(
+              pClassNode.name,
+              pMethodNode,
+              new NodeIdAllocator(),
+              LineTable.of(pMethodNode.instructions),
+              pEngine);
     } catch (AnalyzerException e) {
       e.printStackTrace(); // ugly but should not happen anyway
     }
@@ -36,6 +48,28 @@ protected Graph(ClassNode pClassNode, MethodNode pMethodNode) {
     classNode = pClassNode;
   }
 
+  /**
+   * Creates an analysis on the control-flow graph of a method's {@link AnalysisContext}.
+   *
+   * @param pContext The context of the method, whose CFG is shared with its other analyses
+   */
+  protected Graph(AnalysisContext pContext) {
+    this(pContext.cfg(), pContext.classNode(), pContext.methodNode());
+  }
+
+  /**
+   * Creates an analysis on an already built control-flow graph of a method.
+   *
+   * @param pCFG The control-flow graph, or {@code null} if it could not be built
+   * @param pClassNode The class that owns the method
+   * @param pMethodNode The method
+   */
+  protected Graph(ProgramGraph pCFG, ClassNode pClassNode, MethodNode pMethodNode) {
+    cfg = pCFG;
+    methodNode = pMethodNode;
+    classNode = pClassNode;
+  }
+
   protected Graph(ProgramGraph pCFG) {
     cfg = pCFG;
     methodNode = null;
@@ -77,9 +111,7 @@ protected ProgramGraph reverseGraph(ProgramGraph pGraph) {
     }
 
     for (Node node : pGraph.getNodes()) {
-      for (Node successor : pGraph.getSuccessors(node)) {
-        reversedGraph.addEdge(successor, node);
-      }
+      pGraph.forEachSuccessor(node, successor -> reversedGraph.addEdge(successor, node));
     }
 
     return reversedGraph;
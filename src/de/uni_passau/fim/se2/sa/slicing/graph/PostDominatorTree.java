@@ -1,5 +1,7 @@
 package de.uni_passau.fim.se2.sa.slicing.graph;
 
+import com.google.common.base.Preconditions;
+import de.uni_passau.fim.se2.sa.slicing.cfg.FrozenGraph;
 import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
 import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
 import de.uni_passau.fim.se2.sa.slicing.output.NodeSorter;
@@ -11,84 +13,220 @@
 /** Provides an analysis computing a post-dominator tree for a CFG. */
 public class PostDominatorTree extends Graph {
 
+  /** The algorithms available to compute the post-dominators of a method. */
+  public enum Engine {
+    /** Iterates over the full post-dominator set of every node until a fixed point is reached. */
+    ITERATIVE_SETS,
+    /**
+     * Iterates over one immediate post-dominator per node with the algorithm of Cooper, Harvey, and
+     * Kennedy.
+     */
+    CHK,
+    /**
+     * Computes the immediate post-dominators in a single pass with the semi-NCA variant of the
+     * Lengauer–Tarjan algorithm.
+     */
+    LENGAUER_TARJAN,
+    /**
+     * Uses {@link #CHK} for ordinary methods and {@link #LENGAUER_TARJAN} for CFGs with at least
+     * {@link PostDominatorTree#AUTO_THRESHOLD} nodes.
+     */
+    AUTO
+  }
+
+  /**
+   * The CFG size from which {@link Engine#AUTO} switches to the Lengauer–Tarjan algorithm.
+   *
+   * <p>Taken from {@code DominatorsBenchmark}: on well-structured methods both algorithms are about
+   * equally fast at every size, but on long loop bodies with many exits the iterative algorithm
+   * grows quadratically and is already more than twice as slow at 100 nodes, exceeding a
+   * millisecond at 1 000. From this size on, Lengauer–Tarjan only loses a few microseconds on the
+   * good cases.
+   */
+  static final int AUTO_THRESHOLD = 100;
+
+  private final Engine engine;
+
+  private FrozenGraph graph;
+  private int[] ipdom;
+
   PostDominatorTree(ClassNode pClassNode, MethodNode pMethodNode) {
+    this(pClassNode, pMethodNode, Engine.AUTO);
+  }
+
+  PostDominatorTree(ClassNode pClassNode, MethodNode pMethodNode, Engine pEngine) {
     super(pClassNode, pMethodNode);
+    engine = pEngine;
   }
 
   PostDominatorTree(ProgramGraph pCFG) {
+    this(pCFG, Engine.AUTO);
+  }
+
+  PostDominatorTree(ProgramGraph pCFG, Engine pEngine) {
     super(pCFG);
+    engine = pEngine;
   }
 
   /**
    * Computes the post-dominator tree of the method.
    *
-   * <p>The implementation uses the {@link #cfg} graph as the starting point.
+   * <p>The implementation uses the {@link #cfg} graph as the starting point. The tree is rooted
+   * at the exit node of the CFG; nodes that cannot reach the exit node are not part of it.
    *
    * @return The post-dominator tree of the control-flow graph
    */
   @Override
   public ProgramGraph computeResult() {
-    ProgramGraph reversedCFG = reverseGraph(cfg);
-    Node entry = reversedCFG.getEntry().orElseThrow(
-            () -> new IllegalStateException("Entry node isn't present in the reversed CFG")
-    );
-    List<Node> allNodes = NodeSorter.sortReversedCFGInPostDominatorOrder(reversedCFG);
+    graph = cfg.freeze();
+    if (graph.exit() < 0) {
+      throw new IllegalStateException("Exit node isn't present in the CFG");
+    }
+    Node exit = graph.node(graph.exit());
 
-    Map<Node, Set<Node>> postDominators = initializePostDominators(allNodes, entry);
+    if (engine == Engine.ITERATIVE_SETS) {
+      ProgramGraph reversedCFG = reverseGraph(cfg);
+      List<Node> allNodes = NodeSorter.sortReversedCFGInPostDominatorOrder(reversedCFG);
 
-    // Iteratively updating each node's postdom set
-    computeFixedPointPostDominators(allNodes, entry, postDominators);
+      Map<Node, Set<Node>> postDominators = initializePostDominators(allNodes, exit);
+
+      // Iteratively updating each node's postdom set
+      computeFixedPointPostDominators(allNodes, exit, postDominators);
+
+      ipdom = immediatePostDominatorsFromSets(postDominators);
+    } else {
+      ipdom = computeImmediatePostDominators();
+    }
 
     // Building Post-Dominator Tree
-    return buildTreeFromPostDominators(allNodes, entry, postDominators);
+    return buildTreeFromImmediatePostDominators();
   }
 
-  private static Map<Node, Set<Node>> initializePostDominators(List<Node> allNodes, Node entry) {
-    Map<Node, Set<Node>> postDominators = new HashMap<>();
-    for (Node n : allNodes) {
-      if (n.equals(entry)) {
-        postDominators.put(n, Set.of(n));
-      } else {
-        postDominators.put(n, new HashSet<>(allNodes));
-      }
-    }
-    return postDominators;
+  /**
+   * Provides the immediate post-dominator of every CFG node, as computed by the last call of
+   * {@link #computeResult()}.
+   *
+   * <p>The array is indexed by the node ordinals of the CFG's {@link FrozenGraph}, see {@link
+   * #ordinalOf(Node)}. The exit node is its own immediate post-dominator; nodes that are not part
+   * of the tree have {@code -1}. The returned array is shared and must not be modified.
+   *
+   * @return The immediate post-dominators indexed by node ordinal
+   * @throws IllegalStateException If the tree was not computed yet
+   */
+  int[] getImmediatePostDominators() {
+    Preconditions.checkState(ipdom != null, "The post-dominator tree was not computed yet");
+    return ipdom;
   }
 
-  private static ProgramGraph buildTreeFromPostDominators(List<Node> allNodes, Node entry, Map<Node, Set<Node>> postDominators) {
-    ProgramGraph pPDT = new ProgramGraph();
-    pPDT.addNode(entry);
-    Queue<Node> queue = new LinkedList<>();
-    queue.add(entry);
+  /**
+   * Provides the ordinal of a CFG node in {@link #getImmediatePostDominators()}.
+   *
+   * @param pNode A node of the CFG
+   * @return The ordinal of the node, or {@code -1} if it is not part of the CFG
+   * @throws IllegalStateException If the tree was not computed yet
+   */
+  int ordinalOf(Node pNode) {
+    Preconditions.checkState(graph != null, "The post-dominator tree was not computed yet");
+    return graph.ordinalOf(pNode);
+  }
 
-    // Remove self nodes
-    Map<Node, Set<Node>> strictPostDominators = new HashMap<>();
-    for (Node n : allNodes) {
-      Set<Node> postDomSet = new HashSet<>(postDominators.get(n));
-      postDomSet.remove(n);
-      strictPostDominators.put(n, postDomSet);
-    }
+  /**
+   * Provides the CFG node with the given ordinal.
+   *
+   * @param pOrdinal The ordinal of the node
+   * @return The node
+   * @throws IllegalStateException If the tree was not computed yet
+   */
+  Node nodeAt(int pOrdinal) {
+    Preconditions.checkState(graph != null, "The post-dominator tree was not computed yet");
+    return graph.node(pOrdinal);
+  }
 
-    while (!queue.isEmpty()) {
-      Node m = queue.poll(); // Get next node
+  /** Computes the immediate post-dominators as dominators of the reversed CFG. */
+  private int[] computeImmediatePostDominators() {
+    return immediatePostDominators(graph, engine);
+  }
 
-      for (Node n : allNodes) {
-        Set<Node> postDomCandidates = strictPostDominators.get(n);
-        if (!postDomCandidates.isEmpty() && postDomCandidates.contains(m)) {
-          postDomCandidates.remove(m);
-          if (postDomCandidates.isEmpty()) {
-            // Add n as child of m in PDT
-            pPDT.addNode(n);
-            pPDT.addEdge(m, n);
-            queue.add(n);
-          }
+  /**
+   * Computes the immediate post-dominators of a CFG snapshot without building a tree.
+   *
+   * @param pGraph The snapshot of the CFG; its exit node is the first node without successors
+   * @param pEngine The algorithm to use, any but {@link Engine#ITERATIVE_SETS}
+   * @return The immediate post-dominators indexed by node ordinal, see {@link
+   *     #getImmediatePostDominators()}
+   * @throws IllegalArgumentException If the engine works on node sets
+   * @throws IllegalStateException If the CFG has no exit node
+   */
+  static int[] immediatePostDominators(FrozenGraph pGraph, Engine pEngine) {
+    Preconditions.checkArgument(
+        pEngine != Engine.ITERATIVE_SETS, "The iterative engine needs a ProgramGraph");
+    Preconditions.checkState(pGraph.exit() >= 0, "Exit node isn't present in the CFG");
+    // The successors of the reversed CFG are the predecessors of the CFG and vice versa.
+    int[][] successors = pGraph.predecessorArrays();
+    int[][] predecessors = pGraph.successorArrays();
+
+    boolean lengauerTarjan =
+        pEngine == Engine.LENGAUER_TARJAN
+            || (pEngine == Engine.AUTO && pGraph.size() >= AUTO_THRESHOLD);
+    Dominators postDominators =
+        lengauerTarjan
+            ? Dominators.lengauerTarjan(pGraph.exit(), successors, predecessors)
+            : Dominators.cooperHarveyKennedy(pGraph.exit(), successors, predecessors);
+    return postDominators.immediateDominators();
+  }
+
+  /**
+   * Picks the immediate post-dominator of every node from its full post-dominator set.
+   *
+   * <p>The strict post-dominators of a node form a chain in the tree, hence the immediate one is
+   * the one with the largest post-dominator set. This is linear in the total size of the sets.
+   */
+  private int[] immediatePostDominatorsFromSets(Map<Node, Set<Node>> pPostDominators) {
+    int[] result = new int[graph.size()];
+    Arrays.fill(result, -1);
+    for (Map.Entry<Node, Set<Node>> entry : pPostDominators.entrySet()) {
+      int node = graph.ordinalOf(entry.getKey());
+      result[node] = node;
+      int largest = 0;
+      for (Node candidate : entry.getValue()) {
+        int size = pPostDominators.get(candidate).size();
+        if (!candidate.equals(entry.getKey()) && size > largest) {
+          largest = size;
+          result[node] = graph.ordinalOf(candidate);
         }
       }
     }
+    return result;
+  }
 
+  /** Builds the tree with one edge from every node to its immediate post-dominator. */
+  private ProgramGraph buildTreeFromImmediatePostDominators() {
+    ProgramGraph pPDT = new ProgramGraph();
+    for (int n = 0; n < graph.size(); n++) {
+      if (ipdom[n] < 0) {
+        continue; // The node cannot reach the exit node.
+      }
+      pPDT.addNode(graph.node(n));
+      if (ipdom[n] != n) {
+        pPDT.addNode(graph.node(ipdom[n]));
+        pPDT.addEdge(graph.node(ipdom[n]), graph.node(n));
+      }
+    }
     return pPDT;
   }
 
+  private static Map<Node, Set<Node>> initializePostDominators(List<Node> allNodes, Node entry) {
+    Map<Node, Set<Node>> postDominators = new HashMap<>();
+    for (Node n : allNodes) {
+      if (n.equals(entry)) {
+        postDominators.put(n, Set.of(n));
+      } else {
+        postDominators.put(n, new HashSet<>(allNodes));
+      }
+    }
+    return postDominators;
+  }
+
   private void computeFixedPointPostDominators(List<Node> allNodes, Node entry, Map<Node, Set<Node>> postDominators) {
     boolean changed;
     do {
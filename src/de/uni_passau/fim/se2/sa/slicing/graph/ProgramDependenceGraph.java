@@ -1,9 +1,11 @@
 package de.uni_passau.fim.se2.sa.slicing.graph;
 
+import de.uni_passau.fim.se2.sa.slicing.cfg.FrozenGraph;
 import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
 import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
 
 import java.util.*;
 
@@ -13,25 +15,94 @@ public class ProgramDependenceGraph extends Graph implements Sliceable<Node> {
   private ProgramGraph pdg;
   private final ProgramGraph cdg;
   private final ProgramGraph ddg;
+  private final SolverStatistics dataDependenceStatistics;
 
   public ProgramDependenceGraph(ClassNode pClassNode, MethodNode pMethodNode) {
-    super(pClassNode, pMethodNode);
-    pdg = null;
+    this(pClassNode, pMethodNode, new DefUseCache(), AnalysisOptions.defaults());
+  }
+
+  /**
+   * Creates the program-dependence graph of a method.
+   *
+   * <p>If the class node is {@code null}, which should only happen under testing conditions, or
+   * the CFG of the method cannot be built, no dependences are computed and {@link
+   * #computeResult()} fails with an {@link IllegalStateException}.
+   *
+   * @param pClassNode The class that owns the method
+   * @param pMethodNode The method
+   * @param pDefUseCache The def/use cache shared with other analyses of the same session
+   * @param pOptions The algorithms to use for the underlying analyses
+   */
+  public ProgramDependenceGraph(
+      ClassNode pClassNode,
+      MethodNode pMethodNode,
+      DefUseCache pDefUseCache,
+      AnalysisOptions pOptions) {
+    this(
+        contextOf(pClassNode, pMethodNode, pDefUseCache, pOptions),
+        pClassNode,
+        pClassNode == null ? null : pMethodNode);
+  }
 
-    if (cfg != null) {
-      cdg = new ControlDependenceGraph(pClassNode, pMethodNode).computeResult();
-      ddg = new DataDependenceGraph(pClassNode, pMethodNode).computeResult();
+  /**
+   * Creates the program-dependence graph of a method from its analysis context.
+   *
+   * <p>The control and data dependences are computed on the CFG of the context, which is built
+   * only once for all three graphs.
+   *
+   * @param pContext The context of the method
+   */
+  public ProgramDependenceGraph(AnalysisContext pContext) {
+    this(pContext, pContext.classNode(), pContext.methodNode());
+  }
+
+  private ProgramDependenceGraph(
+      AnalysisContext pContext, ClassNode pClassNode, MethodNode pMethodNode) {
+    super(pContext == null ? null : pContext.cfg(), pClassNode, pMethodNode);
+    pdg = null;
+    if (pContext != null) {
+      cdg = new ControlDependenceGraph(pContext).computeResult();
+      DataDependenceGraph dataDependenceGraph = new DataDependenceGraph(pContext);
+      ddg = dataDependenceGraph.computeResult();
+      dataDependenceStatistics = dataDependenceGraph.getSolverStatistics().orElse(null);
     } else {
       cdg = null;
       ddg = null;
+      dataDependenceStatistics = null;
+    }
+  }
+
+  private static AnalysisContext contextOf(
+      ClassNode pClassNode,
+      MethodNode pMethodNode,
+      DefUseCache pDefUseCache,
+      AnalysisOptions pOptions) {
+    if (pClassNode == null) {
+      return null;
+    }
+    try {
+      return AnalysisContext.of(pClassNode, pMethodNode, pDefUseCache, pOptions);
+    } catch (AnalyzerException e) {
+      e.printStackTrace(); // ugly but should not happen anyway
+      return null;
     }
   }
 
   public ProgramDependenceGraph(ProgramGraph pProgramGraph) {
-    super(null);
+    super((ProgramGraph) null);
     pdg = pProgramGraph;
     cdg = null;
     ddg = null;
+    dataDependenceStatistics = null;
+  }
+
+  /**
+   * Provides how much work the reaching-definitions solver of the data-dependence graph needed.
+   *
+   * @return The solver statistics, or an empty optional if this graph was not built from a method
+   */
+  public Optional<SolverStatistics> getDataDependenceStatistics() {
+    return Optional.ofNullable(dataDependenceStatistics);
   }
 
   /**
@@ -78,28 +149,38 @@ public ProgramGraph computeResult() {
   public Set<Node> backwardSlice(Node pCriterion) {
     computeResult();
 
+    FrozenGraph graph = pdg.freeze();
+    int criterion = graph.ordinalOf(pCriterion);
     // Check if the criterion exists in the graph
-    if (!pdg.getNodes().contains(pCriterion)) {
+    if (criterion < 0) {
       System.err.println("Warning: Slicing criterion at line " +
               pCriterion.getLineNumber() + " was not executed during dynamic run.");
       return Collections.emptySet();
     }
 
-    Set<Node> slice = new HashSet<>();
-    Deque<Node> worklist = new ArrayDeque<>();
-
-    worklist.add(pCriterion);
-    slice.add(pCriterion);
-
-    while (!worklist.isEmpty()) {
-      Node current = worklist.poll();
-      for (Node pred : pdg.getPredecessors(current)) {
-        if (slice.add(pred)) { // Only add if not already in slice
-          worklist.add(pred);
+    BitSet visited = new BitSet(graph.size());
+    int[] worklist = new int[graph.size()];
+    int head = 0;
+    int tail = 0;
+
+    worklist[tail++] = criterion;
+    visited.set(criterion);
+
+    while (head < tail) {
+      int current = worklist[head++];
+      for (int i = graph.predecessorOffset(current); i < graph.predecessorOffset(current + 1); i++) {
+        int pred = graph.predecessorSource(i);
+        if (!visited.get(pred)) { // Only add if not already in slice
+          visited.set(pred);
+          worklist[tail++] = pred;
         }
       }
     }
 
+    Set<Node> slice = new HashSet<>();
+    for (int n = visited.nextSetBit(0); n >= 0; n = visited.nextSetBit(n + 1)) {
+      slice.add(graph.node(n));
+    }
     return slice;
   }
 }
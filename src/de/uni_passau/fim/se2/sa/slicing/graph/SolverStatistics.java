@@ -0,0 +1,15 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+/**
+ * Describes how much work a fixed-point solver needed to converge.
+ *
+ * @param iterations The number of passes over the nodes of the graph
+ * @param nodeVisits The number of times the transfer function of any node was evaluated
+ */
+public record SolverStatistics(int iterations, int nodeVisits) {
+
+  @Override
+  public String toString() {
+    return iterations + " iterations, " + nodeVisits + " node visits";
+  }
+}
@@ -0,0 +1,375 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import br.usp.each.saeg.asm.defuse.Variable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.FrozenGraph;
+import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Derives the data-dependence graph from an SSA form of the method.
+ *
+ * <p>The construction follows Cytron et al.: dominators and dominance frontiers of the CFG are
+ * computed, phi functions are placed at the iterated dominance frontiers of the definitions of
+ * every variable, and a walk over the dominator tree renames all uses to the SSA value that is
+ * live at that point. No iterative reaching-definitions fixed point is necessary.
+ *
+ * <p>The SSA values of the original definitions are the ids of a {@link DefinitionIndex}. A use
+ * that reads a phi value depends on all original definitions that flow into the phi, directly or
+ * through other phis. These sets are computed once per strongly connected component of the phi
+ * graph, such that the result equals the one of the reaching-definitions analysis.
+ */
+final class SsaDefUseChains {
+
+  /** The SSA value of a variable that has not been defined on the current path. */
+  private static final int UNDEFINED = -1;
+
+  private final FrozenGraph cfg;
+  private final DefUseSummary defUse;
+
+  private List<Node> nodes;
+  private DefinitionIndex definitions;
+
+  /** The phis placed at each node, as phi ids. */
+  private final List<List<Integer>> phisAt = new ArrayList<>();
+  /** The variable id of each phi. */
+  private final List<Integer> phiVariables = new ArrayList<>();
+  /** The operands of each phi as SSA values. */
+  private final List<List<Integer>> phiOperands = new ArrayList<>();
+
+  private int[][] usedVariables;
+  private int[][] useValues;
+
+  SsaDefUseChains(FrozenGraph pCFG, DefUseSummary pDefUse) {
+    cfg = pCFG;
+    defUse = pDefUse;
+  }
+
+  /**
+   * Builds the SSA form and derives the data-dependence graph from its use lists.
+   *
+   * @return The data-dependence graph
+   */
+  ProgramGraph computeDataDependences() {
+    FrozenGraph graph = cfg;
+    nodes = graph.nodes();
+    definitions = new DefinitionIndex(nodes, defUse);
+
+    // A virtual root without definitions precedes all nodes without predecessors and all nodes
+    // that cannot be reached otherwise.  It defines nothing, hence it does not change which
+    // definitions reach a use.
+    int root = nodes.size();
+    int[][] successors = Arrays.copyOf(graph.successorArrays(), root + 1);
+    int[][] predecessors = Arrays.copyOf(graph.predecessorArrays(), root + 1);
+    connectRoot(root, successors, predecessors);
+
+    Dominators dominators = Dominators.cooperHarveyKennedy(root, successors, predecessors);
+    placePhis(dominators.frontiers());
+    rename(root, successors, dominators.children());
+    return buildGraph(resolvePhis());
+  }
+
+  private void connectRoot(int pRoot, int[][] pSuccessors, int[][] pPredecessors) {
+    List<Integer> roots = new ArrayList<>();
+    boolean[] reached = new boolean[pRoot];
+    for (int n = 0; n < pRoot; n++) {
+      if (pPredecessors[n].length == 0) {
+        roots.add(n);
+        markReachable(n, pSuccessors, reached);
+      }
+    }
+    for (int n = 0; n < pRoot; n++) {
+      if (!reached[n]) {
+        roots.add(n);
+        markReachable(n, pSuccessors, reached);
+      }
+    }
+
+    pSuccessors[pRoot] = roots.stream().mapToInt(Integer::intValue).toArray();
+    pPredecessors[pRoot] = new int[0];
+    for (int r : pSuccessors[pRoot]) {
+      int[] extended = Arrays.copyOf(pPredecessors[r], pPredecessors[r].length + 1);
+      extended[extended.length - 1] = pRoot;
+      pPredecessors[r] = extended;
+    }
+  }
+
+  private static void markReachable(int pStart, int[][] pSuccessors, boolean[] pReached) {
+    if (pReached[pStart]) {
+      return;
+    }
+    int[] stack = new int[pReached.length];
+    int top = 0;
+    pReached[pStart] = true;
+    stack[top++] = pStart;
+    while (top > 0) {
+      int n = stack[--top];
+      for (int s : pSuccessors[n]) {
+        if (!pReached[s]) {
+          pReached[s] = true;
+          stack[top++] = s;
+        }
+      }
+    }
+  }
+
+  /** Places phis at the iterated dominance frontier of the definitions of each variable. */
+  private void placePhis(int[][] pFrontiers) {
+    for (int n = 0; n <= nodes.size(); n++) {
+      phisAt.add(new ArrayList<>());
+    }
+
+    int[] hasPhiFor = new int[nodes.size() + 1];
+    int[] queuedFor = new int[nodes.size() + 1];
+    Arrays.fill(hasPhiFor, -1);
+    Arrays.fill(queuedFor, -1);
+    int[] worklist = new int[nodes.size() + 1];
+
+    for (int v = 0; v < definitions.variableCount(); v++) {
+      int size = 0;
+      for (int d : definitions.definitionsOf(v)) {
+        int owner = definitions.ownerOf(d);
+        if (queuedFor[owner] != v) {
+          queuedFor[owner] = v;
+          worklist[size++] = owner;
+        }
+      }
+      while (size > 0) {
+        int n = worklist[--size];
+        for (int f : pFrontiers[n]) {
+          if (hasPhiFor[f] == v) {
+            continue;
+          }
+          hasPhiFor[f] = v;
+          phisAt.get(f).add(phiVariables.size());
+          phiVariables.add(v);
+          phiOperands.add(new ArrayList<>());
+          if (queuedFor[f] != v) {
+            queuedFor[f] = v;
+            worklist[size++] = f;
+          }
+        }
+      }
+    }
+  }
+
+  /** Renames all uses and phi operands by walking the dominator tree in preorder. */
+  private void rename(int pRoot, int[][] pSuccessors, int[][] pChildren) {
+    usedVariables = new int[nodes.size()][];
+    useValues = new int[nodes.size()][];
+
+    int[] current = new int[definitions.variableCount()];
+    Arrays.fill(current, UNDEFINED);
+
+    // The undo log remembers the variable and its previous value for every renaming, such that
+    // leaving a dominator-tree node restores the values of its parent.
+    int[] undoVariables = new int[definitions.size() + phiVariables.size()];
+    int[] undoValues = new int[undoVariables.length];
+    int undoSize = 0;
+
+    int[] stack = new int[pChildren.length];
+    int[] nextChild = new int[pChildren.length];
+    int[] undoMark = new int[pChildren.length];
+    int top = 0;
+    stack[top++] = pRoot;
+    undoSize = enter(pRoot, pSuccessors, current, undoVariables, undoValues, undoSize);
+
+    while (top > 0) {
+      int n = stack[top - 1];
+      if (nextChild[n] < pChildren[n].length) {
+        int child = pChildren[n][nextChild[n]++];
+        int mark = undoSize;
+        undoSize = enter(child, pSuccessors, current, undoVariables, undoValues, undoSize);
+        undoMark[child] = mark;
+        stack[top++] = child;
+      } else {
+        top--;
+        while (undoSize > undoMark[n]) {
+          undoSize--;
+          current[undoVariables[undoSize]] = undoValues[undoSize];
+        }
+      }
+    }
+  }
+
+  /**
+   * Processes a node during renaming: defines its phis, records the values of its uses, defines
+   * its own definitions and fills the phi operands of its successors.
+   *
+   * @return The new size of the undo log
+   */
+  private int enter(
+      int pNode,
+      int[][] pSuccessors,
+      int[] pCurrent,
+      int[] pUndoVariables,
+      int[] pUndoValues,
+      int pUndoSize) {
+    int undoSize = pUndoSize;
+    for (int phi : phisAt.get(pNode)) {
+      int variable = phiVariables.get(phi);
+      pUndoVariables[undoSize] = variable;
+      pUndoValues[undoSize++] = pCurrent[variable];
+      pCurrent[variable] = encodePhi(phi);
+    }
+
+    if (pNode < nodes.size()) {
+      List<Integer> variables = new ArrayList<>();
+      for (Variable variable : defUse.usedBy(nodes.get(pNode).getInstruction())) {
+        int id = definitions.variableId(variable);
+        if (id >= 0) {
+          variables.add(id);
+        }
+      }
+      usedVariables[pNode] = variables.stream().mapToInt(Integer::intValue).toArray();
+      useValues[pNode] = new int[usedVariables[pNode].length];
+      for (int i = 0; i < usedVariables[pNode].length; i++) {
+        useValues[pNode][i] = pCurrent[usedVariables[pNode][i]];
+      }
+
+      for (int d = definitions.firstDefinitionAt(pNode);
+          d < definitions.firstDefinitionAt(pNode + 1);
+          d++) {
+        int variable = definitions.variableOf(d);
+        pUndoVariables[undoSize] = variable;
+        pUndoValues[undoSize++] = pCurrent[variable];
+        pCurrent[variable] = d;
+      }
+    }
+
+    for (int s : pSuccessors[pNode]) {
+      for (int phi : phisAt.get(s)) {
+        phiOperands.get(phi).add(pCurrent[phiVariables.get(phi)]);
+      }
+    }
+    return undoSize;
+  }
+
+  /**
+   * Computes for every phi the original definitions that flow into it.
+   *
+   * <p>Phis that depend on each other form strongly connected components, e.g., along loops. The
+   * components are found with Tarjan's algorithm, which emits them in reverse topological order,
+   * hence every component can be completed from its own operands and the finished components it
+   * depends on.
+   *
+   * @return The reaching definitions indexed by phi id
+   */
+  private BitSet[] resolvePhis() {
+    int phiCount = phiVariables.size();
+    BitSet[] reaching = new BitSet[phiCount];
+    int[] index = new int[phiCount];
+    int[] lowLink = new int[phiCount];
+    boolean[] onStack = new boolean[phiCount];
+    Arrays.fill(index, -1);
+    int[] sccStack = new int[phiCount];
+    int sccTop = 0;
+    int[] callStack = new int[phiCount];
+    int[] nextOperand = new int[phiCount];
+    int counter = 0;
+
+    for (int start = 0; start < phiCount; start++) {
+      if (index[start] >= 0) {
+        continue;
+      }
+      int top = 0;
+      callStack[top++] = start;
+      index[start] = lowLink[start] = counter++;
+      sccStack[sccTop++] = start;
+      onStack[start] = true;
+
+      while (top > 0) {
+        int phi = callStack[top - 1];
+        List<Integer> operands = phiOperands.get(phi);
+        if (nextOperand[phi] < operands.size()) {
+          int operand = operands.get(nextOperand[phi]++);
+          if (!isPhi(operand)) {
+            continue;
+          }
+          int other = decodePhi(operand);
+          if (index[other] < 0) {
+            index[other] = lowLink[other] = counter++;
+            sccStack[sccTop++] = other;
+            onStack[other] = true;
+            callStack[top++] = other;
+          } else if (onStack[other]) {
+            lowLink[phi] = Math.min(lowLink[phi], index[other]);
+          }
+          continue;
+        }
+
+        top--;
+        if (top > 0) {
+          int parent = callStack[top - 1];
+          lowLink[parent] = Math.min(lowLink[parent], lowLink[phi]);
+        }
+        if (lowLink[phi] == index[phi]) {
+          // Pop the component and compute its shared set of reaching definitions.
+          BitSet component = new BitSet();
+          int first = sccTop;
+          do {
+            first--;
+          } while (sccStack[first] != phi);
+          for (int i = first; i < sccTop; i++) {
+            for (int operand : phiOperands.get(sccStack[i])) {
+              if (isPhi(operand)) {
+                BitSet finished = reaching[decodePhi(operand)];
+                if (finished != null) {
+                  component.or(finished);
+                }
+              } else if (operand != UNDEFINED) {
+                component.set(operand);
+              }
+            }
+          }
+          for (int i = first; i < sccTop; i++) {
+            onStack[sccStack[i]] = false;
+            reaching[sccStack[i]] = component;
+          }
+          sccTop = first;
+        }
+      }
+    }
+    return reaching;
+  }
+
+  private ProgramGraph buildGraph(BitSet[] pReachingPhis) {
+    ProgramGraph ddg = new ProgramGraph();
+    for (int n = 0; n < nodes.size(); n++) {
+      Node use = nodes.get(n);
+      for (int value : useValues[n]) {
+        if (isPhi(value)) {
+          BitSet reaching = pReachingPhis[decodePhi(value)];
+          for (int d = reaching.nextSetBit(0); d >= 0; d = reaching.nextSetBit(d + 1)) {
+            addEdge(ddg, definitions.definition(d).node(), use);
+          }
+        } else if (value != UNDEFINED) {
+          addEdge(ddg, definitions.definition(value).node(), use);
+        }
+      }
+    }
+    return ddg;
+  }
+
+  private static void addEdge(ProgramGraph pGraph, Node pDefinition, Node pUse) {
+    pGraph.addNode(pDefinition);
+    pGraph.addNode(pUse);
+    pGraph.addEdge(pDefinition, pUse);
+  }
+
+  private static int encodePhi(int pPhi) {
+    return -2 - pPhi;
+  }
+
+  private static boolean isPhi(int pValue) {
+    return pValue < UNDEFINED;
+  }
+
+  private static int decodePhi(int pValue) {
+    return -2 - pValue;
+  }
+}
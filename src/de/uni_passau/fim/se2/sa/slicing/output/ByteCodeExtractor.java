@@ -26,11 +26,11 @@ public String extract() {
         continue; // skip start node
       }
 
-      if (nodeID.matches("-?\\d+")) {
+      if (node.getInstruction() != null) {
         builder.append(
             String.format(
                 "(line: %4d, id: %4d)  %s%n",
-                node.getLineNumber(), Integer.parseInt(nodeID), prettyPrint));
+                node.getLineNumber(), node.getNumericId(), prettyPrint));
       } else {
         builder.append(
             String.format("(line: %4d, id: %s)  %s%n", node.getLineNumber(), nodeID, prettyPrint));
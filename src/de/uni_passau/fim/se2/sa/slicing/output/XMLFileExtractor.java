@@ -27,11 +27,11 @@ public String extract() {
         continue;
       }
 
-      if (nodeID.matches("-?\\d+")) {
+      if (node.getInstruction() != null) {
         builder.append(
             String.format(
                 "  <line nr=\"%d\" id=\"%d\" instruction=\"%s\"/>%n",
-                node.getLineNumber(), Integer.parseInt(nodeID), prettyPrint));
+                node.getLineNumber(), node.getNumericId(), prettyPrint));
       } else {
         builder.append(
             String.format(
@@ -0,0 +1,106 @@
+package de.uni_passau.fim.se2.sa.slicing;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.LocalVariableTable;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisContext;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisOptions;
+import de.uni_passau.fim.se2.sa.slicing.graph.DefUseCache;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resolving every criterion of a method on its own, which walks the CFG for each
+ * criterion, with building one {@link CriterionResolver} index and looking all criteria up in it.
+ *
+ * <p>Run with {@code mvn test-compile} followed by {@code java -cp
+ * target/test-classes:target/classes:<test classpath> ...slicing.CriterionResolverBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CriterionResolverBenchmark {
+
+    /** A class of the examples and one of its methods. */
+    @Param({"Calculator:evaluate:(Ljava/lang/String;)I", "NestedLoop:nestedWhileForLoops:()I"})
+    public String target;
+
+    private AnalysisContext context;
+    private LocalVariableTable table;
+    private final List<Integer> lines = new ArrayList<>();
+    private final List<String> variables = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void load() throws IOException, AnalyzerException {
+        String[] parts = target.split(":");
+        ParsedClass parsedClass = ParsedClass.read("de.uni_passau.fim.se2.sa.examples." + parts[0]);
+        MethodNode methodNode = parsedClass.method(parts[1], parts[2]).orElseThrow();
+        context = AnalysisContext.of(
+                parsedClass.classNode(), methodNode, new DefUseCache(), AnalysisOptions.defaults());
+        context.cfg().freeze();
+        table = parsedClass.localVariableTable(methodNode);
+        for (AbstractInsnNode instruction : methodNode.instructions) {
+            if (instruction instanceof LineNumberNode lineNumberNode) {
+                methodNode.localVariables.forEach(variable -> {
+                    lines.add(lineNumberNode.line);
+                    variables.add(variable.name);
+                });
+            }
+        }
+    }
+
+    @Benchmark
+    public void eachCriterion(Blackhole pBlackhole) {
+        for (int i = 0; i < lines.size(); i++) {
+            try {
+                pBlackhole.consume(CriterionResolver.resolve(context.cfg(), context.nodeIds(),
+                        context.lineTable(), table, lines.get(i), variables.get(i)));
+            } catch (IllegalStateException e) {
+                pBlackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void index(Blackhole pBlackhole) {
+        CriterionResolver resolver =
+                CriterionResolver.of(context.cfg(), context.lineTable(), table);
+        for (int i = 0; i < lines.size(); i++) {
+            try {
+                pBlackhole.consume(resolver.resolve(lines.get(i), variables.get(i)));
+            } catch (IllegalStateException e) {
+                pBlackhole.consume(e);
+            }
+        }
+    }
+
+    public static void main(String[] pArgs) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CriterionResolverBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
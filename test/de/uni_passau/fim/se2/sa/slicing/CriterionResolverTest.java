@@ -0,0 +1,143 @@
+package de.uni_passau.fim.se2.sa.slicing;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.LocalVariableTable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisContext;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisOptions;
+import de.uni_passau.fim.se2.sa.slicing.graph.DefUseCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.LocalVariableNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriterionResolverTest {
+
+    private static final String EXAMPLES = ExampleClasses.PACKAGE;
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testResolve_Index_ShouldEqualSingleLineResolution(String pClassName)
+            throws IOException, AnalyzerException {
+        ParsedClass parsedClass = ParsedClass.read(EXAMPLES + pClassName);
+        Set<String> names = new TreeSet<>();
+        for (FieldNode field : parsedClass.classNode().fields) {
+            names.add(field.name);
+        }
+
+        for (MethodNode methodNode : parsedClass.classNode().methods) {
+            AnalysisContext context = AnalysisContext.of(parsedClass.classNode(), methodNode,
+                    new DefUseCache(), AnalysisOptions.defaults());
+            LocalVariableTable table = parsedClass.localVariableTable(methodNode);
+            CriterionResolver resolver =
+                    CriterionResolver.of(context.cfg(), context.lineTable(), table);
+            Set<String> variables = new TreeSet<>(names);
+            if (methodNode.localVariables != null) {
+                methodNode.localVariables.stream().map(v -> v.name).forEach(variables::add);
+            }
+
+            for (AbstractInsnNode instruction : methodNode.instructions) {
+                if (!(instruction instanceof LineNumberNode lineNumberNode)) {
+                    continue;
+                }
+                for (String variable : variables) {
+                    Node expected = resolveOrNull(() -> CriterionResolver.resolve(
+                            context.cfg(), context.nodeIds(), context.lineTable(), table,
+                            lineNumberNode.line, variable));
+                    Node actual = resolveOrNull(
+                            () -> resolver.resolve(lineNumberNode.line, variable));
+                    assertEquals(expected, actual,
+                            methodNode.name + " line " + lineNumberNode.line + " " + variable);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testResolve_StoreAndReturn_ShouldPreferStoreOverLoad()
+            throws IOException, AnalyzerException {
+        CriterionResolver resolver = resolverOf(EXAMPLES + "IsOdd", "isOdd", "(I)Z");
+
+        assertEquals(Opcodes.ISTORE, resolver.resolve(8, "isOdd").getInstruction().getOpcode());
+        assertEquals(Opcodes.IRETURN, resolver.resolve(10, "isOdd").getInstruction().getOpcode());
+        assertEquals(Opcodes.ILOAD, resolver.resolve(7, "num").getInstruction().getOpcode());
+    }
+
+    @Test
+    void testResolve_Slot_ShouldMatchVariableWithAndWithoutTable()
+            throws IOException, AnalyzerException {
+        ParsedClass parsedClass = ParsedClass.read(EXAMPLES + "IsOdd");
+        MethodNode methodNode = parsedClass.method("isOdd", "(I)Z").orElseThrow();
+        AnalysisContext context = AnalysisContext.of(parsedClass.classNode(), methodNode,
+                new DefUseCache(), AnalysisOptions.defaults());
+        CriterionResolver named = CriterionResolver.of(context.cfg(), context.lineTable(),
+                parsedClass.localVariableTable(methodNode));
+        CriterionResolver unnamed = CriterionResolver.of(context.cfg(), context.lineTable(), null);
+
+        for (LocalVariableNode variable : methodNode.localVariables) {
+            for (int line : List.of(5, 6, 7, 8, 10)) {
+                Node expected = resolveOrNull(() -> named.resolve(line, variable.name));
+                assertEquals(expected, resolveOrNull(() -> named.resolve(line, variable.index)));
+                assertEquals(expected, resolveOrNull(() -> unnamed.resolve(line, variable.index)));
+            }
+        }
+        assertEquals(Opcodes.ISTORE, unnamed.resolve(8, 3).getInstruction().getOpcode());
+        assertThrows(IllegalStateException.class, () -> unnamed.resolve(8, 1));
+    }
+
+    @Test
+    void testResolve_UnknownLineOrVariable_ShouldThrow() throws IOException, AnalyzerException {
+        CriterionResolver resolver = resolverOf(EXAMPLES + "IsOdd", "isOdd", "(I)Z");
+
+        assertThrows(IllegalStateException.class, () -> resolver.resolve(99, "isOdd"));
+        assertThrows(IllegalStateException.class, () -> resolver.resolve(10, "num"));
+    }
+
+    @Test
+    void testResolve_NoLocalVariableTable_ShouldThrow() throws IOException, AnalyzerException {
+        ParsedClass parsedClass = ParsedClass.read(EXAMPLES + "IsOdd");
+        MethodNode methodNode = parsedClass.method("isOdd", "(I)Z").orElseThrow();
+        AnalysisContext context = AnalysisContext.of(parsedClass.classNode(), methodNode,
+                new DefUseCache(), AnalysisOptions.defaults());
+
+        CriterionResolver resolver =
+                CriterionResolver.of(context.cfg(), context.lineTable(), null);
+
+        assertThrows(IllegalStateException.class, () -> resolver.resolve(10, "isOdd"));
+        assertThrows(IllegalStateException.class, () -> CriterionResolver.resolve(
+                context.cfg(), context.nodeIds(), context.lineTable(), null, 10, "isOdd"));
+        assertThrows(IllegalStateException.class, () -> CriterionResolver.resolve(
+                context.cfg(), context.nodeIds(), context.lineTable(), null, 99, "isOdd"));
+    }
+
+    private static CriterionResolver resolverOf(String pClassName, String pMethod,
+            String pDescriptor) throws IOException, AnalyzerException {
+        ParsedClass parsedClass = ParsedClass.read(pClassName);
+        MethodNode methodNode = parsedClass.method(pMethod, pDescriptor).orElseThrow();
+        AnalysisContext context = AnalysisContext.of(parsedClass.classNode(), methodNode,
+                new DefUseCache(), AnalysisOptions.defaults());
+        return CriterionResolver.of(context.cfg(), context.lineTable(),
+                parsedClass.localVariableTable(methodNode));
+    }
+
+    private static Node resolveOrNull(Supplier<Node> pResolution) {
+        try {
+            return pResolution.get();
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package de.uni_passau.fim.se2.sa.slicing;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Provides the classes of the {@code examples} package to tests that compare analyses on all of
+ * them, e.g. via {@code @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")}.
+ */
+public final class ExampleClasses {
+
+    /** The prefix of the fully qualified names of the example classes. */
+    public static final String PACKAGE = "de.uni_passau.fim.se2.sa.examples.";
+
+    private static final List<String> NAMES = List.of("Calculator", "Complex", "GCD", "IsOdd",
+            "NestedLoop", "Rational", "SimpleInteger", "TestClass");
+
+    private ExampleClasses() {}
+
+    /**
+     * Provides the simple names of all example classes.
+     *
+     * @return The names, ordered alphabetically
+     */
+    public static Stream<String> names() {
+        return NAMES.stream();
+    }
+
+    /**
+     * Reads an example class from the class path.
+     *
+     * @param pName The simple name of the example class
+     * @return The class node of the example class
+     * @throws IOException If the class file cannot be read
+     */
+    public static ClassNode classNode(String pName) throws IOException {
+        ClassNode classNode = new ClassNode(Opcodes.ASM9);
+        new ClassReader(PACKAGE + pName).accept(classNode, 0);
+        return classNode;
+    }
+
+    /**
+     * Provides the edges of a graph in a form that can be compared across analyses.
+     *
+     * @param pGraph The graph
+     * @return The edges as {@code "source->target"}, sorted
+     */
+    public static List<String> edgesOf(ProgramGraph pGraph) {
+        return pGraph.getEdges().stream()
+                .map(edge -> pGraph.getEdgeSource(edge) + "->" + pGraph.getEdgeTarget(edge))
+                .sorted()
+                .toList();
+    }
+}
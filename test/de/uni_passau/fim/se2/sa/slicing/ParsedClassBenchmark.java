@@ -0,0 +1,89 @@
+package de.uni_passau.fim.se2.sa.slicing;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.CFGLocalVariableTableVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a class file twice, as the slicer used to, with parsing it once, and with
+ * parsing it once while skipping the code of all methods but one.
+ *
+ * <p>Run with {@code mvn test-compile} followed by {@code java -cp
+ * target/test-classes:target/classes:<test classpath> ...slicing.ParsedClassBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsedClassBenchmark {
+
+    /** A class of the JDK with many large methods, and one method of it. */
+    @Param({"java.util.concurrent.ConcurrentHashMap:size()I",
+            "de.uni_passau.fim.se2.sa.examples.Rational:of(Ljava/lang/String;)"
+                    + "Lde/uni_passau/fim/se2/sa/examples/Rational;"})
+    public String target;
+
+    private byte[] classBytes;
+    private Set<String> methods;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        String[] parts = target.split(":");
+        try (InputStream stream =
+                ClassLoader.getSystemResourceAsStream(parts[0].replace('.', '/') + ".class")) {
+            classBytes = stream.readAllBytes();
+        }
+        methods = Set.of(parts[1]);
+    }
+
+    @Benchmark
+    public void twoPasses(Blackhole pBlackhole) {
+        ClassNode classNode = new ClassNode(Opcodes.ASM9);
+        ClassReader classReader = new ClassReader(classBytes);
+        classReader.accept(classNode, 0);
+        CFGLocalVariableTableVisitor visitor = new CFGLocalVariableTableVisitor(Opcodes.ASM9);
+        classReader.accept(visitor, 0);
+        pBlackhole.consume(classNode);
+        pBlackhole.consume(visitor.getLocalVariableTables());
+    }
+
+    @Benchmark
+    public ParsedClass singlePass() {
+        return ParsedClass.parse(classBytes);
+    }
+
+    @Benchmark
+    public ParsedClass selectedMethod() {
+        return ParsedClass.parse(classBytes, methods);
+    }
+
+    public static void main(String[] pArgs) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ParsedClassBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
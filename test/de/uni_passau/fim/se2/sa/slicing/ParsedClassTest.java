@@ -0,0 +1,91 @@
+package de.uni_passau.fim.se2.sa.slicing;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.CFGLocalVariableTableVisitor;
+import de.uni_passau.fim.se2.sa.slicing.cfg.LocalVariable;
+import de.uni_passau.fim.se2.sa.slicing.cfg.LocalVariableTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.util.Textifier;
+import org.objectweb.asm.util.TraceMethodVisitor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedClassTest {
+
+    private static final String EXAMPLES = ExampleClasses.PACKAGE;
+    private static final String OF_LONGS = "(JJ)Lde/uni_passau/fim/se2/sa/examples/Rational;";
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testRead_AllMethods_ShouldEqualTwoPasses(String pClassName) throws IOException {
+        final ClassNode expected = new ClassNode(Opcodes.ASM9);
+        final ClassReader classReader = new ClassReader(EXAMPLES + pClassName);
+        classReader.accept(expected, 0);
+        final CFGLocalVariableTableVisitor visitor = new CFGLocalVariableTableVisitor(Opcodes.ASM9);
+        classReader.accept(visitor, 0);
+
+        ParsedClass parsedClass = ParsedClass.read(EXAMPLES + pClassName);
+
+        assertEquals(expected.methods.size(), parsedClass.classNode().methods.size());
+        for (MethodNode methodNode : expected.methods) {
+            MethodNode actual = parsedClass.method(methodNode.name, methodNode.desc).orElseThrow();
+            assertEquals(textOf(methodNode), textOf(actual));
+            assertEquals(
+                    variablesOf(visitor.getLocalVariableTables()
+                            .get(methodNode.name + ": " + methodNode.desc)),
+                    variablesOf(parsedClass.localVariableTable(actual)));
+        }
+    }
+
+    @Test
+    void testRead_SelectedMethod_ShouldSkipOtherMethods() throws IOException {
+        ParsedClass full = ParsedClass.read(EXAMPLES + "Rational");
+        ParsedClass selected = ParsedClass.read(EXAMPLES + "Rational", Set.of("ofLongs" + OF_LONGS));
+
+        MethodNode method = selected.method("ofLongs", OF_LONGS).orElseThrow();
+        assertEquals(1, selected.classNode().methods.size());
+        assertEquals(1, selected.localVariableTables().size());
+        assertEquals(Optional.empty(), selected.method("of", "(J)Lde/uni_passau/fim/se2/sa/examples/Rational;"));
+        assertEquals(textOf(full.method("ofLongs", OF_LONGS).orElseThrow()), textOf(method));
+        assertEquals(
+                variablesOf(full.localVariableTable(method)),
+                variablesOf(selected.localVariableTable(method)));
+    }
+
+    @Test
+    void testRead_UnknownClass_ShouldThrow() {
+        assertThrows(IOException.class, () -> ParsedClass.read("does.not.Exist"));
+    }
+
+    private static String textOf(MethodNode pMethodNode) {
+        Textifier textifier = new Textifier();
+        pMethodNode.accept(new TraceMethodVisitor(textifier));
+        StringWriter writer = new StringWriter();
+        textifier.print(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static List<String> variablesOf(LocalVariableTable pTable) {
+        if (pTable == null) {
+            return List.of();
+        }
+        return IntStream.range(0, 32)
+                .mapToObj(pTable::getEntry)
+                .flatMap(Optional::stream)
+                .map(LocalVariable::toString)
+                .toList();
+    }
+}
@@ -0,0 +1,154 @@
+package de.uni_passau.fim.se2.sa.slicing.batch;
+
+import de.uni_passau.fim.se2.sa.slicing.classpath.ClassBytesProvider;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSlicerTest {
+
+    private static final String IS_ODD =
+            "\"class\":\"de.uni_passau.fim.se2.sa.examples.IsOdd\",\"method\":\"isOdd:(I)Z\"";
+    private static final String CALCULATOR =
+            "\"class\":\"de.uni_passau.fim.se2.sa.examples.Calculator\","
+                    + "\"method\":\"evaluate:(Ljava/lang/String;)I\"";
+
+    @Test
+    void testRun_Criteria_ShouldSliceEachAndBuildEveryMethodOnce() throws IOException {
+        String criteria = String.join("\n",
+                "{\"id\":\"odd\"," + IS_ODD + ",\"variablename\":\"isOdd\",\"linenumber\":10}",
+                "{" + CALCULATOR + ",\"variablename\":\"sum\",\"linenumber\":8}",
+                "",
+                "{\"id\":\"odd-again\"," + IS_ODD + ",\"variablename\":\"isOdd\",\"linenumber\":8}");
+
+        List<Map<String, Object>> results = run(criteria, null);
+
+        assertEquals(List.of("odd", "odd-again", "2"),
+                results.stream().map(r -> r.get("id")).toList());
+        assertTrue(results.stream().allMatch(r -> "ok".equals(r.get("status"))));
+        assertEquals("""
+                (line:   -1, id:    1)  L0
+                (line:    6, id:    8)  ISTORE 3
+                (line:    7, id:   14)  IFEQ L0
+                (line:    8, id:   23)  ISTORE 3
+                (line:   10, id:   20)  IRETURN
+                """, results.get(0).get("slice"));
+        assertTrue(results.get(0).containsKey("setupMicros"));
+        assertFalse(results.get(1).containsKey("setupMicros"));
+        assertTrue(results.get(2).containsKey("setupMicros"));
+        assertTrue(results.get(2).get("slice").toString().contains("(line:    8, id:   36)  ISTORE 2"));
+    }
+
+    @Test
+    void testRun_InvalidCriteria_ShouldReportErrorsAndContinue() throws IOException {
+        String criteria = String.join("\n",
+                "not json",
+                "{" + IS_ODD + ",\"variablename\":\"isOdd\"}",
+                "{\"class\":\"de.uni_passau.fim.se2.sa.examples.IsOdd\",\"method\":\"even:(I)Z\","
+                        + "\"variablename\":\"isOdd\",\"linenumber\":10}",
+                "{\"class\":\"does.not.Exist\",\"method\":\"f:()V\","
+                        + "\"variablename\":\"x\",\"linenumber\":1}",
+                "{" + IS_ODD + ",\"variablename\":\"nothing\",\"linenumber\":10}",
+                "{" + IS_ODD + ",\"variablename\":\"isOdd\",\"linenumber\":10}");
+
+        StringWriter output = new StringWriter();
+        BatchSlicer.Summary summary = new BatchSlicer(AnalysisOptions.defaults(), false, null)
+                .run(new BufferedReader(new StringReader(criteria)), output);
+        List<Map<String, Object>> results = output.toString().lines().map(JsonLines::parse).toList();
+
+        assertEquals(new BatchSlicer.Summary(6, 5, 1), summary);
+        // Unparseable lines are reported first, the others grouped by class and method.
+        assertEquals(List.of("1", "2", "3", "5", "6", "4"),
+                results.stream().map(r -> r.get("id")).toList());
+        assertEquals(List.of("error", "error", "error", "error", "ok", "error"),
+                results.stream().map(r -> r.get("status")).toList());
+        assertTrue(results.get(1).get("message").toString().contains("linenumber"));
+    }
+
+    @Test
+    void testRun_OutputDirectory_ShouldWriteOneFilePerCriterion(@TempDir Path pDirectory)
+            throws IOException {
+        String criteria =
+                "{\"id\":\"a/b\"," + IS_ODD + ",\"variablename\":\"isOdd\",\"linenumber\":10}";
+
+        List<Map<String, Object>> results = run(criteria, pDirectory);
+
+        Path file = pDirectory.resolve("a_b.txt");
+        assertEquals(file.toString(), results.get(0).get("file"));
+        assertFalse(results.get(0).containsKey("slice"));
+        assertTrue(Files.readString(file).contains("IRETURN"));
+    }
+
+    @Test
+    void testRun_CollidingIds_ShouldKeepEverySlice(@TempDir Path pDirectory) throws IOException {
+        String criteria = String.join("\n",
+                "{\"id\":\"a/b\"," + IS_ODD + ",\"variablename\":\"isOdd\",\"linenumber\":10}",
+                "{\"id\":\"a b\"," + IS_ODD + ",\"variablename\":\"isOdd\",\"linenumber\":8}",
+                "{\"id\":\"a_b\"," + IS_ODD + ",\"variablename\":\"isOdd\",\"linenumber\":10}");
+
+        List<Map<String, Object>> results = run(criteria, pDirectory);
+
+        assertEquals(List.of(pDirectory.resolve("a_b.txt").toString(),
+                        pDirectory.resolve("a_b-2.txt").toString(),
+                        pDirectory.resolve("a_b-3.txt").toString()),
+                results.stream().map(r -> r.get("file")).toList());
+        assertTrue(Files.readString(pDirectory.resolve("a_b.txt")).contains("IRETURN"));
+        assertFalse(Files.readString(pDirectory.resolve("a_b-2.txt")).contains("IRETURN"));
+    }
+
+    @Test
+    void testRun_UnwritableOutputDirectory_ShouldReportErrorsAndContinue(
+            @TempDir Path pDirectory) throws IOException {
+        String criteria = String.join("\n",
+                "{\"id\":\"x\"," + IS_ODD + ",\"variablename\":\"isOdd\",\"linenumber\":10}",
+                "{\"id\":\"y\"," + IS_ODD + ",\"variablename\":\"isOdd\",\"linenumber\":8}");
+
+        List<Map<String, Object>> results = run(criteria, pDirectory.resolve("missing"));
+
+        assertEquals(List.of("error", "error"),
+                results.stream().map(r -> r.get("status")).toList());
+        assertTrue(results.get(0).get("message").toString().startsWith("Could not write slice"));
+    }
+
+    @Test
+    void testRun_CorruptClassFile_ShouldReportErrorsAndContinue() throws IOException {
+        String criteria = String.join("\n",
+                "{\"class\":\"corrupt.Clazz\",\"method\":\"f:()V\","
+                        + "\"variablename\":\"x\",\"linenumber\":1}",
+                "{" + IS_ODD + ",\"variablename\":\"isOdd\",\"linenumber\":10}");
+        ClassBytesProvider provider = className -> className.startsWith("corrupt.")
+                ? Optional.of(new byte[] {1, 2, 3})
+                : ClassBytesProvider.systemClassPath().classBytes(className);
+
+        StringWriter output = new StringWriter();
+        BatchSlicer.Summary summary =
+                new BatchSlicer(AnalysisOptions.defaults(), false, null, provider)
+                        .run(new BufferedReader(new StringReader(criteria)), output);
+        List<Map<String, Object>> results = output.toString().lines().map(JsonLines::parse).toList();
+
+        assertEquals(new BatchSlicer.Summary(2, 1, 1), summary);
+        assertEquals(List.of("error", "ok"), results.stream().map(r -> r.get("status")).toList());
+        assertTrue(results.get(0).get("message").toString()
+                .startsWith("Could not read class corrupt.Clazz"));
+    }
+
+    private static List<Map<String, Object>> run(String pCriteria, Path pDirectory)
+            throws IOException {
+        StringWriter output = new StringWriter();
+        new BatchSlicer(AnalysisOptions.defaults(), false, pDirectory)
+                .run(new BufferedReader(new StringReader(pCriteria)), output);
+        return output.toString().lines().map(JsonLines::parse).toList();
+    }
+}
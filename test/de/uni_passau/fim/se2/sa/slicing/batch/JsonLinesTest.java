@@ -0,0 +1,60 @@
+package de.uni_passau.fim.se2.sa.slicing.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLinesTest {
+
+    @Test
+    void testParse_FlatObject_ShouldReadAllValueTypes() {
+        Map<String, Object> object = JsonLines.parse(
+                " {\"class\": \"a.B\", \"line\": 8, \"ratio\": -1.5e2, \"x\": true, \"y\": null} ");
+
+        assertEquals("a.B", object.get("class"));
+        assertEquals(8L, object.get("line"));
+        assertEquals(-150.0, object.get("ratio"));
+        assertEquals(Boolean.TRUE, object.get("x"));
+        assertTrue(object.containsKey("y"));
+        assertNull(object.get("y"));
+    }
+
+    @Test
+    void testParse_Escapes_ShouldBeDecoded() {
+        Map<String, Object> object =
+                JsonLines.parse("{\"m\":\"evaluate:(Ljava\\/lang\\/String;)I \\\"\\u0041\\\"\"}");
+
+        assertEquals("evaluate:(Ljava/lang/String;)I \"A\"", object.get("m"));
+    }
+
+    @Test
+    void testParse_EmptyObject_ShouldReturnEmptyMap() {
+        assertTrue(JsonLines.parse("{}").isEmpty());
+    }
+
+    @Test
+    void testParse_Malformed_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> JsonLines.parse("{\"a\":1"));
+        assertThrows(IllegalArgumentException.class, () -> JsonLines.parse("{\"a\":[1]}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonLines.parse("{\"a\":1} x"));
+        assertThrows(IllegalArgumentException.class, () -> JsonLines.parse("[]"));
+    }
+
+    @Test
+    void testWrite_ShouldRoundTrip() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("id", "c\"1\"");
+        object.put("slice", "(line:    6, id:    4)  ISTORE 2\n\t");
+        object.put("latencyMicros", 42L);
+        object.put("ok", false);
+        object.put("none", null);
+
+        String line = JsonLines.write(object);
+
+        assertFalse(line.contains("\n"));
+        assertEquals(object, JsonLines.parse(line));
+    }
+}
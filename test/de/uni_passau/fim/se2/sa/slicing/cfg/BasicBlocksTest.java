@@ -0,0 +1,121 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import de.uni_passau.fim.se2.sa.slicing.ExampleClasses;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BasicBlocksTest {
+
+    @Test
+    void testOf_Diamond_ShouldSplitAtBranchAndJoin() {
+        Node entry = new Node("Entry");
+        Node a = new Node("A");
+        Node branch = new Node("Branch");
+        Node left = new Node("Left");
+        Node right = new Node("Right");
+        Node join = new Node("Join");
+        Node exit = new Node("Exit");
+        ProgramGraph cfg = graphOf(entry, a, branch, left, right, join, exit);
+        cfg.addEdge(entry, a);
+        cfg.addEdge(a, branch);
+        cfg.addEdge(branch, left);
+        cfg.addEdge(branch, right);
+        cfg.addEdge(left, join);
+        cfg.addEdge(right, join);
+        cfg.addEdge(join, exit);
+
+        BasicBlocks blocks = BasicBlocks.of(cfg);
+
+        assertEquals(4, blocks.blockCount());
+        assertEquals(List.of(entry, a, branch), blocks.nodesOf(0));
+        assertEquals(List.of(left), blocks.nodesOf(1));
+        assertEquals(List.of(right), blocks.nodesOf(2));
+        assertEquals(List.of(join, exit), blocks.nodesOf(3));
+        assertEquals(branch, blocks.terminator(0));
+
+        ProgramGraph blockGraph = blocks.toGraph();
+        assertEquals(List.of(entry, left, right, join), List.copyOf(blockGraph.getNodes()));
+        assertEquals(Set.of(left, right), Set.copyOf(blockGraph.getSuccessors(entry)));
+        assertEquals(Set.of(left, right), Set.copyOf(blockGraph.getPredecessors(join)));
+    }
+
+    @Test
+    void testOf_LoopBackToBlockStart_ShouldKeepBlockWithSelfLoop() {
+        Node entry = new Node("Entry");
+        Node head = new Node("Head");
+        Node tail = new Node("Tail");
+        Node exit = new Node("Exit");
+        ProgramGraph cfg = graphOf(entry, head, tail, exit);
+        cfg.addEdge(entry, head);
+        cfg.addEdge(head, tail);
+        cfg.addEdge(tail, head);
+        cfg.addEdge(tail, exit);
+
+        BasicBlocks blocks = BasicBlocks.of(cfg);
+
+        assertEquals(3, blocks.blockCount());
+        assertEquals(List.of(head, tail), blocks.nodesOf(1));
+        assertTrue(blocks.toGraph().getSuccessors(head).contains(head));
+    }
+
+    @Test
+    void testOf_CycleWithoutLeader_ShouldFormOneBlock() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        ProgramGraph cfg = graphOf(a, b);
+        cfg.addEdge(a, b);
+        cfg.addEdge(b, a);
+
+        BasicBlocks blocks = BasicBlocks.of(cfg);
+
+        assertEquals(1, blocks.blockCount());
+        assertEquals(List.of(a, b), blocks.nodesOf(0));
+        assertEquals(Set.of(a), Set.copyOf(blocks.toGraph().getSuccessors(a)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testOf_ExampleClasses_ShouldPartitionNodesIntoStraightLineBlocks(String pClassName)
+            throws IOException, AnalyzerException {
+        final ClassNode classNode = ExampleClasses.classNode(pClassName);
+
+        for (MethodNode methodNode : classNode.methods) {
+            ProgramGraph cfg = CFGExtractor.buildCFG(classNode.name, methodNode);
+            BasicBlocks blocks = BasicBlocks.of(cfg);
+            FrozenGraph graph = blocks.cfg();
+
+            assertTrue(blocks.blockCount() < graph.size(), methodNode.name);
+            assertEquals(graph.size(), blocks.blockStart(blocks.blockCount()));
+            for (int b = 0; b < blocks.blockCount(); b++) {
+                List<Node> nodes = blocks.nodesOf(b);
+                for (int i = 0; i < nodes.size(); i++) {
+                    assertEquals(b, blocks.blockOf(graph.ordinalOf(nodes.get(i))));
+                    if (i + 1 < nodes.size()) {
+                        assertEquals(List.of(nodes.get(i + 1)),
+                                List.copyOf(cfg.getSuccessors(nodes.get(i))));
+                        assertEquals(List.of(nodes.get(i)),
+                                List.copyOf(cfg.getPredecessors(nodes.get(i + 1))));
+                    }
+                }
+            }
+        }
+    }
+
+    private static ProgramGraph graphOf(Node... pNodes) {
+        ProgramGraph graph = new ProgramGraph();
+        for (Node node : pNodes) {
+            graph.addNode(node);
+        }
+        return graph;
+    }
+}
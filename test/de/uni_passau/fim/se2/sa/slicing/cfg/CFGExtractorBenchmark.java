@@ -0,0 +1,121 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the CFG of a method with ASM's analyzer and directly from the opcodes.
+ *
+ * <p>Run with {@code mvn test-compile} followed by {@code java -cp
+ * target/test-classes:target/classes:<test classpath> ...cfg.CFGExtractorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CFGExtractorBenchmark {
+
+    @Param({"ANALYZER", "OPCODES"})
+    public CFGExtractor.Engine engine;
+
+    @Param({"10", "100", "1000", "5000"})
+    public int cases;
+
+    private MethodNode method;
+    private LineTable lines;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        method = switchMethod(cases);
+        lines = LineTable.of(method.instructions);
+    }
+
+    @Benchmark
+    public ProgramGraph buildCFG() throws AnalyzerException {
+        return CFGExtractor.buildCFG("Synthetic", method, new NodeIdAllocator(), lines, engine);
+    }
+
+    /**
+     * Generates {@code static int f(int x)} consisting of one {@code tableswitch} over {@code x}
+     * whose cases each assign a local on their own line; every case is guarded by an exception
+     * handler that assigns the local as well.
+     *
+     * @param pCases The number of cases
+     * @return The method
+     */
+    static MethodNode switchMethod(int pCases) {
+        MethodNode method =
+                new MethodNode(Opcodes.ACC_STATIC, "f", "(I)I", null, new String[0]);
+        InsnList code = method.instructions;
+        LabelNode end = new LabelNode(new Label());
+        LabelNode dflt = new LabelNode(new Label());
+        LabelNode handler = new LabelNode(new Label());
+        LabelNode[] labels = new LabelNode[pCases];
+        for (int i = 0; i < pCases; i++) {
+            labels[i] = new LabelNode(new Label());
+        }
+
+        LabelNode start = new LabelNode(new Label());
+        code.add(start);
+        code.add(new LineNumberNode(1, start));
+        code.add(new VarInsnNode(Opcodes.ILOAD, 0));
+        code.add(new TableSwitchInsnNode(0, pCases - 1, dflt, labels));
+        for (int i = 0; i < pCases; i++) {
+            code.add(labels[i]);
+            code.add(new LineNumberNode(2 + i, labels[i]));
+            code.add(new IntInsnNode(Opcodes.SIPUSH, i));
+            code.add(new VarInsnNode(Opcodes.ISTORE, 1));
+            code.add(new JumpInsnNode(Opcodes.GOTO, end));
+        }
+        code.add(dflt);
+        code.add(new InsnNode(Opcodes.ICONST_M1));
+        code.add(new VarInsnNode(Opcodes.ISTORE, 1));
+        code.add(new JumpInsnNode(Opcodes.GOTO, end));
+        code.add(handler);
+        code.add(new VarInsnNode(Opcodes.ASTORE, 2));
+        code.add(new InsnNode(Opcodes.ICONST_0));
+        code.add(new VarInsnNode(Opcodes.ISTORE, 1));
+        code.add(end);
+        code.add(new VarInsnNode(Opcodes.ILOAD, 1));
+        code.add(new InsnNode(Opcodes.IRETURN));
+        method.tryCatchBlocks.add(new TryCatchBlockNode(labels[0], dflt, handler, null));
+        method.maxLocals = 3;
+        method.maxStack = 1;
+        return method;
+    }
+
+    public static void main(String[] pArgs) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CFGExtractorBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+}
@@ -0,0 +1,95 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import de.uni_passau.fim.se2.sa.slicing.ExampleClasses;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CFGExtractorTest {
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testBuildCFG_Opcodes_ShouldMatchAnalyzer(String pClassName)
+            throws IOException, AnalyzerException {
+        ClassNode classNode = ExampleClasses.classNode(pClassName);
+
+        for (MethodNode method : classNode.methods) {
+            assertEquals(shapeOf(classNode.name, method, CFGExtractor.Engine.ANALYZER),
+                    shapeOf(classNode.name, method, CFGExtractor.Engine.OPCODES), method.name);
+        }
+    }
+
+    @Test
+    void testBuildCFG_SwitchWithHandler_ShouldMatchAnalyzer() throws AnalyzerException {
+        for (int cases : new int[] {1, 2, 17, 300}) {
+            MethodNode method = CFGExtractorBenchmark.switchMethod(cases);
+            List<String> shape = shapeOf("Synthetic", method, CFGExtractor.Engine.OPCODES);
+
+            assertEquals(shapeOf("Synthetic", method, CFGExtractor.Engine.ANALYZER), shape);
+        }
+    }
+
+    @Test
+    void testBuildCFG_RepeatedSwitchTargets_ShouldAddOneEdge() throws AnalyzerException {
+        MethodNode method = CFGExtractorBenchmark.switchMethod(3);
+        var tableSwitch = (TableSwitchInsnNode) method.instructions.get(3);
+        tableSwitch.labels.set(2, tableSwitch.labels.get(0));
+
+        ProgramGraph cfg = CFGExtractor.buildCFG("Synthetic", method, new NodeIdAllocator(),
+                LineTable.of(method.instructions), CFGExtractor.Engine.OPCODES);
+        Node switchNode = cfg.getNodes().stream()
+                .filter(n -> n.getInstruction() == tableSwitch).findFirst().orElseThrow();
+
+        assertEquals(3, cfg.getSuccessors(switchNode).size());
+        assertEquals(3, cfg.getEdges().stream()
+                .filter(e -> cfg.getEdgeSource(e).equals(switchNode)).count());
+        assertEquals(shapeOf("Synthetic", method, CFGExtractor.Engine.ANALYZER),
+                shapeOf("Synthetic", method, CFGExtractor.Engine.OPCODES));
+    }
+
+    @Test
+    void testBuildCFG_Subroutine_ShouldFallBackToAnalyzer() throws AnalyzerException {
+        MethodNode method = new MethodNode(Opcodes.ACC_STATIC, "f", "()V", null, new String[0]);
+        LabelNode subroutine = new LabelNode(new Label());
+        method.instructions.add(new JumpInsnNode(Opcodes.JSR, subroutine));
+        method.instructions.add(new InsnNode(Opcodes.RETURN));
+        method.instructions.add(subroutine);
+        method.instructions.add(new VarInsnNode(Opcodes.ASTORE, 0));
+        method.instructions.add(new VarInsnNode(Opcodes.RET, 0));
+        method.maxLocals = 1;
+        method.maxStack = 1;
+
+        List<String> shape = shapeOf("Synthetic", method, CFGExtractor.Engine.OPCODES);
+
+        assertEquals(shapeOf("Synthetic", method, CFGExtractor.Engine.ANALYZER), shape);
+        assertTrue(shape.stream().anyMatch(line -> line.startsWith("\"RET")), shape.toString());
+    }
+
+    /** Lists every node with its line and its successors and predecessors, in graph order. */
+    private static List<String> shapeOf(String pOwner, MethodNode pMethod,
+            CFGExtractor.Engine pEngine) throws AnalyzerException {
+        ProgramGraph cfg = CFGExtractor.buildCFG(pOwner, pMethod, new NodeIdAllocator(),
+                LineTable.of(pMethod.instructions), pEngine);
+        List<String> shape = new ArrayList<>();
+        for (Node node : cfg.getNodes()) {
+            shape.add(node + " -> " + cfg.getSuccessors(node) + " <- " + cfg.getPredecessors(node));
+        }
+        return shape;
+    }
+}
@@ -0,0 +1,140 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import de.uni_passau.fim.se2.sa.slicing.ExampleClasses;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractedGraphTest {
+
+    @Test
+    void testOf_Chain_ShouldBypassRemovedNodes() {
+        Node entry = new Node("Entry");
+        Node first = new Node("Pseudo1");
+        Node second = new Node("Pseudo2");
+        Node store = new Node("Store");
+        Node exit = new Node("Exit");
+        ProgramGraph cfg = graphOf(entry, first, second, store, exit);
+        cfg.addEdge(entry, first);
+        cfg.addEdge(first, second);
+        cfg.addEdge(second, store);
+        cfg.addEdge(store, exit);
+
+        ContractedGraph contracted = ContractedGraph.of(cfg, ContractedGraphTest::isPseudo);
+
+        assertEquals(List.of(entry, store, exit), List.copyOf(contracted.graph().getNodes()));
+        assertEquals(Set.of(store), Set.copyOf(contracted.graph().getSuccessors(entry)));
+        assertEquals(2, contracted.removedCount());
+        assertEquals(entry, contracted.representativeOf(first));
+        assertEquals(entry, contracted.representativeOf(second));
+        assertEquals(store, contracted.representativeOf(store));
+        assertEquals(5, cfg.getNodes().size());
+    }
+
+    @Test
+    void testOf_BranchTargetsAndJoins_ShouldBeKept() {
+        Node branch = new Node("Branch");
+        Node left = new Node("PseudoLeft");
+        Node right = new Node("Right");
+        Node join = new Node("PseudoJoin");
+        Node exit = new Node("Exit");
+        ProgramGraph cfg = graphOf(branch, left, right, join, exit);
+        cfg.addEdge(branch, left);
+        cfg.addEdge(branch, right);
+        cfg.addEdge(left, join);
+        cfg.addEdge(right, join);
+        cfg.addEdge(join, exit);
+
+        ContractedGraph contracted = ContractedGraph.of(cfg, ContractedGraphTest::isPseudo);
+
+        assertEquals(0, contracted.removedCount());
+        assertEquals(cfg.getNodes(), contracted.graph().getNodes());
+    }
+
+    @Test
+    void testOf_NodeWithSeveralSuccessors_ShouldBeKept() {
+        Node entry = new Node("Entry");
+        Node guarded = new Node("PseudoGuarded");
+        Node next = new Node("Next");
+        Node handler = new Node("Handler");
+        ProgramGraph cfg = graphOf(entry, guarded, next, handler);
+        cfg.addEdge(entry, guarded);
+        cfg.addEdge(guarded, next);
+        cfg.addEdge(guarded, handler);
+
+        ContractedGraph contracted = ContractedGraph.of(cfg, ContractedGraphTest::isPseudo);
+
+        assertEquals(0, contracted.removedCount());
+    }
+
+    @Test
+    void testOf_CycleOfRemovableNodes_ShouldKeepOneNode() {
+        Node first = new Node("Pseudo1");
+        Node second = new Node("Pseudo2");
+        ProgramGraph cfg = graphOf(first, second);
+        cfg.addEdge(first, second);
+        cfg.addEdge(second, first);
+
+        ContractedGraph contracted = ContractedGraph.of(cfg, ContractedGraphTest::isPseudo);
+
+        assertEquals(List.of(first), List.copyOf(contracted.graph().getNodes()));
+        assertEquals(first, contracted.representativeOf(second));
+        assertEquals(Set.of(first), Set.copyOf(contracted.graph().getSuccessors(first)));
+    }
+
+    @Test
+    void testIsPseudoInstruction_Kinds_ShouldMatchPseudoInstructionsOnly() {
+        assertTrue(ContractedGraph.isPseudoInstruction(new Node(new LabelNode(), -1, 1)));
+        assertFalse(ContractedGraph.isPseudoInstruction(
+                new Node(new InsnNode(Opcodes.NOP), -1, 2)));
+        assertFalse(ContractedGraph.isPseudoInstruction(Node.entry()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testOf_ExampleClasses_ShouldOnlyRemovePseudoInstructions(String pClassName)
+            throws IOException, AnalyzerException {
+        final ClassNode classNode = ExampleClasses.classNode(pClassName);
+
+        for (MethodNode methodNode : classNode.methods) {
+            ProgramGraph cfg = CFGExtractor.buildCFG(classNode.name, methodNode);
+            ContractedGraph contracted =
+                    ContractedGraph.of(cfg, ContractedGraph::isPseudoInstruction);
+
+            assertTrue(contracted.removedCount() > 0, methodNode.name);
+            assertEquals(cfg.getNodes().size(),
+                    contracted.graph().getNodes().size() + contracted.removedCount());
+            for (Node node : cfg.getNodes()) {
+                if (!contracted.graph().getNodes().contains(node)) {
+                    assertTrue(ContractedGraph.isPseudoInstruction(node));
+                    assertTrue(contracted.graph().getNodes()
+                            .contains(contracted.representativeOf(node)));
+                }
+            }
+        }
+    }
+
+    private static boolean isPseudo(Node pNode) {
+        return pNode.getID().startsWith("\"Pseudo");
+    }
+
+    private static ProgramGraph graphOf(Node... pNodes) {
+        ProgramGraph graph = new ProgramGraph();
+        for (Node node : pNodes) {
+            graph.addNode(node);
+        }
+        return graph;
+    }
+}
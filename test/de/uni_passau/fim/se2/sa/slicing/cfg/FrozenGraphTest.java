@@ -0,0 +1,89 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrozenGraphTest {
+
+    @Test
+    void testFreeze_MultipleEdges_ShouldBeStoredOnce() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        ProgramGraph graph = new ProgramGraph();
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addEdge(a, b);
+        graph.addEdge(a, b);
+
+        FrozenGraph frozen = graph.freeze();
+
+        int first = frozen.ordinalOf(a);
+        int second = frozen.ordinalOf(b);
+        assertEquals(1, frozen.successorOffset(first + 1) - frozen.successorOffset(first));
+        assertEquals(second, frozen.successorTarget(frozen.successorOffset(first)));
+        assertEquals(1, frozen.predecessorOffset(second + 1) - frozen.predecessorOffset(second));
+        assertEquals(first, frozen.predecessorSource(frozen.predecessorOffset(second)));
+    }
+
+    @Test
+    void testFreeze_Diamond_ShouldMatchProgramGraph() {
+        Node start = new Node("Start");
+        Node left = new Node("Left");
+        Node right = new Node("Right");
+        Node join = new Node("Join");
+        ProgramGraph graph = new ProgramGraph();
+        graph.addNode(start);
+        graph.addNode(left);
+        graph.addNode(right);
+        graph.addNode(join);
+        graph.addEdge(start, left);
+        graph.addEdge(start, right);
+        graph.addEdge(left, join);
+        graph.addEdge(right, join);
+        graph.addEdge(join, left);
+
+        FrozenGraph frozen = graph.freeze();
+
+        assertEquals(List.copyOf(graph.getNodes()), frozen.nodes());
+        assertEquals(start, frozen.node(frozen.entry()));
+        assertEquals(-1, frozen.exit());
+        assertEquals(-1, frozen.ordinalOf(new Node("Other")));
+        for (int n = 0; n < frozen.size(); n++) {
+            List<Node> successors = new ArrayList<>();
+            for (int i = frozen.successorOffset(n); i < frozen.successorOffset(n + 1); i++) {
+                successors.add(frozen.node(frozen.successorTarget(i)));
+            }
+            List<Node> predecessors = new ArrayList<>();
+            for (int i = frozen.predecessorOffset(n); i < frozen.predecessorOffset(n + 1); i++) {
+                predecessors.add(frozen.node(frozen.predecessorSource(i)));
+            }
+            assertEquals(List.copyOf(graph.getSuccessors(frozen.node(n))), successors);
+            assertEquals(List.copyOf(graph.getPredecessors(frozen.node(n))), predecessors);
+            assertEquals(successors.size(), frozen.successorArrays()[n].length);
+            assertEquals(predecessors.size(), frozen.predecessorArrays()[n].length);
+        }
+    }
+
+    @Test
+    void testFreeze_ModifiedGraph_ShouldBeRebuilt() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        ProgramGraph graph = new ProgramGraph();
+        graph.addNode(a);
+        graph.addNode(b);
+        FrozenGraph before = graph.freeze();
+        assertSame(before, graph.freeze());
+
+        graph.addEdge(a, b);
+
+        FrozenGraph after = graph.freeze();
+        assertNotSame(before, after);
+        assertEquals(0, before.successorOffset(before.size()));
+        assertEquals(1, after.successorOffset(after.size()));
+        assertEquals(after.ordinalOf(b), after.exit());
+    }
+}
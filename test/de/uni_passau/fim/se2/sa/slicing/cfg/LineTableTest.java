@@ -0,0 +1,90 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineTableTest {
+
+    @Test
+    void testLineOf_ShouldUseClosestPrecedingLineNumber() {
+        LabelNode start = new LabelNode(new Label());
+        LabelNode loop = new LabelNode(new Label());
+        InsnNode beforeLines = new InsnNode(Opcodes.NOP);
+        LineNumberNode firstLine = new LineNumberNode(7, start);
+        InsnNode onFirstLine = new InsnNode(Opcodes.NOP);
+        LineNumberNode secondLine = new LineNumberNode(9, loop);
+        InsnNode onSecondLine = new InsnNode(Opcodes.RETURN);
+        LineNumberNode firstLineAgain = new LineNumberNode(7, loop);
+        InsnList instructions = new InsnList();
+        instructions.add(beforeLines);
+        instructions.add(start);
+        instructions.add(firstLine);
+        instructions.add(onFirstLine);
+        instructions.add(loop);
+        instructions.add(secondLine);
+        instructions.add(onSecondLine);
+        instructions.add(firstLineAgain);
+
+        LineTable lines = LineTable.of(instructions);
+
+        assertEquals(-1, lines.lineOf(beforeLines));
+        assertEquals(-1, lines.lineOf(start));
+        assertEquals(7, lines.lineOf(firstLine));
+        assertEquals(7, lines.lineOf(onFirstLine));
+        assertEquals(7, lines.lineOf(loop));
+        assertEquals(9, lines.lineOf(5));
+        assertEquals(9, lines.lineOf(onSecondLine));
+        assertEquals(7, lines.lineOf(firstLineAgain));
+        assertSame(firstLine, lines.getLineStart(7).orElseThrow());
+        assertSame(secondLine, lines.getLineStart(9).orElseThrow());
+        assertTrue(lines.getLineStart(8).isEmpty());
+    }
+
+    @Test
+    void testIsValidFor_ModifiedInstructions_ShouldBeFalse() {
+        InsnList instructions = new InsnList();
+        instructions.add(new InsnNode(Opcodes.RETURN));
+        LineTable lines = LineTable.of(instructions);
+        assertTrue(lines.isValidFor(instructions));
+        assertFalse(lines.isValidFor(new InsnList()));
+
+        instructions.insert(new InsnNode(Opcodes.NOP));
+
+        assertFalse(lines.isValidFor(instructions));
+    }
+
+    @Test
+    void testBuildCFG_ShouldTakeLineNumbersFromTable() throws IOException, AnalyzerException {
+        ClassNode classNode = new ClassNode(Opcodes.ASM9);
+        new ClassReader("de.uni_passau.fim.se2.sa.examples.GCD").accept(classNode, 0);
+
+        for (MethodNode method : classNode.methods) {
+            LineTable lines = LineTable.of(method.instructions);
+            ProgramGraph cfg = CFGExtractor.buildCFG(classNode.name, method);
+            for (Node node : cfg.getNodes()) {
+                AbstractInsnNode instruction = node.getInstruction();
+                if (instruction != null) {
+                    assertEquals(lines.lineOf(instruction), node.getLineNumber());
+                }
+            }
+        }
+        MethodNode method = classNode.methods.get(0);
+        assertThrows(IllegalArgumentException.class, () -> CFGExtractor.buildCFG(classNode.name,
+                method, new NodeIdAllocator(), LineTable.of(new InsnList()),
+                CFGExtractor.Engine.OPCODES));
+    }
+}
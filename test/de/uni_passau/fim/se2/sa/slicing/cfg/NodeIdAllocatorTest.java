@@ -0,0 +1,89 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeIdAllocatorTest {
+
+    @Test
+    void testIdOf_ShouldCountFromOneInRequestOrder() {
+        InsnNode first = new InsnNode(Opcodes.NOP);
+        InsnNode second = new InsnNode(Opcodes.NOP);
+        NodeIdAllocator ids = new NodeIdAllocator();
+
+        assertEquals(1, ids.idOf(first));
+        assertEquals(2, ids.idOf(second));
+        assertEquals(1, ids.idOf(first));
+        assertEquals(2, ids.size());
+    }
+
+    @Test
+    void testBuildCFG_OtherMethodsInBetween_ShouldReproduceIds()
+            throws IOException, AnalyzerException {
+        ClassNode classNode = new ClassNode(Opcodes.ASM9);
+        new ClassReader("de.uni_passau.fim.se2.sa.examples.Calculator").accept(classNode, 0);
+        MethodNode first = classNode.methods.get(1);
+        MethodNode second = classNode.methods.get(0);
+
+        List<String> expected = idsOf(CFGExtractor.buildCFG(classNode.name, first));
+        ProgramGraph other = CFGExtractor.buildCFG(classNode.name, second);
+        List<String> actual = idsOf(CFGExtractor.buildCFG(classNode.name, first));
+
+        assertEquals(expected, actual);
+        assertTrue(expected.contains("1"));
+        assertTrue(idsOf(other).contains("1"));
+    }
+
+    @Test
+    void testBuildCFG_SharedAllocator_ShouldReuseIds() throws IOException, AnalyzerException {
+        ClassNode classNode = new ClassNode(Opcodes.ASM9);
+        new ClassReader("de.uni_passau.fim.se2.sa.examples.Calculator").accept(classNode, 0);
+        MethodNode method = classNode.methods.get(1);
+        NodeIdAllocator ids = new NodeIdAllocator();
+        LineTable lines = LineTable.of(method.instructions);
+
+        ProgramGraph first = CFGExtractor.buildCFG(classNode.name, method, ids, lines,
+                CFGExtractor.Engine.OPCODES);
+        int allocated = ids.size();
+        ProgramGraph second = CFGExtractor.buildCFG(classNode.name, method, ids, lines,
+                CFGExtractor.Engine.OPCODES);
+
+        assertEquals(allocated, ids.size());
+        assertEquals(first.getNodes(), second.getNodes());
+    }
+
+    @Test
+    void testNodeOf_AllocatedInstruction_ShouldEqualCFGNode()
+            throws IOException, AnalyzerException {
+        ClassNode classNode = new ClassNode(Opcodes.ASM9);
+        new ClassReader("de.uni_passau.fim.se2.sa.examples.Calculator").accept(classNode, 0);
+        MethodNode method = classNode.methods.get(1);
+        NodeIdAllocator ids = new NodeIdAllocator();
+        LineTable lines = LineTable.of(method.instructions);
+        ProgramGraph cfg = CFGExtractor.buildCFG(classNode.name, method, ids, lines,
+                CFGExtractor.Engine.OPCODES);
+
+        for (Node node : cfg.getNodes()) {
+            if (node.getInstruction() != null) {
+                assertEquals(Optional.of(node), ids.nodeOf(node.getInstruction(), lines));
+            }
+        }
+        assertEquals(Optional.empty(), ids.nodeOf(new InsnNode(Opcodes.NOP), lines));
+        assertEquals(cfg.getNodes().size() - 2, ids.size());
+    }
+
+    private static List<String> idsOf(ProgramGraph pCFG) {
+        return pCFG.getNodes().stream().map(Node::getID).toList();
+    }
+}
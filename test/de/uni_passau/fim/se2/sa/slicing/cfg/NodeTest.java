@@ -0,0 +1,59 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LineNumberNode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeTest {
+
+    @Test
+    void testGetKind_ShouldFollowInstructionOrName() {
+        LabelNode label = new LabelNode(new Label());
+
+        assertEquals(Node.Kind.ENTRY, Node.entry().getKind());
+        assertEquals(Node.Kind.EXIT, new Node("Exit").getKind());
+        assertEquals(Node.Kind.NAMED, new Node("A").getKind());
+        assertEquals(Node.Kind.INSN, new Node(new InsnNode(Opcodes.NOP), 1, 1).getKind());
+        assertEquals(Node.Kind.LABEL, new Node(label, 1, 2).getKind());
+        assertEquals(Node.Kind.LINE, new Node(new LineNumberNode(1, label), 1, 3).getKind());
+        assertEquals(Node.Kind.FRAME,
+                new Node(new FrameNode(Opcodes.F_SAME, 0, null, 0, null), 1, 4).getKind());
+    }
+
+    @Test
+    void testEquals_ShouldCompareKindAndIdOrName() {
+        InsnNode instruction = new InsnNode(Opcodes.NOP);
+
+        assertEquals(Node.entry(), new Node("Entry"));
+        assertNotEquals(Node.entry(), Node.exit());
+        assertEquals(new Node("A"), new Node("A"));
+        assertNotEquals(new Node("A"), new Node("B"));
+        assertEquals(new Node(instruction, 3, 7), new Node(new InsnNode(Opcodes.NOP), 3, 7));
+        assertNotEquals(new Node(instruction, 3, 7), new Node(instruction, 3, 8));
+        assertNotEquals(new Node(instruction, 3, 7), new Node("7"));
+    }
+
+    @Test
+    void testHashCode_ShouldMatchFormerStringIds() {
+        InsnNode instruction = new InsnNode(Opcodes.NOP);
+
+        for (int id : new int[] {0, 1, 9, 10, 99, 12345, Integer.MAX_VALUE}) {
+            Node node = new Node(instruction, 1, id);
+            assertEquals(31 + Integer.toString(id).hashCode(), node.hashCode());
+            assertEquals(Integer.toString(id), node.getID());
+            assertEquals(id, node.getNumericId());
+        }
+        for (String name : new String[] {"", "A", "Entry", "Exit", "a longer name"}) {
+            Node node = new Node(name);
+            assertEquals(31 + ("\"" + name + "\"").hashCode(), node.hashCode());
+            assertEquals("\"" + name + "\"", node.getID());
+            assertEquals("\"" + name + "\"", node.toString());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares visiting the neighbours of every node through the collecting accessors of {@link
+ * ProgramGraph} with the callback-based ones.
+ *
+ * <p>Run with {@code mvn test-compile} followed by {@code java -cp
+ * target/test-classes:target/classes:<test classpath> ...cfg.ProgramGraphBenchmark}; add {@code
+ * -prof gc} to see the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgramGraphBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ProgramGraph graph;
+    private Node[] nodes;
+
+    /** Builds a chain with random forward branches and back edges, like a method with loops. */
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        graph = new ProgramGraph();
+        nodes = new Node[size];
+        for (int n = 0; n < size; n++) {
+            nodes[n] = new Node(Integer.toString(n));
+            graph.addNode(nodes[n]);
+        }
+        for (int n = 0; n + 1 < size; n++) {
+            graph.addEdge(nodes[n], nodes[n + 1]);
+            int choice = random.nextInt(10);
+            if (choice < 2) {
+                graph.addEdge(nodes[n], nodes[Math.min(size - 1, n + 2 + random.nextInt(20))]);
+            } else if (choice == 2) {
+                graph.addEdge(nodes[n], nodes[random.nextInt(n + 1)]);
+            }
+        }
+    }
+
+    @Benchmark
+    public void getSuccessors(Blackhole pBlackhole) {
+        for (Node node : nodes) {
+            for (Node successor : graph.getSuccessors(node)) {
+                pBlackhole.consume(successor);
+            }
+        }
+    }
+
+    @Benchmark
+    public void forEachSuccessor(Blackhole pBlackhole) {
+        for (Node node : nodes) {
+            graph.forEachSuccessor(node, pBlackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void getPredecessors(Blackhole pBlackhole) {
+        for (Node node : nodes) {
+            for (Node predecessor : graph.getPredecessors(node)) {
+                pBlackhole.consume(predecessor);
+            }
+        }
+    }
+
+    @Benchmark
+    public void forEachPredecessor(Blackhole pBlackhole) {
+        for (Node node : nodes) {
+            graph.forEachPredecessor(node, pBlackhole::consume);
+        }
+    }
+
+    public static void main(String[] pArgs) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProgramGraphBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+}
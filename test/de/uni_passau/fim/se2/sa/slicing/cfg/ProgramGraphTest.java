@@ -0,0 +1,86 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgramGraphTest {
+
+    private static ProgramGraph graphWithParallelEdges(Node a, Node b, Node c) {
+        ProgramGraph graph = new ProgramGraph();
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+        graph.addEdge(a, c);
+        graph.addEdge(a, b);
+        graph.addEdge(a, c);
+        graph.addEdge(b, b);
+        graph.addEdge(b, c);
+        graph.addEdge(b, b);
+        return graph;
+    }
+
+    @Test
+    void testForEachSuccessor_ParallelEdges_ShouldMatchGetSuccessors() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        Node c = new Node("C");
+        ProgramGraph graph = graphWithParallelEdges(a, b, c);
+
+        for (Node node : graph.getNodes()) {
+            List<Node> successors = new ArrayList<>();
+            graph.forEachSuccessor(node, successors::add);
+            assertEquals(List.copyOf(graph.getSuccessors(node)), successors);
+
+            List<Node> predecessors = new ArrayList<>();
+            graph.forEachPredecessor(node, predecessors::add);
+            assertEquals(List.copyOf(graph.getPredecessors(node)), predecessors);
+        }
+        assertEquals(List.of(c, b), collectSuccessors(graph, a));
+        assertEquals(List.of(a, b), collectPredecessors(graph, c));
+    }
+
+    @Test
+    void testForEachSuccessor_UnknownNode_ShouldVisitNothing() {
+        ProgramGraph graph = new ProgramGraph();
+        assertTrue(collectSuccessors(graph, new Node("A")).isEmpty());
+    }
+
+    @Test
+    void testToString_ParallelEdges_ShouldPrintEachPairOnce() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        Node c = new Node("C");
+        ProgramGraph graph = graphWithParallelEdges(a, b, c);
+
+        assertEquals(
+                "digraph ProgramGraph {\n\"A\"->\"C\"\n\"A\"->\"B\"\n\"B\"->\"B\"\n\"B\"->\"C\"\n}",
+                graph.toString());
+    }
+
+    @Test
+    void testGetSuccessorsUntilNextLineNumber_Cycle_ShouldTerminate() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        Node c = new Node("C");
+        ProgramGraph graph = graphWithParallelEdges(a, b, c);
+        graph.addEdge(c, a);
+
+        assertEquals(List.of(c, b, a), List.copyOf(graph.getSuccessorsUntilNextLineNumber(a)));
+    }
+
+    private static List<Node> collectSuccessors(ProgramGraph pGraph, Node pNode) {
+        List<Node> successors = new ArrayList<>();
+        pGraph.forEachSuccessor(pNode, successors::add);
+        return successors;
+    }
+
+    private static List<Node> collectPredecessors(ProgramGraph pGraph, Node pNode) {
+        List<Node> predecessors = new ArrayList<>();
+        pGraph.forEachPredecessor(pNode, predecessors::add);
+        return predecessors;
+    }
+}
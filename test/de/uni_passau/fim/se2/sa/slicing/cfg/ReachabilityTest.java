@@ -0,0 +1,114 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReachabilityTest {
+
+    @Test
+    void testTransitiveClosure_LongChain_ShouldNotOverflowTheStack() {
+        int size = 100_000;
+        ProgramGraph graph = new ProgramGraph();
+        Node[] nodes = new Node[size];
+        for (int n = 0; n < size; n++) {
+            nodes[n] = new Node(Integer.toString(n));
+            graph.addNode(nodes[n]);
+            if (n > 0) {
+                graph.addEdge(nodes[n - 1], nodes[n]);
+            }
+        }
+
+        assertEquals(size - 1, graph.getTransitiveSuccessors(nodes[0]).size());
+        assertEquals(size - 1, graph.getTransitivePredecessors(nodes[size - 1]).size());
+        assertEquals(
+                List.of(nodes[size - 2], nodes[size - 3]),
+                List.copyOf(graph.getTransitivePredecessorsUntilAncestor(nodes[size - 1], nodes[size - 3])));
+        assertEquals(nodes[size / 2], graph.getLeastCommonAncestor(nodes[size / 2], nodes[size - 1]));
+    }
+
+    @Test
+    void testTransitiveClosure_RandomGraphs_ShouldMatchRecursiveSearch() {
+        Random random = new Random(13);
+        for (int round = 0; round < 200; round++) {
+            int size = 1 + random.nextInt(30);
+            ProgramGraph graph = new ProgramGraph();
+            List<Node> nodes = new ArrayList<>();
+            for (int n = 0; n < size; n++) {
+                nodes.add(new Node(Integer.toString(n)));
+                graph.addNode(nodes.get(n));
+            }
+            int edges = random.nextInt(3 * size);
+            for (int e = 0; e < edges; e++) {
+                graph.addEdge(nodes.get(random.nextInt(size)), nodes.get(random.nextInt(size)));
+            }
+
+            for (Node node : nodes) {
+                assertEquals(
+                        List.copyOf(transitiveSuccessors(graph, node, new LinkedHashSet<>())),
+                        List.copyOf(graph.getTransitiveSuccessors(node)));
+                Node ancestor = nodes.get(random.nextInt(size));
+                assertEquals(
+                        List.copyOf(transitivePredecessors(graph, node, ancestor, new LinkedHashSet<>())),
+                        List.copyOf(graph.getTransitivePredecessorsUntilAncestor(node, ancestor)));
+            }
+        }
+    }
+
+    @Test
+    void testTransitiveSuccessors_RepeatedQueries_ShouldNotInfluenceEachOther() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        Node c = new Node("C");
+        ProgramGraph graph = new ProgramGraph();
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+        graph.addEdge(a, b);
+        graph.addEdge(b, c);
+        graph.addEdge(c, b);
+
+        Reachability reachability = graph.getReachability();
+        FrozenGraph frozen = reachability.graph();
+        assertEquals(2, reachability.transitiveSuccessors(frozen.ordinalOf(a)).cardinality());
+        assertEquals(Set.of(b, c), reachability.toNodes());
+        assertEquals(2, reachability.transitiveSuccessors(frozen.ordinalOf(c)).cardinality());
+        assertEquals(List.of(b, c), List.copyOf(reachability.toNodes()));
+        assertEquals(3, reachability.transitivePredecessors(frozen.ordinalOf(c), -1).cardinality());
+        assertEquals(3, reachability.count());
+    }
+
+    /** The recursive search that {@link Reachability} replaced. */
+    private static Set<Node> transitiveSuccessors(ProgramGraph pGraph, Node pNode, Set<Node> pDoneSet) {
+        Set<Node> successors = new LinkedHashSet<>();
+        for (Node node : pGraph.getSuccessors(pNode)) {
+            if (pDoneSet.add(node)) {
+                successors.add(node);
+                successors.addAll(transitiveSuccessors(pGraph, node, pDoneSet));
+            }
+        }
+        return successors;
+    }
+
+    /** The recursive search that {@link Reachability} replaced. */
+    private static Set<Node> transitivePredecessors(
+            ProgramGraph pGraph, Node pNode, Node pAncestor, Set<Node> pDoneSet) {
+        Set<Node> predecessors = new LinkedHashSet<>();
+        for (Node node : pGraph.getPredecessors(pNode)) {
+            if (pDoneSet.add(node)) {
+                predecessors.add(node);
+                if (node.equals(pAncestor)) {
+                    return predecessors;
+                }
+                predecessors.addAll(transitivePredecessors(pGraph, node, pAncestor, pDoneSet));
+            }
+        }
+        return predecessors;
+    }
+}
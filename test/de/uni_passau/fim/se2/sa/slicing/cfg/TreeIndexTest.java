@@ -0,0 +1,110 @@
+package de.uni_passau.fim.se2.sa.slicing.cfg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeIndexTest {
+
+    @Test
+    void testGetTreeIndex_NodeWithTwoPredecessors_ShouldBeEmpty() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        Node c = new Node("C");
+        ProgramGraph graph = new ProgramGraph();
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+        graph.addEdge(a, c);
+        graph.addEdge(b, c);
+
+        assertTrue(graph.getTreeIndex().isEmpty());
+    }
+
+    @Test
+    void testGetTreeIndex_ModifiedGraph_ShouldBeRebuilt() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        ProgramGraph graph = new ProgramGraph();
+        graph.addNode(a);
+        graph.addNode(b);
+        assertFalse(graph.getTreeIndex().orElseThrow().isAncestor(a, b));
+
+        graph.addEdge(a, b);
+
+        TreeIndex index = graph.getTreeIndex().orElseThrow();
+        assertTrue(index.isAncestor(a, b));
+        assertTrue(index.isProperAncestor(a, b));
+        assertFalse(index.isProperAncestor(a, a));
+        assertEquals(1, index.getDepth(b));
+    }
+
+    @Test
+    void testGetLeastCommonAncestor_Forest_ShouldBeEmptyAcrossTrees() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        ProgramGraph graph = new ProgramGraph();
+        graph.addNode(a);
+        graph.addNode(b);
+
+        TreeIndex index = graph.getTreeIndex().orElseThrow();
+        assertEquals(Optional.empty(), index.getLeastCommonAncestor(a, b));
+        assertEquals(Optional.of(a), index.getLeastCommonAncestor(a, a));
+        assertEquals(Optional.empty(), index.getLeastCommonAncestor(a, new Node("C")));
+    }
+
+    @Test
+    void testQueries_RandomTrees_ShouldMatchParentWalks() {
+        Random random = new Random(3);
+        for (int round = 0; round < 50; round++) {
+            int size = 1 + random.nextInt(200);
+            List<Node> nodes = new ArrayList<>();
+            int[] parent = new int[size];
+            ProgramGraph tree = new ProgramGraph();
+            for (int n = 0; n < size; n++) {
+                Node node = new Node("N" + n);
+                nodes.add(node);
+                tree.addNode(node);
+                parent[n] = n == 0 ? -1 : random.nextInt(n);
+                if (parent[n] >= 0) {
+                    tree.addEdge(nodes.get(parent[n]), node);
+                }
+            }
+            TreeIndex index = tree.getTreeIndex().orElseThrow();
+
+            for (int query = 0; query < 200; query++) {
+                int u = random.nextInt(size);
+                int v = random.nextInt(size);
+                assertEquals(isAncestorByWalk(parent, u, v),
+                        index.isAncestor(nodes.get(u), nodes.get(v)));
+                assertEquals(nodes.get(lcaByWalk(parent, u, v)),
+                        index.getLeastCommonAncestor(nodes.get(u), nodes.get(v)).orElseThrow());
+                assertEquals(nodes.get(lcaByWalk(parent, u, v)),
+                        tree.getLeastCommonAncestor(nodes.get(u), nodes.get(v)));
+            }
+        }
+    }
+
+    private static boolean isAncestorByWalk(int[] pParent, int pAncestor, int pNode) {
+        for (int n = pNode; n >= 0; n = pParent[n]) {
+            if (n == pAncestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int lcaByWalk(int[] pParent, int pFirst, int pSecond) {
+        for (int n = pFirst; n >= 0; n = pParent[n]) {
+            if (isAncestorByWalk(pParent, n, pSecond)) {
+                return n;
+            }
+        }
+        throw new AssertionError("No common ancestor");
+    }
+}
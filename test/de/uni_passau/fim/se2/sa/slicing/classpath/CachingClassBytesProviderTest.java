@@ -0,0 +1,83 @@
+package de.uni_passau.fim.se2.sa.slicing.classpath;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingClassBytesProviderTest {
+
+    @Test
+    void testClassBytes_RepeatedLookup_ShouldReadOnce() throws IOException {
+        CountingProvider delegate = new CountingProvider(100);
+        CachingClassBytesProvider provider = new CachingClassBytesProvider(delegate, 1000);
+
+        byte[] first = provider.classBytes("a.A").orElseThrow();
+        byte[] second = provider.classBytes("a.A").orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(List.of("a.A"), delegate.reads);
+        assertEquals(1, provider.stats().hitCount());
+        assertEquals(100, provider.cachedBytes());
+    }
+
+    @Test
+    void testClassBytes_UnknownClass_ShouldNotBeCached() throws IOException {
+        CountingProvider delegate = new CountingProvider(100);
+        CachingClassBytesProvider provider = new CachingClassBytesProvider(delegate, 1000);
+
+        assertEquals(Optional.empty(), provider.classBytes("missing.Missing"));
+        assertEquals(Optional.empty(), provider.classBytes("missing.Missing"));
+
+        assertEquals(2, delegate.reads.size());
+        assertEquals(0, provider.cachedBytes());
+    }
+
+    @Test
+    void testClassBytes_ExceedingWeight_ShouldEvict() throws IOException {
+        CountingProvider delegate = new CountingProvider(400);
+        CachingClassBytesProvider provider = new CachingClassBytesProvider(delegate, 1000);
+
+        for (String className : List.of("a.A", "b.B", "c.C", "d.D")) {
+            provider.classBytes(className);
+        }
+
+        assertTrue(provider.cachedBytes() <= 1000);
+        assertTrue(provider.stats().evictionCount() > 0);
+    }
+
+    @Test
+    void testClose_ShouldCloseDelegate() throws IOException {
+        CountingProvider delegate = new CountingProvider(1);
+        new CachingClassBytesProvider(delegate, 1).close();
+        assertTrue(delegate.closed);
+    }
+
+    /** Provides an array of a fixed size for every class outside the package {@code missing}. */
+    private static final class CountingProvider implements ClassBytesProvider {
+
+        private final int size;
+        private final List<String> reads = new ArrayList<>();
+        private boolean closed;
+
+        private CountingProvider(int pSize) {
+            size = pSize;
+        }
+
+        @Override
+        public Optional<byte[]> classBytes(String pClassName) {
+            reads.add(pClassName);
+            return pClassName.startsWith("missing.") ? Optional.empty()
+                    : Optional.of(new byte[size]);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
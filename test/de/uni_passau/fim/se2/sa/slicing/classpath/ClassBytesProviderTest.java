@@ -0,0 +1,113 @@
+package de.uni_passau.fim.se2.sa.slicing.classpath;
+
+import de.uni_passau.fim.se2.sa.slicing.ParsedClass;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassBytesProviderTest {
+
+    private static final String IS_ODD = "de.uni_passau.fim.se2.sa.examples.IsOdd";
+    private static final String GCD = "de.uni_passau.fim.se2.sa.examples.GCD";
+
+    @Test
+    void testDirectory_ClassFile_ShouldReadByPackage(@TempDir Path pDirectory) throws IOException {
+        byte[] expected = systemBytesOf(IS_ODD);
+        Path classFile = pDirectory.resolve("de/uni_passau/fim/se2/sa/examples/IsOdd.class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, expected);
+
+        try (ClassBytesProvider provider = new DirectoryClassBytesProvider(pDirectory)) {
+            assertArrayEquals(expected, provider.classBytes(IS_ODD).orElseThrow());
+            assertEquals(Optional.empty(), provider.classBytes(GCD));
+        }
+    }
+
+    @Test
+    void testJar_ClassFile_ShouldReadEntry(@TempDir Path pDirectory) throws IOException {
+        Path jarFile = pDirectory.resolve("examples.jar");
+        writeJar(jarFile, IS_ODD);
+
+        try (ClassBytesProvider provider = new JarClassBytesProvider(jarFile)) {
+            assertArrayEquals(systemBytesOf(IS_ODD), provider.classBytes(IS_ODD).orElseThrow());
+            assertEquals(Optional.empty(), provider.classBytes(GCD));
+            assertEquals("isOdd", ParsedClass.read(provider, IS_ODD, Set.of("isOdd(I)Z"))
+                    .classNode().methods.get(0).name);
+        }
+    }
+
+    @Test
+    void testJrt_JdkClass_ShouldReadFromModule() throws IOException {
+        try (ClassBytesProvider provider = new JrtClassBytesProvider()) {
+            assertArrayEquals(systemBytesOf("java.lang.String"),
+                    provider.classBytes("java.lang.String").orElseThrow());
+            assertTrue(provider.classBytes("java.sql.Connection").isPresent());
+            assertEquals(Optional.empty(), provider.classBytes("java.lang.DoesNotExist"));
+            assertEquals(Optional.empty(), provider.classBytes("no.such.pkg.Clazz"));
+            assertEquals(Optional.empty(), provider.classBytes(IS_ODD));
+        }
+    }
+
+    @Test
+    void testOfClassPath_Entries_ShouldPreferEarlierEntries(@TempDir Path pDirectory)
+            throws IOException {
+        Path jarFile = pDirectory.resolve("examples.jar");
+        writeJar(jarFile, IS_ODD);
+        Path classes = Files.createDirectories(pDirectory.resolve("classes"));
+        Path classFile = classes.resolve("de/uni_passau/fim/se2/sa/examples/IsOdd.class");
+        Files.createDirectories(classFile.getParent());
+        // A different class under the same name reveals which entry answered.
+        Files.write(classFile, systemBytesOf(GCD));
+
+        String classPath = String.join(File.pathSeparator, jarFile.toString(), classes.toString(),
+                "jrt:/");
+        try (ClassBytesProvider provider = ClassBytesProvider.ofClassPath(classPath)) {
+            assertArrayEquals(systemBytesOf(IS_ODD), provider.classBytes(IS_ODD).orElseThrow());
+            assertTrue(provider.classBytes("java.util.List").isPresent());
+            assertEquals(Optional.empty(), provider.classBytes(GCD));
+        }
+    }
+
+    @Test
+    void testOfClassPath_MissingEntry_ShouldThrow(@TempDir Path pDirectory) {
+        assertThrows(IOException.class, () -> ClassBytesProvider.ofClassPath(
+                pDirectory.resolve("missing.jar").toString()));
+    }
+
+    @Test
+    void testComposite_Close_ShouldCloseAllProviders(@TempDir Path pDirectory)
+            throws IOException {
+        Path jarFile = pDirectory.resolve("examples.jar");
+        writeJar(jarFile, IS_ODD);
+        JarClassBytesProvider jar = new JarClassBytesProvider(jarFile);
+
+        new CompositeClassBytesProvider(List.of(ClassBytesProvider.systemClassPath(), jar)).close();
+
+        assertThrows(IllegalStateException.class, () -> jar.classBytes(IS_ODD));
+    }
+
+    static byte[] systemBytesOf(String pClassName) throws IOException {
+        return ClassBytesProvider.systemClassPath().classBytes(pClassName).orElseThrow();
+    }
+
+    private static void writeJar(Path pJarFile, String pClassName) throws IOException {
+        try (OutputStream file = Files.newOutputStream(pJarFile);
+             ZipOutputStream jar = new ZipOutputStream(file)) {
+            jar.putNextEntry(new ZipEntry(ClassBytesProvider.classFileOf(pClassName)));
+            jar.write(systemBytesOf(pClassName));
+            jar.closeEntry();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package de.uni_passau.fim.se2.sa.slicing.daemon;
+
+import de.uni_passau.fim.se2.sa.slicing.batch.JsonLines;
+import de.uni_passau.fim.se2.sa.slicing.graph.AnalysisOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlicingDaemonTest {
+
+    private static final String IS_ODD =
+            "{\"class\":\"de.uni_passau.fim.se2.sa.examples.IsOdd\",\"method\":\"isOdd:(I)Z\","
+                    + "\"variablename\":\"isOdd\",\"linenumber\":10";
+
+    @Test
+    void testServe_UnixDomainSocket_ShouldKeepMethodWarm(@TempDir Path pDirectory)
+            throws Exception {
+        Path socket = pDirectory.resolve("slicer.sock");
+        SlicingDaemon daemon = SlicingDaemon.bind(
+                UnixDomainSocketAddress.of(socket), AnalysisOptions.defaults(), 16);
+        CompletableFuture<Void> server = serve(daemon);
+
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(daemon.address());
+            Client client = new Client(channel);
+
+            Map<String, Object> cold = client.request(IS_ODD + ",\"id\":\"cold\"}");
+            Map<String, Object> warm = client.request(IS_ODD + ",\"id\":\"warm\"}");
+
+            assertEquals("ok", cold.get("status"));
+            assertEquals(false, cold.get("warm"));
+            assertEquals(true, warm.get("warm"));
+            assertEquals("""
+                    (line:   -1, id:    1)  L0
+                    (line:    6, id:    8)  ISTORE 3
+                    (line:    7, id:   14)  IFEQ L0
+                    (line:    8, id:   23)  ISTORE 3
+                    (line:   10, id:   20)  IRETURN
+                    """, warm.get("slice"));
+            assertEquals("ok", client.request("{\"command\":\"shutdown\"}").get("status"));
+        }
+        server.get(5, TimeUnit.SECONDS);
+        assertFalse(Files.exists(socket));
+    }
+
+    @Test
+    void testServe_LoopbackPort_ShouldAnswerEachConnection() throws Exception {
+        SlicingDaemon daemon = SlicingDaemon.bind(
+                new InetSocketAddress(0), AnalysisOptions.defaults(), 16);
+        CompletableFuture<Void> server = serve(daemon);
+        SocketAddress address = daemon.address();
+
+        try (SocketChannel first = SocketChannel.open(address)) {
+            Map<String, Object> result = new Client(first).request(IS_ODD + ",\"xmlfile\":true}");
+            assertEquals("ok", result.get("status"));
+            assertEquals("1", result.get("id"));
+            assertTrue(result.get("slice").toString().contains("<"));
+        }
+        try (SocketChannel second = SocketChannel.open(address)) {
+            Client client = new Client(second);
+            assertEquals(true, client.request(IS_ODD + "}").get("warm"));
+
+            Map<String, Object> error = client.request(
+                    "{\"class\":\"does.not.Exist\",\"method\":\"f:()V\","
+                            + "\"variablename\":\"x\",\"linenumber\":1}");
+            assertEquals("error", error.get("status"));
+            assertEquals("error", client.request("not json").get("status"));
+        }
+        daemon.close();
+        server.get(5, TimeUnit.SECONDS);
+    }
+
+    private static CompletableFuture<Void> serve(SlicingDaemon pDaemon) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                pDaemon.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private static final class Client {
+
+        private final BufferedReader responses;
+        private final Writer requests;
+
+        private Client(SocketChannel pChannel) {
+            responses = new BufferedReader(Channels.newReader(pChannel, StandardCharsets.UTF_8));
+            requests = Channels.newWriter(pChannel, StandardCharsets.UTF_8);
+        }
+
+        private Map<String, Object> request(String pRequest) throws IOException {
+            requests.write(pRequest + "\n");
+            requests.flush();
+            return JsonLines.parse(responses.readLine());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.CFGExtractor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the program-dependence graphs of all methods of an example class with one CFG
+ * per analysis, as the separate {@link Graph} constructors do, and with one shared {@link
+ * AnalysisContext} per method.
+ *
+ * <p>Run with {@code mvn test-compile} followed by {@code java -cp
+ * target/test-classes:target/classes:<test classpath> ...graph.AnalysisContextBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalysisContextBenchmark {
+
+    @Param({"Calculator", "Complex", "NestedLoop", "Rational"})
+    public String className;
+
+    private ClassNode classNode;
+    private AnalysisOptions options;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        classNode = new ClassNode(Opcodes.ASM9);
+        new ClassReader("de.uni_passau.fim.se2.sa.examples." + className).accept(classNode, 0);
+        options = AnalysisOptions.defaults();
+    }
+
+    @Benchmark
+    public void separateCFGs(Blackhole pBlackhole) throws AnalyzerException {
+        for (MethodNode methodNode : classNode.methods) {
+            DefUseCache cache = new DefUseCache();
+            pBlackhole.consume(CFGExtractor.buildCFG(classNode.name, methodNode));
+            pBlackhole.consume(
+                    new ControlDependenceGraph(classNode, methodNode, options).computeResult());
+            pBlackhole.consume(
+                    new DataDependenceGraph(classNode, methodNode, cache, options).computeResult());
+        }
+    }
+
+    @Benchmark
+    public void sharedContext(Blackhole pBlackhole) throws AnalyzerException {
+        for (MethodNode methodNode : classNode.methods) {
+            AnalysisContext context =
+                    AnalysisContext.of(classNode, methodNode, new DefUseCache(), options);
+            // The constructor computes the dependences; merging them is the same in both cases.
+            pBlackhole.consume(new ProgramDependenceGraph(context));
+        }
+    }
+
+    public static void main(String[] pArgs) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AnalysisContextBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
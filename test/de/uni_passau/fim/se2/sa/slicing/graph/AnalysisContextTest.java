@@ -0,0 +1,62 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import de.uni_passau.fim.se2.sa.slicing.ExampleClasses;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static de.uni_passau.fim.se2.sa.slicing.ExampleClasses.edgesOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisContextTest {
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testProgramDependenceGraph_FromContext_ShouldShareCFG(String pClassName)
+            throws IOException, AnalyzerException {
+        final ClassNode classNode = ExampleClasses.classNode(pClassName);
+
+        for (MethodNode methodNode : classNode.methods) {
+            DefUseCache cache = new DefUseCache();
+            AnalysisContext context =
+                    AnalysisContext.of(classNode, methodNode, cache, AnalysisOptions.defaults());
+            ProgramDependenceGraph pdg = new ProgramDependenceGraph(context);
+
+            assertSame(context.cfg(), pdg.getCFG());
+            assertSame(context.defUse(), cache.summaryOf(classNode.name, methodNode));
+            assertEquals(1, cache.size());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testProgramDependenceGraph_FromContext_ShouldEqualSeparateAnalyses(String pClassName)
+            throws IOException, AnalyzerException {
+        final ClassNode classNode = ExampleClasses.classNode(pClassName);
+
+        for (MethodNode methodNode : classNode.methods) {
+            AnalysisOptions options = AnalysisOptions.defaults();
+            AnalysisContext context =
+                    AnalysisContext.of(classNode, methodNode, new DefUseCache(), options);
+            ProgramGraph shared = new ProgramDependenceGraph(context).computeResult();
+
+            ProgramGraph cdg =
+                    new ControlDependenceGraph(classNode, methodNode, options).computeResult();
+            ProgramGraph ddg = new DataDependenceGraph(
+                    classNode, methodNode, new DefUseCache(), options).computeResult();
+
+            Set<String> expected = new TreeSet<>(edgesOf(cdg));
+            expected.addAll(edgesOf(ddg));
+            assertEquals(Set.copyOf(cdg.getNodes()), Set.copyOf(shared.getNodes()));
+            assertEquals(List.copyOf(expected), edgesOf(shared), methodNode.name);
+        }
+    }
+}
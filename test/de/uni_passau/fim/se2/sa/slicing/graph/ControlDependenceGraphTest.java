@@ -1,13 +1,22 @@
 package de.uni_passau.fim.se2.sa.slicing.graph;
 
+import de.uni_passau.fim.se2.sa.slicing.ExampleClasses;
 import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
 import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
 import org.jgrapht.alg.util.Pair;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static de.uni_passau.fim.se2.sa.slicing.ExampleClasses.edgesOf;
 import static org.junit.jupiter.api.Assertions.*;
 
 class ControlDependenceGraphTest {
@@ -130,4 +139,108 @@ void testComputeResult_IsOddCFG_ShouldReturnCDG() {
         );
         assertEquals(expectedEdges, actualEdges, "Mismatch in expected control dependence edges");
     }
+
+    @Test
+    void testComputeResult_Frontiers_LoopShouldMakeHeaderSelfDependent() {
+        Node entry = new Node("Entry");
+        Node header = new Node("Header");
+        Node body = new Node("Body");
+        Node exit = new Node("Exit");
+        ProgramGraph cfg = new ProgramGraph();
+        cfg.addNode(entry);
+        cfg.addNode(header);
+        cfg.addNode(body);
+        cfg.addNode(exit);
+        cfg.addEdge(entry, header);
+        cfg.addEdge(header, body);
+        cfg.addEdge(body, header);
+        cfg.addEdge(header, exit);
+
+        ControlDependenceGraph cdg = new ControlDependenceGraph(cfg,
+                AnalysisOptions.defaults().withControlDependenceEngine(
+                        ControlDependenceGraph.Engine.FRONTIERS));
+        ProgramGraph result = cdg.computeResult();
+
+        assertEquals(Set.of(body, header), Set.copyOf(result.getSuccessors(header)));
+        assertTrue(result.getSuccessors(entry).isEmpty());
+        assertTrue(result.getSuccessors(body).isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(AnalysisOptions.Granularity.class)
+    void testComputeResult_AllEngines_SelfLoopShouldReturnIdenticalCDG(
+            AnalysisOptions.Granularity pGranularity) {
+        Node entry = new Node("Entry");
+        Node branch = new Node("Branch");
+        Node loop = new Node("Loop");
+        Node after = new Node("After");
+        Node exit = new Node("Exit");
+        ProgramGraph cfg = new ProgramGraph();
+        cfg.addNode(entry);
+        cfg.addNode(branch);
+        cfg.addNode(loop);
+        cfg.addNode(after);
+        cfg.addNode(exit);
+        cfg.addEdge(entry, branch);
+        cfg.addEdge(branch, loop);
+        cfg.addEdge(branch, exit);
+        cfg.addEdge(loop, loop);
+        cfg.addEdge(loop, after);
+        cfg.addEdge(after, exit);
+
+        AnalysisOptions options = AnalysisOptions.defaults().withGranularity(pGranularity);
+        List<String> expected = edgesOf(new ControlDependenceGraph(cfg,
+                options.withControlDependenceEngine(ControlDependenceGraph.Engine.LCA_WALK))
+                .computeResult());
+        for (ControlDependenceGraph.Engine engine : ControlDependenceGraph.Engine.values()) {
+            List<String> actual = edgesOf(new ControlDependenceGraph(cfg,
+                    options.withControlDependenceEngine(engine)).computeResult());
+            assertEquals(expected, actual, engine + " differs on " + pGranularity);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testComputeResult_AllEngines_ShouldReturnIdenticalCDG(String pClassName)
+            throws IOException {
+        final ClassNode classNode = ExampleClasses.classNode(pClassName);
+
+        for (MethodNode methodNode : classNode.methods) {
+            AnalysisOptions options = AnalysisOptions.defaults();
+            List<String> expected = edgesOf(new ControlDependenceGraph(classNode, methodNode,
+                    options.withControlDependenceEngine(ControlDependenceGraph.Engine.LCA_WALK))
+                    .computeResult());
+            for (ControlDependenceGraph.Engine engine : ControlDependenceGraph.Engine.values()) {
+                List<String> actual = edgesOf(new ControlDependenceGraph(classNode, methodNode,
+                        options.withControlDependenceEngine(engine)).computeResult());
+                assertEquals(expected, actual, engine + " differs for " + methodNode.name);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testComputeResult_AllGranularities_ShouldReturnInstructionLevelCDG(String pClassName)
+            throws IOException {
+        final ClassNode classNode = ExampleClasses.classNode(pClassName);
+
+        for (MethodNode methodNode : classNode.methods) {
+            for (ControlDependenceGraph.Engine engine : ControlDependenceGraph.Engine.values()) {
+                AnalysisOptions options = AnalysisOptions.defaults()
+                        .withControlDependenceEngine(engine)
+                        .withGranularity(AnalysisOptions.Granularity.INSTRUCTIONS);
+                ProgramGraph expected =
+                        new ControlDependenceGraph(classNode, methodNode, options).computeResult();
+                for (AnalysisOptions.Granularity granularity
+                        : AnalysisOptions.Granularity.values()) {
+                    ProgramGraph actual = new ControlDependenceGraph(classNode, methodNode,
+                            options.withGranularity(granularity)).computeResult();
+                    assertEquals(List.copyOf(expected.getNodes()),
+                            List.copyOf(actual.getNodes()));
+                    assertEquals(edgesOf(expected), edgesOf(actual),
+                            engine + " on " + granularity + " differs for " + methodNode.name);
+                }
+            }
+        }
+    }
 }
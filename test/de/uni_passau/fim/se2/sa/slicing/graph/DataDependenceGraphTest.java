@@ -1,10 +1,13 @@
 package de.uni_passau.fim.se2.sa.slicing.graph;
 
 import com.google.common.base.Preconditions;
+import de.uni_passau.fim.se2.sa.slicing.ExampleClasses;
 import de.uni_passau.fim.se2.sa.slicing.cfg.CFGLocalVariableTableVisitor;
 import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
 import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
@@ -12,11 +15,14 @@
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static de.uni_passau.fim.se2.sa.slicing.ExampleClasses.edgesOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DataDependenceGraphTest {
 
@@ -58,4 +64,67 @@ void testComputeResult_IsOddCFG_ShouldReturnDDG() throws IOException {
         assertTimeoutPreemptively(Duration.ofMillis(100), ddg::computeResult);
     }
 
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testComputeResult_AllEngines_ShouldReturnIdenticalDDG(String pClassName)
+            throws IOException {
+        final ClassNode classNode = ExampleClasses.classNode(pClassName);
+
+        for (MethodNode methodNode : classNode.methods) {
+            List<String> expected = edgesOf(new DataDependenceGraph(classNode, methodNode,
+                    new DefUseCache(), DataDependenceGraph.Engine.SETS).computeResult());
+            for (DataDependenceGraph.Engine engine : DataDependenceGraph.Engine.values()) {
+                List<String> actual = edgesOf(new DataDependenceGraph(classNode, methodNode,
+                        new DefUseCache(), engine).computeResult());
+                assertEquals(expected, actual, engine + " differs for " + methodNode.name);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testComputeResult_AllGranularities_ShouldReturnInstructionLevelDDG(String pClassName)
+            throws IOException {
+        final ClassNode classNode = ExampleClasses.classNode(pClassName);
+
+        for (MethodNode methodNode : classNode.methods) {
+            for (DataDependenceGraph.Engine engine : DataDependenceGraph.Engine.values()) {
+                AnalysisOptions options = AnalysisOptions.defaults()
+                        .withDataDependenceEngine(engine)
+                        .withGranularity(AnalysisOptions.Granularity.INSTRUCTIONS);
+                List<String> expected = edgesOf(new DataDependenceGraph(classNode, methodNode,
+                        new DefUseCache(), options).computeResult());
+                for (AnalysisOptions.Granularity granularity
+                        : AnalysisOptions.Granularity.values()) {
+                    DataDependenceGraph ddg = new DataDependenceGraph(classNode, methodNode,
+                            new DefUseCache(), options.withGranularity(granularity));
+                    assertEquals(expected, edgesOf(ddg.computeResult()),
+                            engine + " on " + granularity + " differs for " + methodNode.name);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSolverStatistics_NestedLoop_WorklistShouldVisitFewerNodes() throws IOException {
+        final ClassNode classNode = ExampleClasses.classNode("NestedLoop");
+
+        for (MethodNode methodNode : classNode.methods) {
+            DataDependenceGraph sweeps = new DataDependenceGraph(classNode, methodNode,
+                    new DefUseCache(), DataDependenceGraph.Engine.BIT_VECTORS);
+            DataDependenceGraph worklist = new DataDependenceGraph(classNode, methodNode,
+                    new DefUseCache(), DataDependenceGraph.Engine.WORKLIST);
+            assertTrue(sweeps.getSolverStatistics().isEmpty());
+
+            sweeps.computeResult();
+            worklist.computeResult();
+
+            SolverStatistics sweepStatistics = sweeps.getSolverStatistics().orElseThrow();
+            SolverStatistics worklistStatistics = worklist.getSolverStatistics().orElseThrow();
+            assertTrue(worklistStatistics.iterations() <= sweepStatistics.iterations(),
+                    methodNode.name + ": " + worklistStatistics + " vs. " + sweepStatistics);
+            assertTrue(worklistStatistics.nodeVisits() < sweepStatistics.nodeVisits(),
+                    methodNode.name + ": " + worklistStatistics + " vs. " + sweepStatistics);
+        }
+    }
 }
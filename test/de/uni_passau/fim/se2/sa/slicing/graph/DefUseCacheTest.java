@@ -0,0 +1,95 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefUseCacheTest {
+
+    private static MethodNode createMethod() {
+        InsnList insnList = new InsnList();
+        insnList.add(new InsnNode(Opcodes.ICONST_1));
+        insnList.add(new VarInsnNode(Opcodes.ISTORE, 0));
+        insnList.add(new VarInsnNode(Opcodes.ILOAD, 0));
+        insnList.add(new InsnNode(Opcodes.IRETURN));
+
+        MethodNode methodNode = new MethodNode(Opcodes.ACC_STATIC, "testMethod", "()I", null, null);
+        methodNode.instructions = insnList;
+        methodNode.tryCatchBlocks = new ArrayList<>();
+        methodNode.maxLocals = 1;
+        methodNode.maxStack = 1;
+        return methodNode;
+    }
+
+    @Test
+    void testSummaryOf_SameMethod_ShouldAnalyseOnlyOnce() throws Exception {
+        DefUseCache cache = new DefUseCache();
+        MethodNode methodNode = createMethod();
+
+        DefUseSummary first = cache.summaryOf("TestClass", methodNode);
+        DefUseSummary second = cache.summaryOf("TestClass", methodNode);
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testSummaryOf_ShouldMatchDataFlowAnalysis() throws Exception {
+        DefUseCache cache = new DefUseCache();
+        MethodNode methodNode = createMethod();
+        DefUseSummary summary = cache.summaryOf("TestClass", methodNode);
+
+        for (var insn : methodNode.instructions) {
+            assertEquals(
+                    DataFlowAnalysis.definedBy("TestClass", methodNode, insn),
+                    Set.copyOf(summary.definedBy(insn)));
+            assertEquals(
+                    DataFlowAnalysis.usedBy("TestClass", methodNode, insn),
+                    Set.copyOf(summary.usedBy(insn)));
+        }
+        assertTrue(summary.definedBy(null).isEmpty());
+    }
+
+    @Test
+    void testInvalidate_ShouldRecomputeSummary() throws Exception {
+        DefUseCache cache = new DefUseCache();
+        MethodNode methodNode = createMethod();
+
+        DefUseSummary first = cache.summaryOf("TestClass", methodNode);
+        cache.invalidate(methodNode);
+        assertEquals(0, cache.size());
+
+        assertNotSame(first, cache.summaryOf("TestClass", methodNode));
+    }
+
+    @Test
+    void testSummaryOf_ReplacedInstructions_ShouldRecomputeSummary() throws Exception {
+        DefUseCache cache = new DefUseCache();
+        MethodNode methodNode = createMethod();
+
+        DefUseSummary first = cache.summaryOf("TestClass", methodNode);
+        methodNode.instructions = createMethod().instructions;
+
+        assertNotSame(first, cache.summaryOf("TestClass", methodNode));
+    }
+
+    @Test
+    void testClear_ShouldDropAllSummaries() throws Exception {
+        DefUseCache cache = new DefUseCache();
+        cache.summaryOf("TestClass", createMethod());
+        cache.summaryOf("TestClass", createMethod());
+        assertEquals(2, cache.size());
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,56 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.CFGExtractor;
+import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefinitionIndexTest {
+
+    @Test
+    void testIndex_Calculator_ShouldGroupDefinitionsByNodeAndVariable() throws Exception {
+        final ClassNode classNode = new ClassNode(Opcodes.ASM9);
+        new ClassReader("de.uni_passau.fim.se2.sa.examples.Calculator").accept(classNode, 0);
+        MethodNode methodNode = classNode.methods.stream()
+                .filter(m -> m.name.equals("evaluate"))
+                .findAny()
+                .orElseThrow();
+        List<Node> nodes =
+                new ArrayList<>(CFGExtractor.buildCFG(classNode.name, methodNode).getNodes());
+        DefUseSummary defUse = DataFlowAnalysis.summarize(classNode.name, methodNode);
+
+        DefinitionIndex index = new DefinitionIndex(nodes, defUse);
+
+        int expectedSize = 0;
+        for (int n = 0; n < nodes.size(); n++) {
+            Node node = nodes.get(n);
+            int first = index.firstDefinitionAt(n);
+            int last = index.firstDefinitionAt(n + 1);
+            assertEquals(expectedSize, first);
+            assertEquals(defUse.definedBy(node.getInstruction()).size(), last - first);
+            for (int d = first; d < last; d++) {
+                assertEquals(node, index.definition(d).node());
+                assertEquals(n, index.ownerOf(d));
+                int variable = index.variableId(index.definition(d).variable());
+                assertEquals(variable, index.variableOf(d));
+                int[] definitionsOfVariable = index.definitionsOf(variable);
+                assertTrue(Arrays.binarySearch(definitionsOfVariable, d) >= 0);
+                for (int other : definitionsOfVariable) {
+                    assertEquals(index.definition(d).variable(), index.definition(other).variable());
+                }
+            }
+            expectedSize = last;
+        }
+        assertEquals(expectedSize, index.size());
+        assertTrue(index.size() > 0);
+    }
+}
@@ -0,0 +1,212 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the post-dominator algorithms on synthetic reversed CFGs of growing size.
+ *
+ * <p>Run with {@code mvn test-compile} followed by {@code java -cp
+ * target/test-classes:target/classes:<test classpath> ...graph.DominatorsBenchmark}. The
+ * measurements are the basis of {@link PostDominatorTree#AUTO_THRESHOLD}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DominatorsBenchmark {
+
+    /** The shape of the generated method. */
+    public enum Shape {
+        /** An interpreter loop around one large {@code tableswitch}. */
+        SWITCH,
+        /** Randomly nested statements, branches, loops, and switches. */
+        STRUCTURED,
+        /**
+         * A long loop body in which every statement may {@code continue}; the post-dominator tree
+         * is a chain, which is the worst case of the iterative algorithm.
+         */
+        CONTINUES
+    }
+
+    @Param({"SWITCH", "STRUCTURED", "CONTINUES"})
+    public Shape shape;
+
+    @Param({"100", "500", "1000", "2000", "10000"})
+    public int size;
+
+    private int root;
+    private int[][] successors;
+    private int[][] predecessors;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        CfgBuilder cfg = new CfgBuilder();
+        int entry = cfg.newNode();
+        int last = switch (shape) {
+            case SWITCH -> interpreterLoop(cfg, entry, size);
+            case STRUCTURED -> structured(cfg, entry, size, 0, new Random(42));
+            case CONTINUES -> loopWithContinues(cfg, entry, size);
+        };
+        int exit = cfg.newNode();
+        cfg.edge(last, exit);
+
+        // Post-dominators are dominators of the reversed CFG, rooted at the exit node.
+        root = exit;
+        successors = cfg.predecessors();
+        predecessors = cfg.successors();
+    }
+
+    @Benchmark
+    public int[] cooperHarveyKennedy() {
+        return Dominators.cooperHarveyKennedy(root, successors, predecessors)
+                .immediateDominators();
+    }
+
+    @Benchmark
+    public int[] lengauerTarjan() {
+        return Dominators.lengauerTarjan(root, successors, predecessors).immediateDominators();
+    }
+
+    public static void main(String[] pArgs) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DominatorsBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+
+    private static int interpreterLoop(CfgBuilder pCfg, int pEntry, int pSize) {
+        int head = pCfg.newNode();
+        pCfg.edge(pEntry, head);
+        int join = pCfg.newNode();
+        for (int c = 0; c < pSize / 3; c++) {
+            int first = pCfg.newNode();
+            int second = pCfg.newNode();
+            int third = pCfg.newNode();
+            pCfg.edge(head, first);
+            pCfg.edge(first, second);
+            pCfg.edge(second, third);
+            pCfg.edge(third, join);
+            pCfg.edge(second, head); // continue
+        }
+        pCfg.edge(join, head);
+        int after = pCfg.newNode();
+        pCfg.edge(head, after);
+        return after;
+    }
+
+    private static int loopWithContinues(CfgBuilder pCfg, int pEntry, int pSize) {
+        int first = pCfg.newNode();
+        pCfg.edge(pEntry, first);
+        int current = first;
+        for (int n = 1; n < pSize; n++) {
+            int next = pCfg.newNode();
+            pCfg.edge(current, next);
+            pCfg.edge(current, first); // continue
+            current = next;
+        }
+        pCfg.edge(current, first);
+        int after = pCfg.newNode();
+        pCfg.edge(current, after);
+        return after;
+    }
+
+    private static int structured(CfgBuilder pCfg, int pEntry, int pBudget, int pDepth,
+                                  Random pRandom) {
+        int current = pEntry;
+        int budget = pBudget;
+        while (budget > 0) {
+            int choice = pDepth >= 8 || budget < 8 ? 0 : pRandom.nextInt(10);
+            int part = budget / 4 + 1;
+            if (choice < 6) {
+                int next = pCfg.newNode();
+                pCfg.edge(current, next);
+                current = next;
+                budget--;
+            } else if (choice < 8) {
+                int thenBranch = pCfg.newNode();
+                int elseBranch = pCfg.newNode();
+                pCfg.edge(current, thenBranch);
+                pCfg.edge(current, elseBranch);
+                int join = pCfg.newNode();
+                pCfg.edge(structured(pCfg, thenBranch, part, pDepth + 1, pRandom), join);
+                pCfg.edge(structured(pCfg, elseBranch, part, pDepth + 1, pRandom), join);
+                current = join;
+                budget -= 2 * part + 3;
+            } else if (choice < 9) {
+                int head = pCfg.newNode();
+                int body = pCfg.newNode();
+                int after = pCfg.newNode();
+                pCfg.edge(current, head);
+                pCfg.edge(head, body);
+                pCfg.edge(head, after);
+                pCfg.edge(structured(pCfg, body, part, pDepth + 1, pRandom), head);
+                current = after;
+                budget -= part + 3;
+            } else {
+                int cases = 2 + pRandom.nextInt(8);
+                int join = pCfg.newNode();
+                for (int c = 0; c < cases; c++) {
+                    int body = pCfg.newNode();
+                    pCfg.edge(current, body);
+                    pCfg.edge(structured(pCfg, body, part / cases + 1, pDepth + 1, pRandom), join);
+                }
+                current = join;
+                budget -= part + cases + 1;
+            }
+        }
+        return current;
+    }
+
+    /** Collects the edges of a generated CFG. */
+    private static final class CfgBuilder {
+
+        private final List<List<Integer>> successors = new ArrayList<>();
+        private final List<List<Integer>> predecessors = new ArrayList<>();
+
+        int newNode() {
+            successors.add(new ArrayList<>());
+            predecessors.add(new ArrayList<>());
+            return successors.size() - 1;
+        }
+
+        void edge(int pSource, int pTarget) {
+            successors.get(pSource).add(pTarget);
+            predecessors.get(pTarget).add(pSource);
+        }
+
+        int[][] successors() {
+            return toArrays(successors);
+        }
+
+        int[][] predecessors() {
+            return toArrays(predecessors);
+        }
+
+        private static int[][] toArrays(List<List<Integer>> pLists) {
+            int[][] arrays = new int[pLists.size()][];
+            for (int n = 0; n < arrays.length; n++) {
+                arrays[n] = pLists.get(n).stream().mapToInt(Integer::intValue).toArray();
+            }
+            return arrays;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DominatorsTest {
+
+    // 0 -> 1 -> {2, 3} -> 4 -> 1, 4 -> 5; node 6 is unreachable and jumps into 4
+    private static final int[][] SUCCESSORS = {
+            {1}, {2, 3}, {4}, {4}, {1, 5}, {}, {4}
+    };
+    private static final int[][] PREDECESSORS = {
+            {}, {0, 4}, {1}, {1}, {2, 3, 6}, {4}, {}
+    };
+
+    @Test
+    void testCooperHarveyKennedy_LoopWithDiamond_ShouldComputeImmediateDominators() {
+        Dominators dominators = Dominators.cooperHarveyKennedy(0, SUCCESSORS, PREDECESSORS);
+        assertArrayEquals(new int[]{0, 0, 1, 1, 1, 4, -1}, dominators.immediateDominators());
+        assertEquals(6, dominators.reversePostorder().length);
+        assertEquals(0, dominators.reversePostorder()[0]);
+    }
+
+    @Test
+    void testFrontiers_LoopWithDiamond_ShouldContainJoinNodes() {
+        Dominators dominators = Dominators.cooperHarveyKennedy(0, SUCCESSORS, PREDECESSORS);
+        int[][] frontiers = dominators.frontiers();
+        assertArrayEquals(new int[]{}, frontiers[0]);
+        assertArrayEquals(new int[]{1}, frontiers[1]);
+        assertArrayEquals(new int[]{4}, frontiers[2]);
+        assertArrayEquals(new int[]{4}, frontiers[3]);
+        assertArrayEquals(new int[]{1}, frontiers[4]);
+        assertArrayEquals(new int[]{}, frontiers[5]);
+    }
+
+    @Test
+    void testChildren_LoopWithDiamond_ShouldInvertImmediateDominators() {
+        int[][] children =
+                Dominators.cooperHarveyKennedy(0, SUCCESSORS, PREDECESSORS).children();
+        assertArrayEquals(new int[]{1}, children[0]);
+        assertArrayEquals(new int[]{2, 3, 4}, children[1]);
+        assertArrayEquals(new int[]{5}, children[4]);
+        assertArrayEquals(new int[]{}, children[6]);
+    }
+
+    @Test
+    void testLengauerTarjan_LoopWithDiamond_ShouldComputeImmediateDominators() {
+        Dominators dominators = Dominators.lengauerTarjan(0, SUCCESSORS, PREDECESSORS);
+        assertArrayEquals(new int[]{0, 0, 1, 1, 1, 4, -1}, dominators.immediateDominators());
+        assertEquals(1, dominators.iterations());
+    }
+
+    @Test
+    void testLengauerTarjan_RandomGraphs_ShouldAgreeWithCooperHarveyKennedy() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int size = 1 + random.nextInt(60);
+            List<List<Integer>> successors = new ArrayList<>();
+            List<List<Integer>> predecessors = new ArrayList<>();
+            for (int n = 0; n < size; n++) {
+                successors.add(new ArrayList<>());
+                predecessors.add(new ArrayList<>());
+            }
+            // Random edges create irreducible loops, self loops, and unreachable nodes.
+            for (int e = random.nextInt(3 * size); e > 0; e--) {
+                int source = random.nextInt(size);
+                int target = random.nextInt(size);
+                successors.get(source).add(target);
+                predecessors.get(target).add(source);
+            }
+            int[][] successorArrays = toArrays(successors);
+            int[][] predecessorArrays = toArrays(predecessors);
+
+            int[] expected = Dominators.cooperHarveyKennedy(0, successorArrays, predecessorArrays)
+                    .immediateDominators();
+            int[] actual = Dominators.lengauerTarjan(0, successorArrays, predecessorArrays)
+                    .immediateDominators();
+            assertArrayEquals(expected, actual, "round " + round);
+        }
+    }
+
+    private static int[][] toArrays(List<List<Integer>> pLists) {
+        int[][] arrays = new int[pLists.size()][];
+        for (int n = 0; n < arrays.length; n++) {
+            arrays[n] = pLists.get(n).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return arrays;
+    }
+}
@@ -1,11 +1,19 @@
 package de.uni_passau.fim.se2.sa.slicing.graph;
 
+import de.uni_passau.fim.se2.sa.slicing.ExampleClasses;
 import de.uni_passau.fim.se2.sa.slicing.cfg.Node;
 import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
 
+import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
 
+import static de.uni_passau.fim.se2.sa.slicing.ExampleClasses.edgesOf;
 import static org.junit.jupiter.api.Assertions.*;
 
 class PostDominatorTreeTest {
@@ -97,4 +105,73 @@ void testComputeResult_SingleNodeCFG_ShouldReturnItself() {
         assertTrue(result.getNodes().contains(a));
         assertTrue(result.getSuccessors(a).isEmpty());
     }
+
+    @Test
+    void testComputeResult_NodeNotReachingExit_ShouldBeLeftOut() {
+        Node a = new Node("A");
+        Node b = new Node("B");
+        Node loop = new Node("Loop");
+        Node exit = new Node("Exit");
+        ProgramGraph cfg = new ProgramGraph();
+        cfg.addNode(a);
+        cfg.addNode(b);
+        cfg.addNode(loop);
+        cfg.addNode(exit);
+        cfg.addEdge(a, b);
+        cfg.addEdge(a, loop);
+        cfg.addEdge(loop, loop);
+        cfg.addEdge(b, exit);
+
+        ProgramGraph result = new PostDominatorTree(cfg, PostDominatorTree.Engine.CHK).computeResult();
+
+        assertFalse(result.getNodes().contains(loop));
+        assertTrue(result.getSuccessors(exit).contains(b));
+        assertTrue(result.getSuccessors(b).contains(a));
+    }
+
+    @Test
+    void testGetImmediatePostDominators_BranchingCFG_ShouldMatchTree() {
+        Node start = new Node("Start");
+        Node branch1 = new Node("Branch1");
+        Node branch2 = new Node("Branch2");
+        Node join = new Node("Join");
+        ProgramGraph cfg = new ProgramGraph();
+        cfg.addNode(start);
+        cfg.addNode(branch1);
+        cfg.addNode(branch2);
+        cfg.addNode(join);
+        cfg.addEdge(start, branch1);
+        cfg.addEdge(start, branch2);
+        cfg.addEdge(branch1, join);
+        cfg.addEdge(branch2, join);
+
+        for (PostDominatorTree.Engine engine : PostDominatorTree.Engine.values()) {
+            PostDominatorTree pdt = new PostDominatorTree(cfg, engine);
+            assertThrows(IllegalStateException.class, pdt::getImmediatePostDominators);
+            pdt.computeResult();
+
+            int[] ipdom = pdt.getImmediatePostDominators();
+            assertEquals(join, pdt.nodeAt(ipdom[pdt.ordinalOf(start)]), engine.name());
+            assertEquals(join, pdt.nodeAt(ipdom[pdt.ordinalOf(branch1)]), engine.name());
+            assertEquals(join, pdt.nodeAt(ipdom[pdt.ordinalOf(branch2)]), engine.name());
+            assertEquals(pdt.ordinalOf(join), ipdom[pdt.ordinalOf(join)], engine.name());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("de.uni_passau.fim.se2.sa.slicing.ExampleClasses#names")
+    void testComputeResult_AllEngines_ShouldReturnIdenticalTree(String pClassName)
+            throws IOException {
+        final ClassNode classNode = ExampleClasses.classNode(pClassName);
+
+        for (MethodNode methodNode : classNode.methods) {
+            List<String> expected = edgesOf(new PostDominatorTree(classNode, methodNode,
+                    PostDominatorTree.Engine.ITERATIVE_SETS).computeResult());
+            for (PostDominatorTree.Engine engine : PostDominatorTree.Engine.values()) {
+                List<String> actual = edgesOf(
+                        new PostDominatorTree(classNode, methodNode, engine).computeResult());
+                assertEquals(expected, actual, engine + " differs for " + methodNode.name);
+            }
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package de.uni_passau.fim.se2.sa.slicing.graph;
+
+import de.uni_passau.fim.se2.sa.slicing.cfg.BasicBlocks;
+import de.uni_passau.fim.se2.sa.slicing.cfg.CFGExtractor;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ContractedGraph;
+import de.uni_passau.fim.se2.sa.slicing.cfg.ProgramGraph;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the control and data dependences of a method on all instructions, on the
+ * contracted CFG, and on basic blocks.
+ *
+ * <p>Run with {@code mvn test-compile} followed by {@code java -cp
+ * target/test-classes:target/classes:<test classpath> ...graph.ProgramDependenceGraphBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgramDependenceGraphBenchmark {
+
+    @Param({"INSTRUCTIONS", "CONTRACTED", "BASIC_BLOCKS"})
+    public AnalysisOptions.Granularity granularity;
+
+    @Param({"10", "100", "1000"})
+    public int statements;
+
+    private ProgramGraph cfg;
+    private DefUseSummary defUse;
+    private AnalysisOptions options;
+
+    @Setup(Level.Trial)
+    public void generate() throws AnalyzerException {
+        // The CFG and the def/use analysis are the same for both granularities and would dominate
+        // the measurement, hence they are built once.
+        MethodNode method = guardedUpdates(statements);
+        cfg = CFGExtractor.buildCFG("Synthetic", method);
+        defUse = new DefUseCache().summaryOf("Synthetic", method);
+        options = AnalysisOptions.defaults().withGranularity(granularity);
+    }
+
+    @Benchmark
+    public ProgramGraph controlDependences() {
+        return new ControlDependenceGraph(cfg, options).computeResult();
+    }
+
+    @Benchmark
+    public ProgramGraph dataDependences() {
+        return switch (granularity) {
+            case INSTRUCTIONS -> new BitSetReachingDefinitions(cfg.freeze(), defUse, true)
+                    .computeDataDependences();
+            case CONTRACTED -> new BitSetReachingDefinitions(
+                    ContractedGraph.of(cfg, node -> ContractedGraph.isPseudoInstruction(node)
+                            && defUse.definedBy(node.getInstruction()).isEmpty()
+                            && defUse.usedBy(node.getInstruction()).isEmpty()).frozen(),
+                    defUse, true).computeDataDependences();
+            case BASIC_BLOCKS -> new BlockReachingDefinitions(BasicBlocks.of(cfg), defUse, true)
+                    .computeDataDependences();
+        };
+    }
+
+    /**
+     * Generates {@code static int f(int x)} consisting of a sequence of statements {@code a += x;
+     * if (a > 100) a -= x;}, each on its own line.
+     *
+     * @param pStatements The number of statements
+     * @return The method
+     */
+    static MethodNode guardedUpdates(int pStatements) {
+        MethodNode method =
+                new MethodNode(Opcodes.ACC_STATIC, "f", "(I)I", null, new String[0]);
+        InsnList code = method.instructions;
+        code.add(new InsnNode(Opcodes.ICONST_0));
+        code.add(new VarInsnNode(Opcodes.ISTORE, 1));
+        for (int i = 0; i < pStatements; i++) {
+            LabelNode line = new LabelNode(new Label());
+            LabelNode skip = new LabelNode(new Label());
+            code.add(line);
+            code.add(new LineNumberNode(i + 1, line));
+            code.add(new VarInsnNode(Opcodes.ILOAD, 1));
+            code.add(new VarInsnNode(Opcodes.ILOAD, 0));
+            code.add(new InsnNode(Opcodes.IADD));
+            code.add(new VarInsnNode(Opcodes.ISTORE, 1));
+            code.add(new VarInsnNode(Opcodes.ILOAD, 1));
+            code.add(new IntInsnNode(Opcodes.BIPUSH, 100));
+            code.add(new JumpInsnNode(Opcodes.IF_ICMPLE, skip));
+            code.add(new VarInsnNode(Opcodes.ILOAD, 1));
+            code.add(new VarInsnNode(Opcodes.ILOAD, 0));
+            code.add(new InsnNode(Opcodes.ISUB));
+            code.add(new VarInsnNode(Opcodes.ISTORE, 1));
+            code.add(skip);
+        }
+        code.add(new VarInsnNode(Opcodes.ILOAD, 1));
+        code.add(new InsnNode(Opcodes.IRETURN));
+        method.maxLocals = 2;
+        method.maxStack = 2;
+        return method;
+    }
+
+    public static void main(String[] pArgs) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProgramDependenceGraphBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -109,21 +109,12 @@ void testBackwardSlice_OnIsolatedNode_ShouldReturnSingletonSet() {
         assertEquals(Set.of(isolated), slice, "Backward slice of isolated node should only include itself");
     }
 
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+    @Test
+    void testComputeResult_NullClassNode_ShouldFailOnlyWhenComputing() {
+        ProgramDependenceGraph pdg = new ProgramDependenceGraph(null, null);
 
+        assertNull(pdg.getCFG());
+        assertThrows(IllegalStateException.class, pdg::computeResult);
+    }
+}